@@ -0,0 +1,881 @@
+package org.app.server;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.app.model.*;
+import org.app.service.*;
+import org.app.util.JsonCodec;
+import org.app.util.Log;
+import org.app.util.Metrics;
+import org.app.util.TokenBucketLimiter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Headless HTTP/JSON API server for BUP UCAM Assignment Tracker
+ * Exposes login, course, assignment, submission, grading and analytics endpoints over the service layer.
+ * Every request runs on its own virtual thread; the services are not thread-safe, so reads
+ * share a read lock and mutations take the write lock.
+ * Login returns a session token; every other endpoint expects "Authorization: Bearer <token>"
+ * and acts as the session's user, except /api/metrics, which is open to monitoring scrapers.
+ */
+public class ApiServer {
+    private static final Log log = Log.get(ApiServer.class);
+
+    private final UserService userService;
+    private final CourseService courseService;
+    private final AssignmentService assignmentService;
+    private final GradebookExporter gradebookExporter;
+    private final GradeAnalytics gradeAnalytics;
+    private SearchService searchService;
+    private final File searchIndexFile;
+    // Request and response bodies use the shared mapper's configuration, without indentation
+    private final ObjectReader bodyReader = JsonCodec.mapper().readerFor(Map.class);
+    private final ObjectWriter responseWriter = JsonCodec.mapper().writer().without(SerializationFeature.INDENT_OUTPUT);
+    private final ReadWriteLock serviceLock = new ReentrantReadWriteLock();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ApiServer(UserService userService, CourseService courseService, AssignmentService assignmentService) {
+        this(userService, courseService, assignmentService, null);
+    }
+
+    /**
+     * Keep the search index somewhere other than the default data/search_index.bin (training runs,
+     * generated datasets)
+     */
+    public ApiServer(UserService userService, CourseService courseService, AssignmentService assignmentService,
+                     File searchIndexFile) {
+        this.userService = userService;
+        this.courseService = courseService;
+        this.assignmentService = assignmentService;
+        this.gradebookExporter = new GradebookExporter(courseService, assignmentService);
+        this.gradeAnalytics = new GradeAnalytics(courseService, assignmentService);
+        this.searchIndexFile = searchIndexFile;
+    }
+
+    /**
+     * Start listening on the given port (0 picks a free port)
+     */
+    public void start(int port) throws IOException {
+        searchService = searchIndexFile != null
+                ? new SearchService(courseService, assignmentService, searchIndexFile)
+                : new SearchService(courseService, assignmentService);
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        server.createContext("/api/login", handler(this::handleLogin));
+        server.createContext("/api/logout", handler(this::handleLogout));
+        server.createContext("/api/courses", handler(this::handleCourses));
+        server.createContext("/api/assignments", handler(this::handleAssignments));
+        server.createContext("/api/submissions", handler(this::handleSubmissions));
+        server.createContext("/api/analytics", handler(this::handleAnalytics));
+        server.createContext("/api/search", handler(this::handleSearch));
+        server.createContext("/api/metrics", handler(this::handleMetrics));
+
+        server.start();
+        log.info("✓ API server listening", "port", getPort());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.close();
+            searchService.shutdown();
+            log.info("✓ API server stopped");
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ---- Endpoint handlers ----
+
+    /**
+     * POST /api/login {email, password} -> {token, user}
+     */
+    private Object handleLogin(Request request) {
+        request.requireMethod("POST");
+        String email = request.bodyString("email");
+        String password = request.bodyString("password");
+        // No service lock here: UserService logins are safe concurrently and hashing is slow
+        String token = userService.login(email, password);
+        if (token == null) {
+            throw new ApiException(401, "Invalid email or password");
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("token", token);
+        json.put("user", userJson(userService.getSessionUser(token)));
+        return json;
+    }
+
+    /**
+     * POST /api/logout
+     */
+    private Object handleLogout(Request request) {
+        request.requireMethod("POST");
+        request.user();
+        userService.logout(request.token());
+        return Map.of("loggedOut", true);
+    }
+
+    /**
+     * GET  /api/courses[?teacherId=|studentId=] or ?limit=&cursor= for paging
+     * GET  /api/courses?q=[&limit=10] autocomplete by code or name
+     * POST /api/courses {courseName, courseCode, department, creditHours, semester} (teacher)
+     * POST /api/courses/{courseId}/enroll (student)
+     * GET  /api/courses/{courseId}/gradebook[?format=csv|xlsx] (the course's instructor)
+     */
+    private Object handleCourses(Request request) {
+        request.user();
+        String[] path = request.pathAfter("/api/courses");
+        if (path.length == 2 && path[1].equals("enroll")) {
+            request.requireMethod("POST");
+            Student student = request.student();
+            write(() -> {
+                courseService.enrollStudent(path[0], student);
+                return null;
+            });
+            return Map.of("courseId", path[0], "studentId", student.getUserId(), "enrolled", true);
+        }
+        if (path.length == 2 && path[1].equals("gradebook")) {
+            request.requireMethod("GET");
+            Teacher teacher = request.teacher();
+            Course course = requireCourse(path[0]);
+            if (!teacher.equals(course.getInstructor())) {
+                throw new ApiException(403, "Only the course instructor can export its gradebook");
+            }
+            return gradebookDownload(course, request.query("format"));
+        }
+        if (path.length == 1) {
+            request.requireMethod("GET");
+            Course course = read(() -> courseService.getCourse(path[0]));
+            if (course == null) {
+                throw new ApiException(404, "Course not found");
+            }
+            return courseJson(course);
+        }
+
+        if (request.method().equals("POST")) {
+            Teacher teacher = request.teacher();
+            String courseName = request.bodyString("courseName");
+            String courseCode = request.bodyString("courseCode");
+            String department = request.bodyString("department");
+            int creditHours = request.bodyInt("creditHours");
+            String semester = request.bodyString("semester");
+            Course course = write(() -> courseService.createCourse(
+                    courseName, courseCode, department, creditHours, semester, teacher));
+            return courseJson(course);
+        }
+
+        request.requireMethod("GET");
+        if (request.query("q") != null) {
+            int limit = request.query("limit") != null ? Math.min(request.limit(), Page.MAX_LIMIT) : 10;
+            List<Object> matches = new ArrayList<>();
+            for (Course course : read(() -> courseService.searchCatalog(request.query("q"), limit))) {
+                matches.add(courseJson(course));
+            }
+            return matches;
+        }
+        if (request.query("limit") != null) {
+            return pageJson(read(() -> courseService.getCourses(request.query("cursor"), request.limit())),
+                    this::courseJson);
+        }
+        List<Course> courses = read(() -> {
+            String teacherId = request.query("teacherId");
+            String studentId = request.query("studentId");
+            if (teacherId != null) {
+                return courseService.getCoursesByTeacher(requireTeacher(teacherId));
+            } else if (studentId != null) {
+                return courseService.getCoursesForStudent(requireStudent(studentId));
+            }
+            return courseService.getAllCourses();
+        });
+        List<Object> result = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            result.add(courseJson(course));
+        }
+        return result;
+    }
+
+    /**
+     * GET  /api/assignments?courseId= | ?teacherId=, add limit=&cursor= to page by course
+     * POST /api/assignments {courseId, title, description, type, maxMarks, dueDate} (the course's instructor)
+     * GET  /api/assignments/{assignmentId}/similarity[?threshold=0.7] (the course's instructor)
+     */
+    private Object handleAssignments(Request request) {
+        request.user();
+        String[] path = request.pathAfter("/api/assignments");
+        if (path.length == 2 && path[1].equals("similarity")) {
+            request.requireMethod("GET");
+            Teacher teacher = request.teacher();
+            Assignment assignment = requireAssignment(path[0]);
+            if (!teacher.equals(assignment.getCourse().getInstructor())) {
+                throw new ApiException(403, "Only the course instructor can check similarity");
+            }
+            double threshold = request.query("threshold") != null
+                    ? parseThreshold(request.query("threshold")) : SimilarityService.DEFAULT_THRESHOLD;
+            List<SimilarityService.SimilarSubmissions> pairs =
+                    read(() -> assignmentService.getSimilarityService().findSimilarSubmissions(assignment, threshold));
+            List<Object> result = new ArrayList<>(pairs.size());
+            for (SimilarityService.SimilarSubmissions pair : pairs) {
+                Map<String, Object> json = new LinkedHashMap<>();
+                json.put("similarity", pair.getSimilarity());
+                json.put("first", submissionJson(pair.getFirst()));
+                json.put("second", submissionJson(pair.getSecond()));
+                result.add(json);
+            }
+            return result;
+        }
+        if (request.method().equals("POST")) {
+            Teacher teacher = request.teacher();
+            Course course = requireCourse(request.bodyString("courseId"));
+            if (!teacher.equals(course.getInstructor())) {
+                throw new ApiException(403, "Only the course instructor can create its assignments");
+            }
+            AssignmentType type = parseEnum(AssignmentType.class, request.bodyString("type"));
+            LocalDateTime dueDate = parseDateTime(request.bodyString("dueDate"));
+            Assignment assignment = write(() -> assignmentService.createAssignment(
+                    request.bodyString("title"), request.bodyString("description"), course, teacher,
+                    type, request.bodyInt("maxMarks"), dueDate));
+            return assignmentJson(assignment);
+        }
+
+        request.requireMethod("GET");
+        if (request.query("limit") != null) {
+            String courseId = request.query("courseId");
+            return pageJson(read(() -> courseId != null
+                    ? assignmentService.getAssignmentsByCourse(courseId, request.query("cursor"), request.limit())
+                    : assignmentService.getAssignments(request.query("cursor"), request.limit())),
+                    this::assignmentJson);
+        }
+        List<Assignment> assignments = read(() -> {
+            String courseId = request.query("courseId");
+            String teacherId = request.query("teacherId");
+            if (courseId != null) {
+                return assignmentService.getAssignmentsByCourse(requireCourse(courseId));
+            } else if (teacherId != null) {
+                return assignmentService.getAssignmentsByTeacher(requireTeacher(teacherId));
+            }
+            return assignmentService.getAllAssignments();
+        });
+        List<Object> result = new ArrayList<>(assignments.size());
+        for (Assignment assignment : assignments) {
+            result.add(assignmentJson(assignment));
+        }
+        return result;
+    }
+
+    /**
+     * GET  /api/submissions?assignmentId= (the course's instructor) | ?studentId=, add limit=&cursor= to page.
+     *      Students list only their own; teachers see a student's submissions in their own courses.
+     * POST /api/submissions {assignmentId, content} (a student enrolled in the course)
+     * POST /api/submissions/{submissionId}/grade {marks, feedback} (the course's instructor)
+     */
+    private Object handleSubmissions(Request request) {
+        User user = request.user();
+        String[] path = request.pathAfter("/api/submissions");
+        if (path.length == 2 && path[1].equals("grade")) {
+            request.requireMethod("POST");
+            Teacher teacher = request.teacher();
+            Submission submission = requireSubmission(path[0]);
+            if (!teacher.equals(submission.getAssignment().getCourse().getInstructor())) {
+                throw new ApiException(403, "Only the course instructor can grade its submissions");
+            }
+            int marks = request.bodyInt("marks");
+            String feedback = request.bodyString("feedback");
+            write(() -> {
+                assignmentService.gradeSubmission(path[0], marks, feedback, teacher);
+                return null;
+            });
+            return submissionJson(submission);
+        }
+
+        if (request.method().equals("POST")) {
+            Student student = request.student();
+            Assignment assignment = requireAssignment(request.bodyString("assignmentId"));
+            if (!read(() -> assignment.getCourse().isStudentEnrolled(student))) {
+                throw new ApiException(403, "Enroll in the course before submitting to its assignments");
+            }
+            String content = request.bodyString("content");
+            Submission submission = write(() -> assignmentService.submitAssignment(assignment, student, content));
+            return submissionJson(submission);
+        }
+
+        request.requireMethod("GET");
+        String assignmentId = request.query("assignmentId");
+        String studentId = request.query("studentId");
+        Predicate<Submission> visible;
+        if (assignmentId != null) {
+            Assignment assignment = requireAssignment(assignmentId);
+            if (!user.equals(assignment.getCourse().getInstructor())) {
+                throw new ApiException(403, "Only the course instructor can list an assignment's submissions");
+            }
+            visible = submission -> true;
+        } else if (studentId != null) {
+            Student student = requireStudent(studentId);
+            if (user.getRole() == UserRole.STUDENT) {
+                if (!user.equals(student)) {
+                    throw new ApiException(403, "Students can only list their own submissions");
+                }
+                visible = submission -> true;
+            } else {
+                if (!read(() -> student.getEnrolledCourses().stream()
+                        .anyMatch(course -> user.equals(course.getInstructor())))) {
+                    throw new ApiException(403, "The student is not enrolled in any of your courses");
+                }
+                visible = submission -> user.equals(submission.getAssignment().getCourse().getInstructor());
+            }
+        } else {
+            throw new ApiException(400, "assignmentId or studentId is required");
+        }
+
+        if (request.query("limit") != null) {
+            String cursor = request.query("cursor");
+            return pageJson(read(() -> assignmentId != null
+                    ? assignmentService.getSubmissionsForAssignment(assignmentId, cursor, request.limit())
+                    : assignmentService.getSubmissionsByStudent(studentId, cursor, request.limit())),
+                    visible, this::submissionJson);
+        }
+        List<Submission> submissions = read(() -> assignmentId != null
+                ? assignmentService.getSubmissionsForAssignment(requireAssignment(assignmentId))
+                : assignmentService.getSubmissionsByStudent(requireStudent(studentId)));
+        List<Object> result = new ArrayList<>(submissions.size());
+        for (Submission submission : submissions) {
+            if (visible.test(submission)) {
+                result.add(submissionJson(submission));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * GET /api/analytics[?courseId= | ?department= | ?semester=] (teacher)
+     * Without a filter, returns statistics for every department keyed by department name
+     */
+    private Object handleAnalytics(Request request) {
+        request.requireMethod("GET");
+        request.teacher();
+        String courseId = request.query("courseId");
+        String department = request.query("department");
+        String semester = request.query("semester");
+        if (courseId != null) {
+            Course course = requireCourse(courseId);
+            return statisticsJson(read(() -> gradeAnalytics.courseStatistics(course)));
+        } else if (department != null) {
+            return statisticsJson(read(() -> gradeAnalytics.departmentStatistics(department)));
+        } else if (semester != null) {
+            return statisticsJson(read(() -> gradeAnalytics.semesterStatistics(semester)));
+        }
+        Map<String, GradeStatistics> byDepartment = read(gradeAnalytics::statisticsByDepartment);
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (Map.Entry<String, GradeStatistics> entry : byDepartment.entrySet()) {
+            json.put(entry.getKey(), statisticsJson(entry.getValue()));
+        }
+        return json;
+    }
+
+    /**
+     * GET /api/metrics -> Prometheus text format, or ?format=json for the JSON snapshot.
+     * Needs no session: it holds only metric names, counts and timings.
+     */
+    private Object handleMetrics(Request request) {
+        request.requireMethod("GET");
+        if ("json".equals(request.query("format"))) {
+            return Metrics.snapshot();
+        }
+        return new Download("text/plain; version=0.0.4; charset=utf-8", "metrics.txt",
+                out -> Metrics.writePrometheus(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * GET /api/search?q=[&type=COURSE|ASSIGNMENT|SUBMISSION][&limit=20]
+     * Submissions are only returned to their student or to the course's instructor
+     */
+    private Object handleSearch(Request request) {
+        request.requireMethod("GET");
+        User user = request.user();
+        String query = request.query("q");
+        if (query == null || query.isBlank()) {
+            throw new ApiException(400, "Missing query parameter: q");
+        }
+        SearchIndex.DocumentType type = request.query("type") != null
+                ? parseEnum(SearchIndex.DocumentType.class, request.query("type")) : null;
+        int limit = request.query("limit") != null ? Math.min(request.limit(), Page.MAX_LIMIT) : 20;
+
+        List<SearchService.SearchResult> results = read(() -> searchService.search(query, type, limit, item -> {
+            if (!(item instanceof Submission)) {
+                return true;
+            }
+            Submission submission = (Submission) item;
+            return user.equals(submission.getStudent()) || user.equals(submission.getAssignment().getCourse().getInstructor());
+        }));
+        List<Object> json = new ArrayList<>(results.size());
+        for (SearchService.SearchResult result : results) {
+            Map<String, Object> hit = new LinkedHashMap<>();
+            hit.put("type", result.getType().name());
+            hit.put("score", result.getScore());
+            Object item = result.getItem();
+            if (item instanceof Course) {
+                hit.put("item", courseJson((Course) item));
+            } else if (item instanceof Assignment) {
+                hit.put("item", assignmentJson((Assignment) item));
+            } else {
+                hit.put("item", submissionJson((Submission) item));
+            }
+            json.add(hit);
+        }
+        return json;
+    }
+
+    /**
+     * Stream a course gradebook; rows are written under the read lock as they are produced
+     */
+    private Download gradebookDownload(Course course, String format) {
+        String fileName = course.getCourseCode().replaceAll("[^A-Za-z0-9_-]", "_") + "-gradebook";
+        if (format == null || format.equalsIgnoreCase("csv")) {
+            return new Download("text/csv; charset=utf-8", fileName + ".csv", out -> {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                readStreaming(() -> gradebookExporter.exportCsv(List.of(course), writer));
+                writer.flush();
+            });
+        }
+        if (format.equalsIgnoreCase("xlsx")) {
+            return new Download("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                    fileName + ".xlsx", out -> readStreaming(() -> gradebookExporter.exportXlsx(List.of(course), out)));
+        }
+        throw new ApiException(400, "format must be csv or xlsx");
+    }
+
+    // ---- Lookups ----
+
+    private Teacher requireTeacher(String userId) {
+        Teacher teacher = read(() -> userService.getTeacher(userId));
+        if (teacher == null) {
+            throw new ApiException(404, "Teacher not found");
+        }
+        return teacher;
+    }
+
+    private Student requireStudent(String userId) {
+        Student student = read(() -> userService.getStudent(userId));
+        if (student == null) {
+            throw new ApiException(404, "Student not found");
+        }
+        return student;
+    }
+
+    private Course requireCourse(String courseId) {
+        Course course = read(() -> courseService.getCourse(courseId));
+        if (course == null) {
+            throw new ApiException(404, "Course not found");
+        }
+        return course;
+    }
+
+    private Assignment requireAssignment(String assignmentId) {
+        Assignment assignment = read(() -> assignmentService.getAssignment(assignmentId));
+        if (assignment == null) {
+            throw new ApiException(404, "Assignment not found");
+        }
+        return assignment;
+    }
+
+    private Submission requireSubmission(String submissionId) {
+        Submission submission = read(() -> assignmentService.getSubmission(submissionId));
+        if (submission == null) {
+            throw new ApiException(404, "Submission not found");
+        }
+        return submission;
+    }
+
+    /**
+     * Run a read of the services under the server's read lock, for jobs on other threads
+     */
+    public <T> T readLocked(Supplier<T> action) {
+        return read(action);
+    }
+
+    private <T> T read(Supplier<T> action) {
+        serviceLock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            serviceLock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        serviceLock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            serviceLock.writeLock().unlock();
+        }
+    }
+
+    private void readStreaming(StreamAction action) throws IOException {
+        serviceLock.readLock().lock();
+        try {
+            action.run();
+        } finally {
+            serviceLock.readLock().unlock();
+        }
+    }
+
+    // ---- JSON views (flat maps avoid the model's object cycles) ----
+
+    private Map<String, Object> userJson(User user) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("userId", user.getUserId());
+        json.put("name", user.getName());
+        json.put("email", user.getEmail());
+        json.put("role", user.getRole().name());
+        return json;
+    }
+
+    private Map<String, Object> courseJson(Course course) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("courseId", course.getCourseId());
+        json.put("courseCode", course.getCourseCode());
+        json.put("courseName", course.getCourseName());
+        json.put("department", course.getDepartment());
+        json.put("creditHours", course.getCreditHours());
+        json.put("semester", course.getSemester());
+        json.put("instructorId", course.getInstructor().getUserId());
+        json.put("enrolledStudents", course.getEnrolledStudents().size());
+        return json;
+    }
+
+    private Map<String, Object> assignmentJson(Assignment assignment) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("assignmentId", assignment.getAssignmentId());
+        json.put("title", assignment.getTitle());
+        json.put("description", assignment.getDescription());
+        json.put("courseId", assignment.getCourse().getCourseId());
+        json.put("type", assignment.getType().name());
+        json.put("maxMarks", assignment.getMaxMarks());
+        json.put("dueDate", assignment.getDueDate().toString());
+        json.put("status", assignment.getStatus().name());
+        json.put("submissions", assignment.getSubmissionCount());
+        return json;
+    }
+
+    private Map<String, Object> submissionJson(Submission submission) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("submissionId", submission.getSubmissionId());
+        json.put("assignmentId", submission.getAssignment().getAssignmentId());
+        json.put("studentId", submission.getStudent().getUserId());
+        json.put("submittedAt", submission.getSubmittedAt().toString());
+        json.put("status", submission.getStatus().name());
+        json.put("late", submission.isLateSubmission());
+        json.put("marks", submission.getMarks());
+        json.put("feedback", submission.getFeedback());
+        return json;
+    }
+
+    /**
+     * Paged listings: {"items": [...], "nextCursor": "..."}
+     */
+    private Map<String, Object> statisticsJson(GradeStatistics statistics) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("submissions", statistics.getSubmissionCount());
+        json.put("graded", statistics.getGradedCount());
+        json.put("lateRate", statistics.getLateRate());
+        if (statistics.getGradedCount() > 0) {
+            json.put("mean", statistics.getMean());
+            json.put("median", statistics.getMedian());
+            json.put("standardDeviation", statistics.getStandardDeviation());
+            json.put("min", statistics.getMin());
+            json.put("p25", statistics.getPercentile(25));
+            json.put("p75", statistics.getPercentile(75));
+            json.put("p90", statistics.getPercentile(90));
+            json.put("max", statistics.getMax());
+        }
+        json.put("distribution", statistics.getGradeDistribution());
+        return json;
+    }
+
+    private <T> Map<String, Object> pageJson(Page<T> page, Function<T, Map<String, Object>> view) {
+        return pageJson(page, item -> true, view);
+    }
+
+    /**
+     * A page with the items the caller may not see left out; the cursor still moves past them
+     */
+    private <T> Map<String, Object> pageJson(Page<T> page, Predicate<T> visible, Function<T, Map<String, Object>> view) {
+        List<Object> items = new ArrayList<>(page.getItems().size());
+        for (T item : page.getItems()) {
+            if (visible.test(item)) {
+                items.add(view.apply(item));
+            }
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("items", items);
+        json.put("nextCursor", page.getNextCursor());
+        return json;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Invalid " + type.getSimpleName() + ": " + value);
+        }
+    }
+
+    private static double parseThreshold(String value) {
+        try {
+            double threshold = Double.parseDouble(value);
+            if (threshold >= 0 && threshold <= 1) {
+                return threshold;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new ApiException(400, "threshold must be a number between 0 and 1");
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Invalid date-time (expected ISO-8601): " + value);
+        }
+    }
+
+    // ---- HTTP plumbing ----
+
+    private interface Endpoint {
+        Object handle(Request request) throws IOException;
+    }
+
+    private interface StreamAction {
+        void run() throws IOException;
+    }
+
+    private interface StreamBody {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Endpoint result that is streamed to the client as a file instead of serialized as JSON
+     */
+    private static class Download {
+        private final String contentType;
+        private final String fileName;
+        private final StreamBody body;
+
+        Download(String contentType, String fileName, StreamBody body) {
+            this.contentType = contentType;
+            this.fileName = fileName;
+            this.body = body;
+        }
+    }
+
+    private HttpHandler handler(Endpoint endpoint) {
+        return exchange -> {
+            int status = 200;
+            Object response;
+            try {
+                response = endpoint.handle(new Request(exchange));
+            } catch (ApiException e) {
+                status = e.status;
+                response = Map.of("error", e.getMessage());
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                response = Map.of("error", String.valueOf(e.getMessage()));
+            } catch (TokenBucketLimiter.LimitExceededException e) {
+                status = 429;
+                response = Map.of("error", e.getMessage());
+            } catch (RejectedExecutionException e) {
+                status = 503;
+                response = Map.of("error", "Too many login attempts in progress, try again shortly");
+            } catch (IllegalStateException e) {
+                status = 409;
+                response = Map.of("error", String.valueOf(e.getMessage()));
+            } catch (Exception e) {
+                status = 500;
+                response = Map.of("error", "Internal server error");
+                log.error("API error", "uri", exchange.getRequestURI().toString(), e);
+            }
+
+            if (response instanceof Download) {
+                Download download = (Download) response;
+                exchange.getResponseHeaders().set("Content-Type", download.contentType);
+                exchange.getResponseHeaders().set("Content-Disposition",
+                        "attachment; filename=\"" + download.fileName + "\"");
+                exchange.sendResponseHeaders(200, 0); // Chunked: the length is not known up front
+                try (OutputStream out = exchange.getResponseBody()) {
+                    download.body.writeTo(out);
+                } catch (IOException | RuntimeException e) {
+                    // Headers are already sent, so the client just sees a truncated download
+                    log.warn("API download failed", "uri", exchange.getRequestURI().toString(), "error", e.getMessage());
+                }
+                return;
+            }
+
+            byte[] bytes = responseWriter.writeValueAsBytes(response);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        };
+    }
+
+    private static class ApiException extends RuntimeException {
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private class Request {
+        private final HttpExchange exchange;
+        private Map<String, String> query;
+        private Map<?, ?> body;
+        private User user;
+
+        Request(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        String method() {
+            return exchange.getRequestMethod();
+        }
+
+        void requireMethod(String method) {
+            if (!method().equals(method)) {
+                throw new ApiException(405, "Method not allowed");
+            }
+        }
+
+        /**
+         * Path segments after the context prefix, e.g. "/api/courses/CRS-0001/enroll" -> [CRS-0001, enroll]
+         */
+        String[] pathAfter(String prefix) {
+            String rest = exchange.getRequestURI().getPath().substring(prefix.length());
+            if (rest.startsWith("/")) {
+                rest = rest.substring(1);
+            }
+            return rest.isEmpty() ? new String[0] : rest.split("/");
+        }
+
+        String query(String name) {
+            if (query == null) {
+                query = new HashMap<>();
+                String raw = exchange.getRequestURI().getRawQuery();
+                if (raw != null) {
+                    for (String pair : raw.split("&")) {
+                        int eq = pair.indexOf('=');
+                        if (eq > 0) {
+                            query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                        }
+                    }
+                }
+            }
+            return query.get(name);
+        }
+
+        String token() {
+            String header = exchange.getRequestHeaders().getFirst("Authorization");
+            return header != null && header.startsWith("Bearer ") ? header.substring(7).trim() : null;
+        }
+
+        /**
+         * The session's user; rejects the request if the token is missing or expired
+         */
+        User user() {
+            if (user == null) {
+                user = userService.getSessionUser(token());
+                if (user == null) {
+                    throw new ApiException(401, "Login required");
+                }
+            }
+            return user;
+        }
+
+        Teacher teacher() {
+            if (!(user() instanceof Teacher)) {
+                throw new ApiException(403, "Teacher account required");
+            }
+            return (Teacher) user();
+        }
+
+        Student student() {
+            if (!(user() instanceof Student)) {
+                throw new ApiException(403, "Student account required");
+            }
+            return (Student) user();
+        }
+
+        int limit() {
+            try {
+                return Integer.parseInt(query("limit"));
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "limit must be a number");
+            }
+        }
+
+        private Map<?, ?> body() {
+            if (body == null) {
+                try (InputStream in = exchange.getRequestBody()) {
+                    byte[] bytes = in.readAllBytes();
+                    body = bytes.length == 0 ? Map.of() : bodyReader.<Map<?, ?>>readValue(bytes);
+                } catch (IOException e) {
+                    throw new ApiException(400, "Malformed JSON body");
+                }
+            }
+            return body;
+        }
+
+        String bodyString(String name) {
+            Object value = body().get(name);
+            if (value == null) {
+                throw new ApiException(400, "Missing field: " + name);
+            }
+            return value.toString();
+        }
+
+        int bodyInt(String name) {
+            Object value = body().get(name);
+            if (value instanceof Number) {
+                return ((Number) value).intValue();
+            }
+            try {
+                return Integer.parseInt(bodyString(name));
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Field must be a number: " + name);
+            }
+        }
+    }
+}
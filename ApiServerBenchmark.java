@@ -0,0 +1,96 @@
+package org.app.test;
+
+import org.app.model.Student;
+import org.app.model.Teacher;
+import org.app.server.ApiServer;
+import org.app.service.AssignmentService;
+import org.app.service.CourseService;
+import org.app.service.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput benchmark for the API server: many virtual-thread clients issuing read requests.
+ * Usage: ApiServerBenchmark [clients] [requestsPerClient]
+ * Needs existing users (run the application once so the sample data is created).
+ */
+public class ApiServerBenchmark {
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        UserService userService = new UserService();
+        CourseService courseService = new CourseService();
+        AssignmentService assignmentService = new AssignmentService(courseService, userService);
+
+        List<Teacher> teachers = userService.getAllTeachers();
+        List<Student> students = userService.getAllStudents();
+        if (teachers.isEmpty() || students.isEmpty()) {
+            System.out.println("❌ No users found. Run the application once to create sample data.");
+            return;
+        }
+        for (int i = 0; i < 50; i++) {
+            courseService.createCourse("Benchmark Course " + i, "BENCH-" + i, "Computer Science", 3,
+                    "Fall 2024", teachers.get(i % teachers.size()));
+        }
+        String studentId = students.get(0).getUserId();
+        String teacherId = teachers.get(0).getUserId();
+        // Open the session in-process; the benchmark measures authenticated requests, not logins
+        String token = userService.getSessionManager().createSession(students.get(0));
+
+        ApiServer server = new ApiServer(userService, courseService, assignmentService);
+        server.start(0);
+        String base = "http://localhost:" + server.getPort();
+        String[] paths = {
+                "/api/courses",
+                "/api/courses?teacherId=" + teacherId,
+                "/api/courses?studentId=" + studentId,
+                "/api/submissions?studentId=" + studentId
+        };
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                final int clientIndex = c;
+                executor.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        String path = paths[(clientIndex + r) % paths.length];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                                .header("Authorization", "Bearer " + token).GET().build();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                ok.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        server.stop();
+
+        System.out.println("=== API Server Benchmark ===");
+        System.out.println("Clients: " + clients + ", requests per client: " + requestsPerClient);
+        System.out.println("Succeeded: " + ok.get() + ", failed: " + failed.get());
+        System.out.println("Elapsed: " + String.format("%.2f s", seconds));
+        System.out.println("Throughput: " + String.format("%.0f req/s", ok.get() / seconds));
+    }
+}
@@ -2,31 +2,143 @@ package org.app.service;
 
 import org.app.model.*;
 import org.app.util.DataPersistence;
+import org.app.util.FlightEvents;
+import org.app.util.Log;
+import org.app.util.Metrics;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
  * Assignment Management Service for BUP UCAM Assignment Tracker
  */
 public class AssignmentService {
-    private Map<String, Assignment> assignments;
-    private Map<String, Submission> submissions;
+    private static final Log log = Log.get(AssignmentService.class);
+
+    private static final Metrics.Timer CREATE_ASSIGNMENT = timer("createAssignment");
+    private static final Metrics.Timer SUBMIT_ASSIGNMENT = timer("submitAssignment");
+    private static final Metrics.Timer GRADE_SUBMISSION = timer("gradeSubmission");
+    private static final Metrics.Timer GRADE_SUBMISSIONS = timer("gradeSubmissions");
+    private static final Metrics.Timer GET_ASSIGNMENTS_BY_COURSE = timer("getAssignmentsByCourse");
+    private static final Metrics.Timer GET_ASSIGNMENTS_BY_COURSE_PAGE = timer("getAssignmentsByCoursePage");
+    private static final Metrics.Timer GET_ASSIGNMENTS_BY_TEACHER = timer("getAssignmentsByTeacher");
+    private static final Metrics.Timer GET_SUBMISSIONS_FOR_ASSIGNMENT = timer("getSubmissionsForAssignment");
+    private static final Metrics.Timer GET_SUBMISSIONS_FOR_COURSE = timer("getSubmissionsForCourse");
+    private static final Metrics.Timer GET_SUBMISSIONS_FOR_ASSIGNMENT_PAGE = timer("getSubmissionsForAssignmentPage");
+    private static final Metrics.Timer GET_SUBMISSIONS_BY_STUDENT = timer("getSubmissionsByStudent");
+    private static final Metrics.Timer GET_SUBMISSIONS_BY_STUDENT_PAGE = timer("getSubmissionsByStudentPage");
+    private static final Metrics.Timer GET_OVERDUE_ASSIGNMENTS = timer("getOverdueAssignments");
+    private static final Metrics.Timer CLOSE_ASSIGNMENT = timer("closeAssignment");
+    private static final Metrics.Timer GET_ASSIGNMENT = timer("getAssignment");
+    private static final Metrics.Timer GET_SUBMISSION = timer("getSubmission");
+    private static final Metrics.Timer GET_ALL_ASSIGNMENTS = timer("getAllAssignments");
+    private static final Metrics.Timer GET_ALL_SUBMISSIONS = timer("getAllSubmissions");
+    private static final Metrics.Timer GET_ASSIGNMENTS = timer("getAssignments");
+    private static final Metrics.Timer GET_SUBMISSIONS = timer("getSubmissions");
+
+    private NavigableMap<String, Assignment> assignments;
+    private NavigableMap<String, Submission> submissions;
+    // Secondary indexes keyed by course, assignment and student ID, each ordered by the indexed entity's ID
+    private Map<String, NavigableMap<String, Assignment>> assignmentsByCourse;
+    private Map<String, NavigableMap<String, Submission>> submissionsByAssignment;
+    private Map<String, NavigableMap<String, Submission>> submissionsByStudent;
     private int assignmentCounter;
     private int submissionCounter;
     private DataPersistence dataPersistence;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private SimilarityService similarityService;
+
+    /**
+     * Callbacks for components that keep derived state (indexes, notifications) in sync
+     */
+    public interface ChangeListener {
+        default void onAssignmentCreated(Assignment assignment) {}
+        default void onSubmissionCreated(Submission submission) {}
+        /**
+         * Called once per grading call, with every submission graded by it
+         */
+        default void onSubmissionsGraded(List<Submission> graded) {}
+    }
 
-    public AssignmentService() {
-        this.dataPersistence = new DataPersistence();
-        loadData();
+    public AssignmentService(CourseService courseService, UserService userService) {
+        this(new DataPersistence(), courseService, userService);
     }
 
-    private void loadData() {
-        DataPersistence.AssignmentData assignmentData = dataPersistence.loadAssignments();
-        this.assignments = assignmentData.assignments;
-        this.submissions = assignmentData.submissions;
+    /**
+     * Saved assignments and submissions are relinked to the courses and users the given services
+     * hold; records whose course or user no longer exists are skipped
+     */
+    public AssignmentService(DataPersistence dataPersistence, CourseService courseService, UserService userService) {
+        this(dataPersistence, courseService, userService, dataPersistence.loadAssignments());
+    }
+
+    /**
+     * Link assignment and submission records that were already read (StartupOrchestrator parses
+     * the file in parallel with the other stores)
+     */
+    public AssignmentService(DataPersistence dataPersistence, CourseService courseService, UserService userService,
+                             DataPersistence.AssignmentData assignmentData) {
+        this.dataPersistence = dataPersistence;
+        loadData(courseService, userService, assignmentData);
+        Metrics.gauge("app_assignments", "Assignments in memory", () -> assignments.size());
+        Metrics.gauge("app_submissions", "Submissions in memory", () -> submissions.size());
+    }
+
+    private void loadData(CourseService courseService, UserService userService,
+                          DataPersistence.AssignmentData assignmentData) {
+        this.assignments = new TreeMap<>(Page.ID_ORDER);
+        this.submissions = new TreeMap<>(Page.ID_ORDER);
         this.assignmentCounter = assignmentData.assignmentCounter;
         this.submissionCounter = assignmentData.submissionCounter;
+        this.assignmentsByCourse = new HashMap<>();
+        this.submissionsByAssignment = new HashMap<>();
+        this.submissionsByStudent = new HashMap<>();
+
+        int skipped = 0;
+        for (DataPersistence.AssignmentRecord record : assignmentData.assignments) {
+            Course course = courseService.getCourse(record.courseId);
+            Teacher creator = userService.getTeacher(record.creatorId);
+            if (course == null || creator == null) {
+                skipped++;
+                continue;
+            }
+            Assignment assignment = record.toAssignment(course, creator);
+            assignments.put(assignment.getAssignmentId(), assignment);
+            indexAssignment(assignment);
+            course.addAssignment(assignment);
+            creator.addAssignment(assignment);
+        }
+        for (DataPersistence.SubmissionRecord record : assignmentData.submissions) {
+            Assignment assignment = assignments.get(record.assignmentId);
+            Student student = userService.getStudent(record.studentId);
+            if (assignment == null || student == null) {
+                skipped++;
+                continue;
+            }
+            Teacher gradedBy = record.gradedById != null ? userService.getTeacher(record.gradedById) : null;
+            Submission submission = record.toSubmission(assignment, student, gradedBy);
+            submissions.put(submission.getSubmissionId(), submission);
+            indexSubmission(submission);
+            assignment.addSubmission(submission);
+            student.addSubmission(submission);
+        }
+        if (!assignmentData.assignments.isEmpty()) {
+            log.info("✓ Loaded assignments and submissions", "assignments", assignments.size(),
+                    "submissions", submissions.size(), "skipped", skipped);
+        }
+    }
+
+    private void indexAssignment(Assignment assignment) {
+        assignmentsByCourse.computeIfAbsent(assignment.getCourse().getCourseId(), k -> new TreeMap<>(Page.ID_ORDER))
+                .put(assignment.getAssignmentId(), assignment);
+    }
+
+    private void indexSubmission(Submission submission) {
+        submissionsByAssignment.computeIfAbsent(submission.getAssignment().getAssignmentId(),
+                k -> new TreeMap<>(Page.ID_ORDER)).put(submission.getSubmissionId(), submission);
+        submissionsByStudent.computeIfAbsent(submission.getStudent().getUserId(),
+                k -> new TreeMap<>(Page.ID_ORDER)).put(submission.getSubmissionId(), submission);
     }
 
     private void saveData() {
@@ -39,111 +151,300 @@ public class AssignmentService {
     public Assignment createAssignment(String title, String description, Course course,
                                        Teacher creator, AssignmentType type, int maxMarks,
                                        LocalDateTime dueDate) {
-        String assignmentId = "ASSIGN-" + String.format("%04d", assignmentCounter++);
-        Assignment assignment = new Assignment(assignmentId, title, description, course,
-                creator, type, maxMarks, dueDate);
+        long start = System.nanoTime();
+        try {
+            if (!creator.equals(course.getInstructor())) {
+                throw new IllegalArgumentException("Only the course instructor can create its assignments");
+            }
+
+            String assignmentId = "ASSIGN-" + String.format("%04d", assignmentCounter++);
+            Assignment assignment = new Assignment(assignmentId, title, description, course,
+                    creator, type, maxMarks, dueDate);
 
-        assignments.put(assignmentId, assignment);
-        course.addAssignment(assignment);
-        creator.addAssignment(assignment);
+            assignments.put(assignmentId, assignment);
+            indexAssignment(assignment);
+            course.addAssignment(assignment);
+            creator.addAssignment(assignment);
 
-        saveData(); // Save after creating assignment
-        System.out.println("✓ Assignment created successfully: " + title);
-        return assignment;
+            saveData(); // Save after creating assignment
+            for (ChangeListener listener : listeners) {
+                listener.onAssignmentCreated(assignment);
+            }
+            log.info("✓ Assignment created successfully", "title", title);
+            return assignment;
+        } finally {
+            CREATE_ASSIGNMENT.record(start);
+        }
     }
 
     /**
      * Submit assignment by student
      */
     public Submission submitAssignment(Assignment assignment, Student student, String content) {
-        if (assignment.getStatus() != AssignmentStatus.ACTIVE) {
-            throw new IllegalStateException("Assignment is not active for submissions");
-        }
+        long start = System.nanoTime();
+        FlightEvents.SubmissionCreated event = new FlightEvents.SubmissionCreated();
+        event.begin();
+        try {
+            if (assignment.getStatus() != AssignmentStatus.ACTIVE) {
+                throw new IllegalStateException("Assignment is not active for submissions");
+            }
 
-        String submissionId = "SUB-" + String.format("%04d", submissionCounter++);
-        Submission submission = new Submission(submissionId, assignment, student, content);
+            String submissionId = "SUB-" + String.format("%04d", submissionCounter++);
+            Submission submission = new Submission(submissionId, assignment, student, content);
 
-        submissions.put(submissionId, submission);
-        assignment.addSubmission(submission);
-        student.addSubmission(submission);
+            submissions.put(submissionId, submission);
+            indexSubmission(submission);
+            assignment.addSubmission(submission);
+            student.addSubmission(submission);
 
-        saveData(); // Save after submission
-        System.out.println("✓ Assignment submitted successfully by " + student.getName());
-        return submission;
+            saveData(); // Save after submission
+            for (ChangeListener listener : listeners) {
+                listener.onSubmissionCreated(submission);
+            }
+            if (event.shouldCommit()) {
+                event.submissionId = submissionId;
+                event.assignmentId = assignment.getAssignmentId();
+                event.studentId = student.getUserId();
+                event.late = submission.isLateSubmission();
+                event.commit();
+            }
+            log.info("✓ Assignment submitted successfully", "student", student.getName(),
+                    "assignment", assignment.getAssignmentId());
+            return submission;
+        } finally {
+            SUBMIT_ASSIGNMENT.record(start);
+        }
     }
 
     /**
-     * Grade a submission
+     * Grade a submission; only its course's instructor may
      */
     public void gradeSubmission(String submissionId, int marks, String feedback, Teacher teacher) {
-        Submission submission = submissions.get(submissionId);
-        if (submission == null) {
-            throw new IllegalArgumentException("Submission not found");
+        long start = System.nanoTime();
+        try {
+            Submission submission = submissions.get(submissionId);
+            if (submission == null) {
+                throw new IllegalArgumentException("Submission not found");
+            }
+
+            if (!teacher.equals(submission.getAssignment().getCourse().getInstructor())) {
+                throw new IllegalArgumentException("Only the course instructor can grade this submission");
+            }
+
+            if (marks < 0 || marks > submission.getAssignment().getMaxMarks()) {
+                throw new IllegalArgumentException("Marks must be between 0 and "
+                        + submission.getAssignment().getMaxMarks());
+            }
+
+            submission.grade(marks, feedback, teacher);
+            saveData(); // Save after grading
+            fireGraded(List.of(submission));
+            log.info("✓ Submission graded successfully", "submissionId", submissionId);
+        } finally {
+            GRADE_SUBMISSION.record(start);
+        }
+    }
+
+    /**
+     * Grade many submissions at once, all in courses the teacher instructs. Every entry is
+     * validated first; if any is invalid nothing is graded and an IllegalArgumentException lists
+     * the problems. Otherwise the whole batch is applied with a single save and a single change event.
+     */
+    public List<Submission> gradeSubmissions(List<GradeEntry> entries, Teacher teacher) {
+        long start = System.nanoTime();
+        try {
+            List<String> errors = new ArrayList<>();
+            List<Submission> graded = new ArrayList<>(entries.size());
+            Set<String> seen = new HashSet<>();
+            for (GradeEntry entry : entries) {
+                Submission submission = submissions.get(entry.getSubmissionId());
+                if (submission == null) {
+                    errors.add(entry.getSubmissionId() + ": submission not found");
+                } else if (!teacher.equals(submission.getAssignment().getCourse().getInstructor())) {
+                    errors.add(entry.getSubmissionId() + ": not in a course you teach");
+                } else if (!seen.add(entry.getSubmissionId())) {
+                    errors.add(entry.getSubmissionId() + ": graded more than once in this batch");
+                } else if (entry.getMarks() < 0 || entry.getMarks() > submission.getAssignment().getMaxMarks()) {
+                    errors.add(entry.getSubmissionId() + ": marks must be between 0 and "
+                            + submission.getAssignment().getMaxMarks());
+                } else {
+                    graded.add(submission);
+                }
+            }
+            if (!errors.isEmpty()) {
+                throw new IllegalArgumentException(errors.size() + " invalid grade(s): "
+                        + String.join("; ", errors.subList(0, Math.min(10, errors.size())))
+                        + (errors.size() > 10 ? "; ..." : ""));
+            }
+
+            for (int i = 0; i < entries.size(); i++) {
+                GradeEntry entry = entries.get(i);
+                graded.get(i).grade(entry.getMarks(), entry.getFeedback(), teacher);
+            }
+            saveData();
+            fireGraded(graded);
+            log.info("✓ Graded submissions", "count", graded.size());
+            return graded;
+        } finally {
+            GRADE_SUBMISSIONS.record(start);
         }
+    }
 
-        if (marks > submission.getAssignment().getMaxMarks()) {
-            throw new IllegalArgumentException("Marks cannot exceed maximum marks");
+    private void fireGraded(List<Submission> graded) {
+        List<Submission> view = Collections.unmodifiableList(graded);
+        for (ChangeListener listener : listeners) {
+            listener.onSubmissionsGraded(view);
         }
+    }
 
-        submission.grade(marks, feedback, teacher);
-        saveData(); // Save after grading
-        System.out.println("✓ Submission graded successfully");
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
     }
 
     /**
      * Get assignments by course
      */
     public List<Assignment> getAssignmentsByCourse(Course course) {
-        return assignments.values().stream()
-                .filter(assignment -> assignment.getCourse().equals(course))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            NavigableMap<String, Assignment> courseAssignments = assignmentsByCourse.get(course.getCourseId());
+            return courseAssignments != null ? new ArrayList<>(courseAssignments.values()) : new ArrayList<>();
+        } finally {
+            GET_ASSIGNMENTS_BY_COURSE.record(start);
+        }
+    }
+
+    /**
+     * Get one page of a course's assignments, ordered by assignment ID
+     */
+    public Page<Assignment> getAssignmentsByCourse(String courseId, String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return Page.of(assignmentsByCourse.get(courseId), cursor, limit);
+        } finally {
+            GET_ASSIGNMENTS_BY_COURSE_PAGE.record(start);
+        }
     }
 
     /**
      * Get assignments by teacher
      */
     public List<Assignment> getAssignmentsByTeacher(Teacher teacher) {
-        return assignments.values().stream()
-                .filter(assignment -> assignment.getCreator().equals(teacher))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return assignments.values().stream()
+                    .filter(assignment -> assignment.getCreator().equals(teacher))
+                    .collect(Collectors.toList());
+        } finally {
+            GET_ASSIGNMENTS_BY_TEACHER.record(start);
+        }
     }
 
     /**
      * Get submissions for an assignment
      */
     public List<Submission> getSubmissionsForAssignment(Assignment assignment) {
-        return submissions.values().stream()
-                .filter(submission -> submission.getAssignment().equals(assignment))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            NavigableMap<String, Submission> assignmentSubmissions =
+                    submissionsByAssignment.get(assignment.getAssignmentId());
+            return assignmentSubmissions != null ? new ArrayList<>(assignmentSubmissions.values()) : new ArrayList<>();
+        } finally {
+            GET_SUBMISSIONS_FOR_ASSIGNMENT.record(start);
+        }
+    }
+
+    /**
+     * Get every submission to any assignment of a course
+     */
+    public List<Submission> getSubmissionsForCourse(Course course) {
+        long start = System.nanoTime();
+        try {
+            List<Submission> courseSubmissions = new ArrayList<>();
+            NavigableMap<String, Assignment> courseAssignments = assignmentsByCourse.get(course.getCourseId());
+            if (courseAssignments != null) {
+                for (String assignmentId : courseAssignments.keySet()) {
+                    NavigableMap<String, Submission> assignmentSubmissions = submissionsByAssignment.get(assignmentId);
+                    if (assignmentSubmissions != null) {
+                        courseSubmissions.addAll(assignmentSubmissions.values());
+                    }
+                }
+            }
+            return courseSubmissions;
+        } finally {
+            GET_SUBMISSIONS_FOR_COURSE.record(start);
+        }
+    }
+
+    /**
+     * Get one page of an assignment's submissions, ordered by submission ID (i.e. submission order)
+     */
+    public Page<Submission> getSubmissionsForAssignment(String assignmentId, String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return Page.of(submissionsByAssignment.get(assignmentId), cursor, limit);
+        } finally {
+            GET_SUBMISSIONS_FOR_ASSIGNMENT_PAGE.record(start);
+        }
     }
 
     /**
      * Get submissions by student
      */
     public List<Submission> getSubmissionsByStudent(Student student) {
-        return submissions.values().stream()
-                .filter(submission -> submission.getStudent().equals(student))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            NavigableMap<String, Submission> studentSubmissions = submissionsByStudent.get(student.getUserId());
+            return studentSubmissions != null ? new ArrayList<>(studentSubmissions.values()) : new ArrayList<>();
+        } finally {
+            GET_SUBMISSIONS_BY_STUDENT.record(start);
+        }
+    }
+
+    /**
+     * Get one page of a student's submissions, ordered by submission ID (i.e. submission order)
+     */
+    public Page<Submission> getSubmissionsByStudent(String studentUserId, String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return Page.of(submissionsByStudent.get(studentUserId), cursor, limit);
+        } finally {
+            GET_SUBMISSIONS_BY_STUDENT_PAGE.record(start);
+        }
     }
 
     /**
      * Get overdue assignments
      */
     public List<Assignment> getOverdueAssignments() {
-        return assignments.values().stream()
-                .filter(Assignment::isOverdue)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return assignments.values().stream()
+                    .filter(Assignment::isOverdue)
+                    .collect(Collectors.toList());
+        } finally {
+            GET_OVERDUE_ASSIGNMENTS.record(start);
+        }
     }
 
     /**
      * Close assignment for submissions
      */
     public void closeAssignment(String assignmentId) {
-        Assignment assignment = assignments.get(assignmentId);
-        if (assignment != null) {
-            assignment.setStatus(AssignmentStatus.CLOSED);
-            saveData(); // Save after status change
-            System.out.println("✓ Assignment closed: " + assignment.getTitle());
+        long start = System.nanoTime();
+        try {
+            Assignment assignment = assignments.get(assignmentId);
+            if (assignment != null) {
+                assignment.setStatus(AssignmentStatus.CLOSED);
+                saveData(); // Save after status change
+                log.info("✓ Assignment closed", "title", assignment.getTitle());
+            }
+        } finally {
+            CLOSE_ASSIGNMENT.record(start);
         }
     }
 
@@ -167,20 +468,87 @@ public class AssignmentService {
                 (submittedCount * 100.0) / totalStudents));
     }
 
+    /**
+     * Content similarity checks for this service's submissions, started on first use
+     */
+    public synchronized SimilarityService getSimilarityService() {
+        if (similarityService == null) {
+            similarityService = new SimilarityService(this);
+        }
+        return similarityService;
+    }
+
     // Getters
     public Assignment getAssignment(String assignmentId) {
-        return assignments.get(assignmentId);
+        long start = System.nanoTime();
+        try {
+            return assignments.get(assignmentId);
+        } finally {
+            GET_ASSIGNMENT.record(start);
+        }
     }
 
     public Submission getSubmission(String submissionId) {
-        return submissions.get(submissionId);
+        long start = System.nanoTime();
+        try {
+            return submissions.get(submissionId);
+        } finally {
+            GET_SUBMISSION.record(start);
+        }
+    }
+
+    int getAssignmentCounter() {
+        return assignmentCounter;
+    }
+
+    int getSubmissionCounter() {
+        return submissionCounter;
     }
 
     public List<Assignment> getAllAssignments() {
-        return new ArrayList<>(assignments.values());
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(assignments.values());
+        } finally {
+            GET_ALL_ASSIGNMENTS.record(start);
+        }
     }
 
     public List<Submission> getAllSubmissions() {
-        return new ArrayList<>(submissions.values());
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(submissions.values());
+        } finally {
+            GET_ALL_SUBMISSIONS.record(start);
+        }
+    }
+
+    /**
+     * Get one page of all assignments, ordered by assignment ID
+     */
+    public Page<Assignment> getAssignments(String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return Page.of(assignments, cursor, limit);
+        } finally {
+            GET_ASSIGNMENTS.record(start);
+        }
+    }
+
+    /**
+     * Get one page of all submissions, ordered by submission ID
+     */
+    public Page<Submission> getSubmissions(String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return Page.of(submissions, cursor, limit);
+        } finally {
+            GET_SUBMISSIONS.record(start);
+        }
+    }
+
+    private static Metrics.Timer timer(String method) {
+        return Metrics.timer("app_service_duration_seconds", "Service method latency",
+                "service", "AssignmentService", "method", method);
     }
-}
\ No newline at end of file
+}
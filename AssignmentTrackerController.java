@@ -2,6 +2,7 @@ package org.app.controller;
 
 import org.app.model.*;
 import org.app.service.*;
+import org.app.util.TokenBucketLimiter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -19,17 +20,23 @@ public class AssignmentTrackerController {
     private User currentUser;
 
     public AssignmentTrackerController() {
-        this.userService = new UserService();
-        this.courseService = new CourseService();
-        this.assignmentService = new AssignmentService();
+        StartupOrchestrator startup = new StartupOrchestrator();
+        this.userService = startup.getUserService();
+        this.courseService = startup.getCourseService();
+        this.assignmentService = startup.getAssignmentService();
         this.scanner = new Scanner(System.in);
         initializeDefaultData();
     }
 
     /**
-     * Initialize some default data for demonstration
+     * Initialize some default data for demonstration, on the first run only
      */
     private void initializeDefaultData() {
+        // The stores are persistent; seeding again would duplicate the sample users and courses
+        if (!userService.isFirstRun()) {
+            return;
+        }
+
         // Create sample teachers
         Teacher teacher1 = userService.registerTeacher("Dr. Ahmed Rahman", "ahmed@bup.edu.bd",
                 "password123", "Computer Science", "EMP001");
@@ -103,7 +110,12 @@ public class AssignmentTrackerController {
         System.out.print("Enter password: ");
         String password = scanner.nextLine();
 
-        currentUser = userService.authenticateUser(email, password);
+        try {
+            currentUser = userService.authenticateUser(email, password);
+        } catch (TokenBucketLimiter.LimitExceededException e) {
+            System.out.println("✗ " + e.getMessage());
+            return;
+        }
         if (currentUser != null) {
             System.out.println("✓ Login successful! Welcome, " + currentUser.getName());
             currentUser.displayDashboard();
@@ -125,7 +137,11 @@ public class AssignmentTrackerController {
         System.out.print("Employee ID: ");
         String employeeId = scanner.nextLine();
 
-        userService.registerTeacher(name, email, password, department, employeeId);
+        try {
+            userService.registerTeacher(name, email, password, department, employeeId);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
     }
 
     private void registerStudent() {
@@ -143,7 +159,11 @@ public class AssignmentTrackerController {
         System.out.print("Semester: ");
         int semester = getIntInput();
 
-        userService.registerStudent(name, email, password, studentId, program, semester);
+        try {
+            userService.registerStudent(name, email, password, studentId, program, semester);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
     }
 
     private void showMainMenu() {
@@ -3,6 +3,7 @@ package org.app.gui;
 import com.formdev.flatlaf.FlatLightLaf;
 import org.app.service.*;
 import org.app.model.*;
+import org.app.util.TokenBucketLimiter;
 
 import javax.swing.*;
 import java.awt.*;
@@ -13,6 +14,7 @@ import java.awt.event.ActionListener;
  * Main GUI Application for BUP UCAM Assignment Tracker
  */
 public class AssignmentTrackerGUI extends JFrame {
+    private final StartupOrchestrator startup;
     private UserService userService;
     private CourseService courseService;
     private AssignmentService assignmentService;
@@ -27,27 +29,94 @@ public class AssignmentTrackerGUI extends JFrame {
     private JButton loginButton;
     private JButton registerTeacherButton;
     private JButton registerStudentButton;
+    private JLabel loadingLabel;
 
     public AssignmentTrackerGUI() {
-        // Initialize services
-        userService = new UserService();
-        courseService = new CourseService();
-        assignmentService = new AssignmentService();
+        // Load the stores in the background while the window is built
+        this(new StartupOrchestrator());
+    }
 
-        // Initialize sample data
-        initializeSampleData();
+    /**
+     * Open the window on stores that are already loading (the AOT training run passes its own)
+     */
+    public AssignmentTrackerGUI(StartupOrchestrator startup) {
+        this.startup = startup;
 
         // Setup GUI
         setupLookAndFeel();
         initializeComponents();
         setupLayout();
         setupEventHandlers();
+        setLoginEnabled(false);
+        setRegistrationEnabled(false);
 
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setTitle("Assignment Tracker");
         setSize(1200, 800);
         setLocationRelativeTo(null);
         setVisible(true);
+
+        startup.usersReady().whenComplete((users, error) ->
+                SwingUtilities.invokeLater(() -> usersLoaded(users, error)));
+    }
+
+    /**
+     * Login opens as soon as the user store is ready; courses and assignments keep loading
+     */
+    private void usersLoaded(UserService users, Throwable error) {
+        if (error != null) {
+            showStartupError(error);
+            return;
+        }
+        userService = users;
+        if (userService.isFirstRun()) {
+            // Sample data needs every store, which is quick to load on a first run
+            startup.ready().whenComplete((ignored, failure) -> SwingUtilities.invokeLater(() -> {
+                storesLoaded(failure);
+                if (failure == null) {
+                    initializeSampleData();
+                    setLoginEnabled(true);
+                    startup.mark("loginScreen");
+                }
+            }));
+            return;
+        }
+        setLoginEnabled(true);
+        startup.mark("loginScreen");
+        loadingLabel.setText("Loading courses and assignments...");
+        startup.ready().whenComplete((ignored, failure) -> SwingUtilities.invokeLater(() -> storesLoaded(failure)));
+    }
+
+    private void storesLoaded(Throwable error) {
+        if (error != null) {
+            showStartupError(error);
+            return;
+        }
+        courseService = startup.getCourseService();
+        assignmentService = startup.getAssignmentService();
+        loadingLabel.setText(" ");
+        // Registering writes the user maps that course and assignment linking reads, so it waits
+        setRegistrationEnabled(true);
+    }
+
+    private void showStartupError(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        loadingLabel.setText("Data could not be loaded");
+        JOptionPane.showMessageDialog(this,
+                "Failed to load application data:\n" + cause.getMessage(),
+                "Application Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
+    private void setLoginEnabled(boolean enabled) {
+        emailField.setEnabled(enabled);
+        passwordField.setEnabled(enabled);
+        loginButton.setEnabled(enabled);
+    }
+
+    private void setRegistrationEnabled(boolean enabled) {
+        registerTeacherButton.setEnabled(enabled);
+        registerStudentButton.setEnabled(enabled);
     }
 
     private void setupLookAndFeel() {
@@ -152,6 +221,13 @@ public class AssignmentTrackerGUI extends JFrame {
         gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 2;
         loginFormPanel.add(registerPanel, gbc);
 
+        // Startup progress
+        loadingLabel = new JLabel("Loading users...");
+        loadingLabel.setFont(new Font("Arial", Font.ITALIC, 12));
+        loadingLabel.setForeground(Color.GRAY);
+        gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2;
+        loginFormPanel.add(loadingLabel, gbc);
+
         centerPanel.add(loginFormPanel);
 
         panel.add(headerPanel, BorderLayout.NORTH);
@@ -186,7 +262,27 @@ public class AssignmentTrackerGUI extends JFrame {
             return;
         }
 
-        currentUser = userService.authenticateUser(email, password);
+        // Password hashing is slow by design, so verify off the EDT and come back when done
+        loginButton.setEnabled(false);
+        userService.authenticateUserAsync(email, password).whenComplete((user, error) ->
+                SwingUtilities.invokeLater(() -> completeLogin(user, error)));
+    }
+
+    private void completeLogin(User user, Throwable error) {
+        loginButton.setEnabled(true);
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            String message = cause instanceof TokenBucketLimiter.LimitExceededException
+                    ? cause.getMessage()
+                    : "The server is busy. Please try again in a moment.";
+            JOptionPane.showMessageDialog(this,
+                    message,
+                    "Login Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        currentUser = user;
 
         if (currentUser != null) {
             JOptionPane.showMessageDialog(this,
@@ -205,6 +301,18 @@ public class AssignmentTrackerGUI extends JFrame {
     }
 
     private void showDashboard() {
+        if (assignmentService == null) {
+            // Logged in before courses and assignments finished loading
+            loadingLabel.setText("Opening your dashboard once courses and assignments are loaded...");
+            startup.ready().whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+                if (error == null && currentUser != null) {
+                    assignmentService = startup.getAssignmentService();
+                    courseService = startup.getCourseService();
+                    showDashboard();
+                }
+            }));
+            return;
+        }
         if (currentUser.getRole() == UserRole.TEACHER) {
             TeacherDashboard teacherDashboard = new TeacherDashboard(
                     (Teacher) currentUser, userService, courseService, assignmentService, this);
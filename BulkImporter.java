@@ -0,0 +1,270 @@
+package org.app.service;
+
+import org.app.model.*;
+import org.app.util.CsvReader;
+import org.app.util.Log;
+import org.app.util.PasswordHasher;
+import org.app.util.ValidationUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Bulk user import for BUP UCAM Assignment Tracker
+ * Streams a CSV of students and teachers (with optional course enrollments), validates each row,
+ * and registers valid rows in batches: one user and one course persistence write per batch, with
+ * verification emails queued on the outbox. Invalid rows are collected into an error report.
+ * Imported passwords are initial passwords, so they are hashed at a cheap cost by default and
+ * upgraded to the full cost on each user's first login; hashing would otherwise dominate.
+ *
+ * Expected header (column order is free, names are case-insensitive):
+ *   role,name,email,password,department,employee_id,student_id,program,semester,courses
+ * role is TEACHER or STUDENT; courses is a ';'-separated list of course codes (students only).
+ * From the command line: java -jar app.jar --import users.csv [errors.csv]
+ */
+public class BulkImporter {
+    private static final Log log = Log.get(BulkImporter.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 2000;
+    private static final int MAX_REPORTED_ERRORS = 100_000;
+    private static final String[] REQUIRED_COLUMNS = {"role", "name", "email", "password"};
+
+    private final UserService userService;
+    private final CourseService courseService;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int passwordCost = PasswordHasher.MIN_ITERATIONS;
+
+    public BulkImporter(UserService userService, CourseService courseService) {
+        this.userService = userService;
+        this.courseService = courseService;
+    }
+
+    /**
+     * Import users from CSV; the reader is consumed but not closed
+     */
+    public ImportReport importUsers(Reader input) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        CsvReader csv = new CsvReader(input);
+
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            report.addError(1, "", "File is empty");
+            return report;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase().replace(' ', '_'), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                report.addError(csv.getRecordLineNumber(), "", "Missing required column: " + required);
+                return report;
+            }
+        }
+
+        Set<String> seenEmails = new HashSet<>();
+        List<UserService.Registration> batch = new ArrayList<>(batchSize);
+        List<List<Course>> batchCourses = new ArrayList<>(batchSize);
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            report.rowsRead++;
+            int line = csv.getRecordLineNumber();
+            Row row = new Row(record, columns);
+            String email = row.get("email");
+
+            String error = validate(row, seenEmails);
+            List<Course> courses = new ArrayList<>();
+            if (error == null) {
+                error = resolveCourses(row, courses);
+            }
+            if (error != null) {
+                report.addError(line, email, error);
+                continue;
+            }
+
+            batch.add(toRegistration(row));
+            batchCourses.add(courses);
+            if (batch.size() >= batchSize) {
+                commit(batch, batchCourses, report);
+            }
+        }
+        if (!batch.isEmpty()) {
+            commit(batch, batchCourses, report);
+        }
+
+        report.elapsedMillis = System.currentTimeMillis() - start;
+        log.info("✓ Bulk import finished", "report", report.toString());
+        return report;
+    }
+
+    private String validate(Row row, Set<String> seenEmails) {
+        String name = row.get("name");
+        String email = row.get("email");
+        String error = ValidationUtil.validateRegistrationInput(name, email, row.get("password"));
+        if (error != null) {
+            return error;
+        }
+
+        String role = row.get("role").toUpperCase();
+        if (role.equals("TEACHER")) {
+            if (row.get("department").isEmpty() || row.get("employee_id").isEmpty()) {
+                return "Teachers need department and employee_id";
+            }
+            if (!row.get("courses").isEmpty()) {
+                return "Only students can be enrolled in courses";
+            }
+        } else if (role.equals("STUDENT")) {
+            if (row.get("student_id").isEmpty() || row.get("program").isEmpty()) {
+                return "Students need student_id and program";
+            }
+            try {
+                if (Integer.parseInt(row.get("semester")) < 1) {
+                    return "Semester must be at least 1";
+                }
+            } catch (NumberFormatException e) {
+                return "Semester must be a number";
+            }
+        } else {
+            return "Role must be TEACHER or STUDENT";
+        }
+
+        String key = email.trim().toLowerCase();
+        if (userService.findUserByEmail(email) != null || !seenEmails.add(key)) {
+            return "Email already registered";
+        }
+        return null;
+    }
+
+    private String resolveCourses(Row row, List<Course> courses) {
+        String codes = row.get("courses");
+        if (codes.isEmpty()) {
+            return null;
+        }
+        for (String code : codes.split(";")) {
+            if (code.isBlank()) {
+                continue;
+            }
+            Course course = courseService.findCourseByCode(code);
+            if (course == null) {
+                return "Unknown course code: " + code.trim();
+            }
+            courses.add(course);
+        }
+        return null;
+    }
+
+    private UserService.Registration toRegistration(Row row) {
+        String name = row.get("name").trim();
+        String email = row.get("email").trim();
+        String password = row.get("password");
+        if (row.get("role").equalsIgnoreCase("TEACHER")) {
+            return UserService.Registration.teacher(name, email, password,
+                    row.get("department").trim(), row.get("employee_id").trim());
+        }
+        return UserService.Registration.student(name, email, password,
+                row.get("student_id").trim(), row.get("program").trim(), Integer.parseInt(row.get("semester")));
+    }
+
+    private void commit(List<UserService.Registration> batch, List<List<Course>> batchCourses, ImportReport report) {
+        List<User> created = userService.registerUsers(batch, passwordCost);
+        // One course file write per batch rather than one per enrollment
+        Map<Student, List<Course>> enrollments = new LinkedHashMap<>();
+        for (int i = 0; i < created.size(); i++) {
+            User user = created.get(i);
+            if (user instanceof Student student && !batchCourses.get(i).isEmpty()) {
+                enrollments.put(student, batchCourses.get(i));
+            }
+        }
+        if (!enrollments.isEmpty()) {
+            report.enrollments += courseService.enrollStudents(enrollments);
+        }
+        report.usersImported += created.size();
+        report.batches++;
+        batch.clear();
+        batchCourses.clear();
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void setPasswordCost(int passwordCost) {
+        this.passwordCost = Math.max(PasswordHasher.MIN_ITERATIONS, passwordCost);
+    }
+
+    /**
+     * CSV row with lookup by header name; missing columns read as ""
+     */
+    private static class Row {
+        private final List<String> values;
+        private final Map<String, Integer> columns;
+
+        Row(List<String> values, Map<String, Integer> columns) {
+            this.values = values;
+            this.columns = columns;
+        }
+
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return "";
+            }
+            return values.get(index);
+        }
+    }
+
+    /**
+     * Import outcome and per-row errors
+     */
+    public static class ImportReport {
+        public int rowsRead;
+        public int usersImported;
+        public int enrollments;
+        public int batches;
+        public int errorCount;
+        public long elapsedMillis;
+        private final List<String[]> errors = new ArrayList<>();
+
+        void addError(int line, String email, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new String[]{String.valueOf(line), email, message});
+            }
+        }
+
+        public boolean hasErrors() {
+            return errorCount > 0;
+        }
+
+        /**
+         * Write the rejected rows as CSV: line,email,error
+         */
+        public void writeErrorReport(Writer out) throws IOException {
+            out.write("line,email,error\n");
+            for (String[] error : errors) {
+                out.write(error[0] + "," + quote(error[1]) + "," + quote(error[2]) + "\n");
+            }
+            out.flush();
+        }
+
+        private static String quote(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("rows=%d, imported=%d, enrollments=%d, errors=%d, batches=%d, %d ms",
+                    rowsRead, usersImported, enrollments, errorCount, batches, elapsedMillis);
+        }
+    }
+}
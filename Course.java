@@ -3,7 +3,9 @@ package org.app.model;
 import com.fasterxml.jackson.annotation.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Objects;
 
 /**
@@ -27,6 +29,8 @@ public class Course {
     @JsonIgnore
     private List<Student> enrolledStudents;
     @JsonIgnore
+    private Set<String> enrolledStudentIds;
+    @JsonIgnore
     private List<Assignment> assignments;
     @JsonProperty("createdAt")
     private LocalDateTime createdAt;
@@ -36,6 +40,7 @@ public class Course {
     // Default constructor for Jackson
     public Course() {
         this.enrolledStudents = new ArrayList<>();
+        this.enrolledStudentIds = new HashSet<>();
         this.assignments = new ArrayList<>();
         this.isActive = true;
         this.createdAt = LocalDateTime.now();
@@ -54,12 +59,20 @@ public class Course {
     }
 
     public void enrollStudent(Student student) {
-        if (!enrolledStudents.contains(student)) {
+        if (enrolledStudentIds.add(student.getUserId())) {
             enrolledStudents.add(student);
             student.enrollInCourse(this);
         }
     }
 
+    public boolean isStudentEnrolled(Student student) {
+        return enrolledStudentIds.contains(student.getUserId());
+    }
+
+    public int getEnrolledStudentCount() {
+        return enrolledStudents.size();
+    }
+
     public void addAssignment(Assignment assignment) {
         if (!assignments.contains(assignment)) {
             assignments.add(assignment);
@@ -0,0 +1,133 @@
+package org.app.test;
+
+import org.app.model.Course;
+import org.app.model.Teacher;
+import org.app.service.CourseCatalogIndex;
+
+import java.util.*;
+
+/**
+ * Measures CourseCatalogIndex autocomplete latency on a synthetic catalog. Each query is "typed"
+ * one character at a time and every keystroke is timed, as the enrollment dialog would search;
+ * a third of the queries carry a typo. A substring scan over the whole catalog is timed as the
+ * baseline the index replaces.
+ * Usage: CourseCatalogBenchmark [courses] [queries]
+ */
+public class CourseCatalogBenchmark {
+    private static final String[] DEPARTMENTS = {"CSE", "EEE", "BBA", "ENG", "MAT", "PHY", "CHE", "ECO", "LAW", "DSC"};
+    private static final String[] WORDS = {"introduction", "advanced", "principles", "data", "structures",
+            "algorithms", "database", "systems", "operating", "networks", "computer", "architecture",
+            "digital", "logic", "circuits", "signals", "control", "power", "electronics", "marketing",
+            "finance", "accounting", "management", "organizational", "behaviour", "english", "literature",
+            "composition", "calculus", "linear", "algebra", "statistics", "probability", "discrete",
+            "mathematics", "physics", "mechanics", "thermodynamics", "chemistry", "organic", "economics",
+            "micro", "macro", "international", "law", "contract", "constitutional", "software",
+            "engineering", "artificial", "intelligence", "machine", "learning", "graphics", "compiler",
+            "design", "theory", "analysis", "numerical", "methods", "security", "cryptography"};
+
+    public static void main(String[] args) {
+        int courseCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        Random random = new Random(3);
+        Teacher teacher = new Teacher("T-1", "Benchmark Teacher", "teacher@bup.edu.bd", "", "CSE", "Lecturer");
+        List<Course> catalog = new ArrayList<>(courseCount);
+        CourseCatalogIndex index = new CourseCatalogIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < courseCount; i++) {
+            String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+            StringBuilder name = new StringBuilder();
+            for (int w = 2 + random.nextInt(3); w > 0; w--) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                name.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1)).append(' ');
+            }
+            Course course = new Course(String.format("CRS-%06d", i), name.toString().trim(),
+                    department + (100 + i % 900) + (i >= 900 ? "-" + i / 900 : ""), department, 3, "Fall 2026", teacher);
+            catalog.add(course);
+            index.add(course);
+        }
+        System.out.println("=== Course Catalog Benchmark ===");
+        System.out.println(String.format("%,d courses indexed in %.0f ms", courseCount, (System.nanoTime() - start) / 1e6));
+
+        // Queries: a code, a name word, or two name words, a third of them with one typo
+        List<String> queries = new ArrayList<>(queryCount);
+        for (int q = 0; q < queryCount; q++) {
+            Course course = catalog.get(random.nextInt(catalog.size()));
+            String[] nameWords = course.getCourseName().toLowerCase().split(" ");
+            String query;
+            switch (q % 3) {
+                case 0:
+                    query = course.getCourseCode().toLowerCase();
+                    break;
+                case 1:
+                    query = nameWords[random.nextInt(nameWords.length)];
+                    break;
+                default:
+                    query = nameWords[0] + " " + nameWords[1];
+            }
+            queries.add(q % 9 < 3 ? typo(query, random) : query);
+        }
+
+        for (int run = 0; run < 2; run++) { // First run warms up the JIT
+            List<Long> nanos = new ArrayList<>();
+            int empty = 0;
+            for (String query : queries) {
+                for (int length = 1; length <= query.length(); length++) {
+                    String typed = query.substring(0, length);
+                    long queryStart = System.nanoTime();
+                    List<Course> matches = index.search(typed, 10);
+                    nanos.add(System.nanoTime() - queryStart);
+                    if (length == query.length() && matches.isEmpty()) {
+                        empty++;
+                    }
+                }
+            }
+            Collections.sort(nanos);
+            System.out.println(String.format("run %d: %,d keystrokes, p50 %.3f ms, p99 %.3f ms, max %.2f ms, "
+                            + "%d/%d full queries without matches", run + 1, nanos.size(),
+                    nanos.get(nanos.size() / 2) / 1e6, nanos.get(nanos.size() * 99 / 100) / 1e6,
+                    nanos.get(nanos.size() - 1) / 1e6, empty, queries.size()));
+        }
+
+        // Baseline: copy the catalog and scan it for a substring on every keystroke
+        int sample = Math.min(queries.size(), 200);
+        int keystrokes = 0;
+        start = System.nanoTime();
+        for (String query : queries.subList(0, sample)) {
+            for (int length = 1; length <= query.length(); length++) {
+                String typed = query.substring(0, length);
+                new ArrayList<>(catalog).stream()
+                        .filter(course -> course.getCourseCode().toLowerCase().contains(typed)
+                                || course.getCourseName().toLowerCase().contains(typed))
+                        .limit(10)
+                        .count();
+                keystrokes++;
+            }
+        }
+        System.out.println(String.format("substring scan: %.3f ms per keystroke (no typo tolerance)",
+                (System.nanoTime() - start) / 1e6 / keystrokes));
+    }
+
+    /**
+     * Replace, drop or swap one character away from the start of the query
+     */
+    private static String typo(String query, Random random) {
+        if (query.length() < 4) {
+            return query;
+        }
+        int position = 2 + random.nextInt(query.length() - 3);
+        char[] chars = query.toCharArray();
+        switch (random.nextInt(3)) {
+            case 0:
+                chars[position] = (char) ('a' + random.nextInt(26));
+                return new String(chars);
+            case 1:
+                return query.substring(0, position) + query.substring(position + 1);
+            default:
+                char swapped = chars[position];
+                chars[position] = chars[position + 1];
+                chars[position + 1] = swapped;
+                return new String(chars);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package org.app.service;
+
+import org.app.model.Course;
+
+import java.util.*;
+
+/**
+ * Course catalog autocomplete index for BUP UCAM Assignment Tracker
+ * A character trie over the words of every course code and name. The code is indexed both whole
+ * ("cse201") and in parts ("cse", "201"), so "CSE 201", "cse201" and "201" all find it.
+ *
+ * Each query word is matched as a prefix of an indexed word, tolerating typos: the trie is walked
+ * with one row of a Damerau-Levenshtein table per level, and branches whose row minimum exceeds
+ * the allowed edits are skipped, so a lookup only visits the few paths near the query. Short words
+ * must match exactly, longer ones may be one or two edits off. A course must match every query
+ * word; whole-word matches score above prefixes, code matches above name matches, and each edit
+ * costs a share of the score.
+ *
+ * Courses are added incrementally; all methods are synchronized.
+ */
+public class CourseCatalogIndex {
+    private static final float CODE_WEIGHT = 1.5f;
+    private static final float EDIT_PENALTY = 0.3f;
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private final List<Course> courses = new ArrayList<>();
+    private final Set<String> courseIds = new HashSet<>();
+
+    // Per-query scratch, indexed by course ordinal and reused across queries
+    private int[] tokenStamp = new int[64];
+    private float[] tokenScore = new float[64];
+    private int[] matchedStamp = new int[64];
+    private int[] matchedWords = new int[64];
+    private float[] totalScore = new float[64];
+    private int[] touched = new int[64];
+    private int touchedCount;
+    private int tokenGeneration;
+    private int queryGeneration;
+    private int[][] rows = new int[0][];
+
+    /**
+     * Add a course; courses already in the index are ignored
+     */
+    public synchronized void add(Course course) {
+        if (!courseIds.add(course.getCourseId())) {
+            return;
+        }
+        int ordinal = courses.size();
+        courses.add(course);
+        ensureCapacity(ordinal + 1);
+
+        String code = course.getCourseCode() == null ? "" : course.getCourseCode();
+        Set<String> codeWords = new LinkedHashSet<>(words(code, true));
+        String joined = normalize(code).replaceAll("[^a-z0-9]", "");
+        if (!joined.isEmpty()) {
+            codeWords.add(joined);
+        }
+        for (String word : codeWords) {
+            insert(word, ordinal << 1 | 1);
+        }
+        for (String word : new LinkedHashSet<>(words(course.getCourseName(), false))) {
+            if (!codeWords.contains(word)) {
+                insert(word, ordinal << 1);
+            }
+        }
+    }
+
+    /**
+     * Best matches for what has been typed so far, best first; a blank query matches nothing
+     */
+    public synchronized List<Course> search(String query, int limit) {
+        List<String> queryWords = words(query, false);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        queryGeneration++;
+        for (int word = 0; word < queryWords.size(); word++) {
+            char[] chars = queryWords.get(word).toCharArray();
+            tokenGeneration++;
+            touchedCount = 0;
+            match(chars, maxEdits(chars.length));
+            int survivors = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int ordinal = touched[i];
+                if (word == 0) {
+                    matchedStamp[ordinal] = queryGeneration;
+                    matchedWords[ordinal] = 1;
+                    totalScore[ordinal] = tokenScore[ordinal];
+                } else if (matchedStamp[ordinal] == queryGeneration && matchedWords[ordinal] == word) {
+                    matchedWords[ordinal] = word + 1;
+                    totalScore[ordinal] += tokenScore[ordinal];
+                } else {
+                    continue;
+                }
+                touched[survivors++] = ordinal;
+            }
+            touchedCount = survivors;
+            if (survivors == 0) {
+                return new ArrayList<>();
+            }
+        }
+        return top(limit);
+    }
+
+    public synchronized int size() {
+        return courses.size();
+    }
+
+    // ---- Trie ----
+
+    private void insert(String word, int posting) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childFor(word.charAt(i));
+        }
+        node.addPosting(posting);
+    }
+
+    /**
+     * Walk the trie with the query's edit-distance rows, scoring every course under a matching prefix
+     */
+    private void match(char[] query, int maxEdits) {
+        int width = query.length + 1;
+        if (rows.length == 0 || rows[0].length < width) {
+            rows = new int[Math.max(rows.length, 8)][width];
+        }
+        int[] first = rows[0];
+        for (int j = 0; j < width; j++) {
+            first[j] = j;
+        }
+        for (int i = 0; i < root.size; i++) {
+            walk(root.children[i], root.keys[i], (char) 0, 1, query, maxEdits);
+        }
+    }
+
+    private void walk(Node node, char key, char previousKey, int depth, char[] query, int maxEdits) {
+        if (depth + 1 > rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+        }
+        if (rows[depth] == null || rows[depth].length < query.length + 1) {
+            rows[depth] = new int[rows[0].length];
+        }
+        int[] row = rows[depth];
+        int[] above = rows[depth - 1];
+        int[] twoAbove = depth >= 2 ? rows[depth - 2] : null;
+
+        row[0] = depth;
+        int rowMinimum = row[0];
+        for (int j = 1; j <= query.length; j++) {
+            int cost = Math.min(above[j] + 1, row[j - 1] + 1);
+            cost = Math.min(cost, above[j - 1] + (query[j - 1] == key ? 0 : 1));
+            if (twoAbove != null && j > 1 && query[j - 1] == previousKey && query[j - 2] == key) {
+                cost = Math.min(cost, twoAbove[j - 2] + 1); // Swapped neighbours count as one edit
+            }
+            row[j] = cost;
+            rowMinimum = Math.min(rowMinimum, cost);
+        }
+        if (rowMinimum > maxEdits) {
+            return;
+        }
+
+        int edits = row[query.length];
+        if (edits <= maxEdits) {
+            // The whole query matches this prefix: everything below it is a candidate
+            float penalty = 1 - EDIT_PENALTY * edits;
+            collect(node, depth, depth, query.length, penalty);
+            if (rowMinimum >= edits) {
+                return; // Nothing deeper can match with fewer edits
+            }
+        }
+        for (int i = 0; i < node.size; i++) {
+            walk(node.children[i], node.keys[i], key, depth + 1, query, maxEdits);
+        }
+    }
+
+    private void collect(Node node, int prefixLength, int wordLength, int queryLength, float penalty) {
+        if (node.postings != null) {
+            // Whole words score 1, prefixes less the more of the word is still untyped
+            float base = wordLength == prefixLength ? 1f
+                    : 0.5f + 0.4f * Math.min(queryLength, prefixLength) / wordLength;
+            for (int i = 1; i <= node.postings[0]; i++) {
+                int posting = node.postings[i];
+                float score = base * penalty * ((posting & 1) != 0 ? CODE_WEIGHT : 1f);
+                record(posting >>> 1, score);
+            }
+        }
+        for (int i = 0; i < node.size; i++) {
+            collect(node.children[i], prefixLength, wordLength + 1, queryLength, penalty);
+        }
+    }
+
+    private void record(int ordinal, float score) {
+        if (tokenStamp[ordinal] != tokenGeneration) {
+            tokenStamp[ordinal] = tokenGeneration;
+            tokenScore[ordinal] = score;
+            touched[touchedCount++] = ordinal;
+        } else if (score > tokenScore[ordinal]) {
+            tokenScore[ordinal] = score;
+        }
+    }
+
+    /**
+     * The best-scoring surviving candidates, ties broken by course code
+     */
+    private List<Course> top(int limit) {
+        int[] best = new int[Math.min(limit, touchedCount)];
+        int count = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int ordinal = touched[i];
+            if (count == best.length && !ranksAbove(ordinal, best[count - 1])) {
+                continue;
+            }
+            int position = count < best.length ? count++ : count - 1;
+            while (position > 0 && ranksAbove(ordinal, best[position - 1])) {
+                best[position] = best[position - 1];
+                position--;
+            }
+            best[position] = ordinal;
+        }
+        List<Course> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(courses.get(best[i]));
+        }
+        return result;
+    }
+
+    private boolean ranksAbove(int ordinal, int other) {
+        if (totalScore[ordinal] != totalScore[other]) {
+            return totalScore[ordinal] > totalScore[other];
+        }
+        return courses.get(ordinal).getCourseCode().compareToIgnoreCase(courses.get(other).getCourseCode()) < 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= tokenStamp.length) {
+            return;
+        }
+        int length = Math.max(capacity, tokenStamp.length * 2);
+        tokenStamp = Arrays.copyOf(tokenStamp, length);
+        tokenScore = Arrays.copyOf(tokenScore, length);
+        matchedStamp = Arrays.copyOf(matchedStamp, length);
+        matchedWords = Arrays.copyOf(matchedWords, length);
+        totalScore = Arrays.copyOf(totalScore, length);
+        touched = Arrays.copyOf(touched, length);
+    }
+
+    /**
+     * Short words must be typed exactly; longer ones may have one or two typos
+     */
+    private static int maxEdits(int length) {
+        return length <= 2 ? 0 : length <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Lower-case letter/digit runs; splitDigits also breaks "cse201" into "cse" and "201"
+     */
+    private static List<String> words(String text, boolean splitDigits) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            boolean boundary = wordChar && start >= 0 && splitDigits
+                    && Character.isDigit(normalized.charAt(i)) != Character.isDigit(normalized.charAt(i - 1));
+            if (start >= 0 && (!wordChar || boundary)) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+            if (wordChar && start < 0) {
+                start = i;
+            }
+        }
+        return words;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int size;
+        private int[] postings; // Size in slot 0, then (ordinal << 1 | isCode)
+
+        private Node childFor(char key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            if (size == keys.length) {
+                int length = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, length);
+                children = Arrays.copyOf(children, length);
+            }
+            Node child = new Node();
+            keys[size] = key;
+            children[size++] = child;
+            return child;
+        }
+
+        private void addPosting(int posting) {
+            if (postings == null) {
+                postings = new int[]{0, 0};
+            } else if (postings[0] + 1 == postings.length) {
+                postings = Arrays.copyOf(postings, postings.length * 2);
+            }
+            postings[++postings[0]] = posting;
+        }
+    }
+}
@@ -1,21 +1,110 @@
 package org.app.service;
 
 import org.app.model.*;
+import org.app.util.DataPersistence;
+import org.app.util.Log;
+import org.app.util.Metrics;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
  * Course Management Service for BUP UCAM Assignment Tracker
- * Simplified to avoid persistence issues - courses will be created fresh each session
+ * Without a DataPersistence courses live in memory and are created fresh each session; with one,
+ * courses and enrollments are saved after every change and reloaded on startup, linked to the
+ * teachers and students UserService has loaded.
  */
 public class CourseService {
-    private Map<String, Course> courses;
+    private static final Log log = Log.get(CourseService.class);
+
+    private static final Metrics.Timer CREATE_COURSE = timer("createCourse");
+    private static final Metrics.Timer ENROLL_STUDENT = timer("enrollStudent");
+    private static final Metrics.Timer ENROLL_STUDENTS = timer("enrollStudents");
+    private static final Metrics.Timer GET_COURSES_BY_DEPARTMENT = timer("getCoursesByDepartment");
+    private static final Metrics.Timer GET_COURSES_BY_SEMESTER = timer("getCoursesBySemester");
+    private static final Metrics.Timer GET_COURSES_BY_TEACHER = timer("getCoursesByTeacher");
+    private static final Metrics.Timer GET_COURSES_FOR_STUDENT = timer("getCoursesForStudent");
+    private static final Metrics.Timer GET_COURSE = timer("getCourse");
+    private static final Metrics.Timer GET_ALL_COURSES = timer("getAllCourses");
+    private static final Metrics.Timer GET_COURSES = timer("getCourses");
+    private static final Metrics.Timer SEARCH_CATALOG = timer("searchCatalog");
+    private static final Metrics.Timer FIND_COURSE_BY_CODE = timer("findCourseByCode");
+
+    private NavigableMap<String, Course> courses;
+    private Map<String, Course> coursesByCode;
     private int courseCounter;
+    private final CourseCatalogIndex catalog = new CourseCatalogIndex();
+    private DataPersistence dataPersistence;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Callbacks for components that keep derived state (search indexes) in sync
+     */
+    public interface ChangeListener {
+        default void onCourseCreated(Course course) {}
+        /**
+         * Called after the enrollment is saved; not for students who were already enrolled
+         */
+        default void onStudentEnrolled(Course course, Student student) {}
+    }
 
     public CourseService() {
-        this.courses = new HashMap<>();
+        this.courses = new TreeMap<>(Page.ID_ORDER);
+        this.coursesByCode = new HashMap<>();
         this.courseCounter = 1;
-        System.out.println("✓ CourseService initialized (in-memory storage)");
+        Metrics.gauge("app_courses", "Courses in memory", () -> courses.size());
+        log.debug("✓ CourseService initialized (in-memory storage)");
+    }
+
+    public CourseService(DataPersistence dataPersistence, UserService userService) {
+        this(dataPersistence, userService, dataPersistence.loadCourses());
+    }
+
+    /**
+     * Link course records that were already read (StartupOrchestrator parses the file in parallel
+     * with the user store) to the teachers and students UserService holds
+     */
+    public CourseService(DataPersistence dataPersistence, UserService userService,
+                         DataPersistence.CourseData courseData) {
+        this.courses = new TreeMap<>(Page.ID_ORDER);
+        this.coursesByCode = new HashMap<>();
+        this.dataPersistence = dataPersistence;
+        loadData(userService, courseData);
+        Metrics.gauge("app_courses", "Courses in memory", () -> courses.size());
+    }
+
+    private void loadData(UserService userService, DataPersistence.CourseData courseData) {
+        this.courseCounter = courseData.courseCounter;
+        int skipped = 0;
+        for (DataPersistence.CourseRecord record : courseData.courses) {
+            Teacher instructor = userService.getTeacher(record.instructorId);
+            if (instructor == null) {
+                skipped++;
+                continue;
+            }
+            Course course = record.toCourse(instructor);
+            register(course);
+            for (String studentId : record.enrolledStudentIds) {
+                Student student = userService.getStudent(studentId);
+                if (student != null) {
+                    course.enrollStudent(student);
+                }
+            }
+        }
+        log.info("✓ Loaded courses", "courses", courses.size(), "skipped", skipped);
+    }
+
+    private void register(Course course) {
+        courses.put(course.getCourseId(), course);
+        coursesByCode.putIfAbsent(course.getCourseCode().trim().toUpperCase(), course);
+        catalog.add(course);
+        course.getInstructor().addCourse(course);
+    }
+
+    private void saveData() {
+        if (dataPersistence != null) {
+            dataPersistence.saveCourses(courses, courseCounter);
+        }
     }
 
     /**
@@ -23,64 +112,143 @@ public class CourseService {
      */
     public Course createCourse(String courseName, String courseCode, String department,
                                int creditHours, String semester, Teacher instructor) {
-        String courseId = "CRS-" + String.format("%04d", courseCounter++);
-        Course course = new Course(courseId, courseName, courseCode, department,
-                creditHours, semester, instructor);
+        long start = System.nanoTime();
+        try {
+            String courseId = "CRS-" + String.format("%04d", courseCounter++);
+            Course course = new Course(courseId, courseName, courseCode, department,
+                    creditHours, semester, instructor);
 
-        courses.put(courseId, course);
-        instructor.addCourse(course);
+            register(course);
+            saveData();
+            for (ChangeListener listener : listeners) {
+                listener.onCourseCreated(course);
+            }
 
-        System.out.println("✓ Course created successfully: " + courseName);
-        return course;
+            log.info("✓ Course created successfully", "name", courseName);
+            return course;
+        } finally {
+            CREATE_COURSE.record(start);
+        }
     }
 
     /**
      * Enroll student in course
      */
     public void enrollStudent(String courseId, Student student) {
-        Course course = courses.get(courseId);
-        if (course == null) {
-            throw new IllegalArgumentException("Course not found");
+        long start = System.nanoTime();
+        try {
+            Course course = courses.get(courseId);
+            if (course == null) {
+                throw new IllegalArgumentException("Course not found");
+            }
+
+            boolean enrolled = !course.isStudentEnrolled(student);
+            course.enrollStudent(student);
+            saveData();
+            if (enrolled) {
+                for (ChangeListener listener : listeners) {
+                    listener.onStudentEnrolled(course, student);
+                }
+            }
+            log.info("✓ Student enrolled", "student", student.getName(), "course", course.getCourseName());
+        } finally {
+            ENROLL_STUDENT.record(start);
         }
+    }
+
+    /**
+     * Enroll many students with one save; every course is checked before anything changes.
+     * Returns the number of enrollments made (students already enrolled are not counted)
+     */
+    public int enrollStudents(Map<Student, ? extends Collection<Course>> enrollments) {
+        long start = System.nanoTime();
+        try {
+            for (Collection<Course> studentCourses : enrollments.values()) {
+                for (Course course : studentCourses) {
+                    if (courses.get(course.getCourseId()) != course) {
+                        throw new IllegalArgumentException("Course not found: " + course.getCourseCode());
+                    }
+                }
+            }
 
-        course.enrollStudent(student);
-        System.out.println("✓ Student enrolled: " + student.getName() + " in " + course.getCourseName());
+            List<Map.Entry<Course, Student>> enrolled = new ArrayList<>();
+            for (Map.Entry<Student, ? extends Collection<Course>> entry : enrollments.entrySet()) {
+                for (Course course : entry.getValue()) {
+                    if (!course.isStudentEnrolled(entry.getKey())) {
+                        course.enrollStudent(entry.getKey());
+                        enrolled.add(Map.entry(course, entry.getKey()));
+                    }
+                }
+            }
+            if (!enrolled.isEmpty()) {
+                saveData();
+            }
+            for (Map.Entry<Course, Student> enrollment : enrolled) {
+                for (ChangeListener listener : listeners) {
+                    listener.onStudentEnrolled(enrollment.getKey(), enrollment.getValue());
+                }
+            }
+            log.info("✓ Students enrolled", "students", enrollments.size(), "enrollments", enrolled.size());
+            return enrolled.size();
+        } finally {
+            ENROLL_STUDENTS.record(start);
+        }
     }
 
     /**
      * Get courses by department
      */
     public List<Course> getCoursesByDepartment(String department) {
-        return courses.values().stream()
-                .filter(course -> course.getDepartment().equalsIgnoreCase(department))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return courses.values().stream()
+                    .filter(course -> course.getDepartment().equalsIgnoreCase(department))
+                    .collect(Collectors.toList());
+        } finally {
+            GET_COURSES_BY_DEPARTMENT.record(start);
+        }
     }
 
     /**
      * Get courses by semester
      */
     public List<Course> getCoursesBySemester(String semester) {
-        return courses.values().stream()
-                .filter(course -> course.getSemester().equalsIgnoreCase(semester))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return courses.values().stream()
+                    .filter(course -> course.getSemester().equalsIgnoreCase(semester))
+                    .collect(Collectors.toList());
+        } finally {
+            GET_COURSES_BY_SEMESTER.record(start);
+        }
     }
 
     /**
      * Get courses taught by teacher
      */
     public List<Course> getCoursesByTeacher(Teacher teacher) {
-        return courses.values().stream()
-                .filter(course -> course.getInstructor().equals(teacher))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return courses.values().stream()
+                    .filter(course -> course.getInstructor().equals(teacher))
+                    .collect(Collectors.toList());
+        } finally {
+            GET_COURSES_BY_TEACHER.record(start);
+        }
     }
 
     /**
      * Get courses for student
      */
     public List<Course> getCoursesForStudent(Student student) {
-        return courses.values().stream()
-                .filter(course -> course.getEnrolledStudents().contains(student))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return courses.values().stream()
+                    .filter(course -> course.isStudentEnrolled(student))
+                    .collect(Collectors.toList());
+        } finally {
+            GET_COURSES_FOR_STUDENT.record(start);
+        }
     }
 
     /**
@@ -94,19 +262,72 @@ public class CourseService {
         System.out.println("Instructor: " + course.getInstructor().getName());
     }
 
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
     // Getters
     public Course getCourse(String courseId) {
-        return courses.get(courseId);
+        long start = System.nanoTime();
+        try {
+            return courses.get(courseId);
+        } finally {
+            GET_COURSE.record(start);
+        }
+    }
+
+    int getCourseCounter() {
+        return courseCounter;
     }
 
     public List<Course> getAllCourses() {
-        return new ArrayList<>(courses.values());
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(courses.values());
+        } finally {
+            GET_ALL_COURSES.record(start);
+        }
+    }
+
+    /**
+     * Get one page of all courses, ordered by course ID
+     */
+    public Page<Course> getCourses(String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return Page.of(courses, cursor, limit);
+        } finally {
+            GET_COURSES.record(start);
+        }
+    }
+
+    /**
+     * Autocomplete over course codes and names, tolerant of prefixes and small typos
+     */
+    public List<Course> searchCatalog(String query, int limit) {
+        long start = System.nanoTime();
+        try {
+            return catalog.search(query, limit);
+        } finally {
+            SEARCH_CATALOG.record(start);
+        }
     }
 
     public Course findCourseByCode(String courseCode) {
-        return courses.values().stream()
-                .filter(course -> course.getCourseCode().equalsIgnoreCase(courseCode))
-                .findFirst()
-                .orElse(null);
+        long start = System.nanoTime();
+        try {
+            return courseCode == null ? null : coursesByCode.get(courseCode.trim().toUpperCase());
+        } finally {
+            FIND_COURSE_BY_CODE.record(start);
+        }
+    }
+
+    private static Metrics.Timer timer(String method) {
+        return Metrics.timer("app_service_duration_seconds", "Service method latency",
+                "service", "CourseService", "method", method);
     }
-}
\ No newline at end of file
+}
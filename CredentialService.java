@@ -0,0 +1,104 @@
+package org.app.service;
+
+import org.app.util.PasswordHasher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Credential verification service for BUP UCAM Assignment Tracker
+ * Password hashing is deliberately slow, so it runs on a small bounded pool instead of the
+ * caller's thread. The EDT never blocks on it, and during a login storm at most one hash per
+ * core is in flight; once the queue is full further attempts are rejected immediately.
+ */
+public class CredentialService {
+    public enum Result {
+        MATCH,
+        MATCH_NEEDS_UPGRADE,
+        NO_MATCH
+    }
+
+    private final ThreadPoolExecutor executor;
+    private volatile String dummyHash;
+
+    public CredentialService() {
+        this(Runtime.getRuntime().availableProcessors(), 256);
+    }
+
+    public CredentialService(int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "credential-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Check a password against a stored value, which may be a hash or a legacy plaintext password.
+     * Fails with RejectedExecutionException when the verification queue is full.
+     */
+    public CompletableFuture<Result> verify(String password, String stored) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (stored == null || password == null) {
+                return Result.NO_MATCH;
+            }
+            if (PasswordHasher.isHashed(stored)) {
+                if (!PasswordHasher.verify(password, stored)) {
+                    return Result.NO_MATCH;
+                }
+                return PasswordHasher.needsRehash(stored) ? Result.MATCH_NEEDS_UPGRADE : Result.MATCH;
+            }
+            boolean matches = MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+                    password.getBytes(StandardCharsets.UTF_8));
+            return matches ? Result.MATCH_NEEDS_UPGRADE : Result.NO_MATCH;
+        }, executor);
+    }
+
+    /**
+     * Take as long as verify does for a real account, for an email nobody is registered with;
+     * always NO_MATCH. Fails with RejectedExecutionException when the verification queue is full.
+     */
+    public CompletableFuture<Result> verifyUnknownAccount(String password) {
+        return CompletableFuture.supplyAsync(() -> {
+            PasswordHasher.verify(password == null ? "" : password, dummyHash());
+            return Result.NO_MATCH;
+        }, executor);
+    }
+
+    // Made on first use, and again if the hashing cost has been raised since
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null || PasswordHasher.needsRehash(hash)) {
+            hash = PasswordHasher.hash(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Hash a password on the credential pool (registration from the EDT).
+     * Fails with RejectedExecutionException when the queue is full.
+     */
+    public CompletableFuture<String> hash(String password) {
+        return CompletableFuture.supplyAsync(() -> PasswordHasher.hash(password), executor);
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,144 @@
+package org.app.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV reader for BUP UCAM Assignment Tracker
+ * Reads one record at a time (RFC 4180 quoting, embedded delimiters and newlines, CRLF or LF),
+ * so arbitrarily large files are processed with memory proportional to a single row.
+ */
+public class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(64);
+    private int position;
+    private int limit;
+    private int lineNumber = 1;
+    private int recordLineNumber;
+
+    public CsvReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Read the next record, or null at end of input. Blank lines are skipped.
+     */
+    public List<String> readRecord() throws IOException {
+        while (true) {
+            int first = peek();
+            if (first == -1) {
+                return null;
+            }
+            if (first == '\n' || first == '\r') {
+                consumeLineBreak();
+                continue;
+            }
+            break;
+        }
+
+        recordLineNumber = lineNumber;
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            int c = next();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+                }
+                record.add(field.toString());
+                return record;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        next();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == delimiter) {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    next();
+                }
+                lineNumber++;
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+                fieldStart = false;
+            }
+        }
+    }
+
+    /**
+     * Line on which the most recently returned record started (1-based)
+     */
+    public int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void consumeLineBreak() throws IOException {
+        int c = next();
+        if (c == '\r' && peek() == '\n') {
+            next();
+        }
+        lineNumber++;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
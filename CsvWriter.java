@@ -0,0 +1,76 @@
+package org.app.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Streaming CSV writer for BUP UCAM Assignment Tracker
+ * Counterpart to CsvReader: writes one record at a time with RFC 4180 quoting, so output of any
+ * size is produced without holding more than the current row. The writer is flushed but never
+ * closed; that stays with the caller.
+ */
+public class CsvWriter {
+    private final Writer writer;
+    private final char delimiter;
+
+    public CsvWriter(Writer writer) {
+        this(writer, ',');
+    }
+
+    public CsvWriter(Writer writer, char delimiter) {
+        this.writer = writer;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Write one record; null cells are written as empty fields
+     */
+    public void writeRecord(List<?> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            Object cell = cells.get(i);
+            if (cell != null) {
+                writeField(cell.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Write an empty line (CsvReader skips these, so they can separate sections)
+     */
+    public void writeBlankLine() throws IOException {
+        writer.write("\r\n");
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
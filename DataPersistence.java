@@ -1,43 +1,58 @@
 package org.app.util;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.app.model.*;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.*;
+import java.time.LocalDateTime;
+import java.util.*;
 
 /**
  * Data persistence utility for BUP UCAM Assignment Tracker
- * Handles saving and loading application data to/from JSON files
+ * Handles saving and loading application data to/from JSON files. Courses, assignments and
+ * submissions are stored as flat records that refer to each other (and to users) by ID, so the
+ * object graph is never serialized recursively and each entity is written exactly once; the
+ * services relink the records when they load them. Reading and writing goes through JsonCodec.
  */
 public class DataPersistence {
+    private static final Log log = Log.get(DataPersistence.class);
+
+    private static final Metrics.Timer SAVE_USERS = timer("saveUsers");
+    private static final Metrics.Timer LOAD_USERS = timer("loadUsers");
+    private static final Metrics.Timer SAVE_COURSES = timer("saveCourses");
+    private static final Metrics.Timer LOAD_COURSES = timer("loadCourses");
+    private static final Metrics.Timer SAVE_ASSIGNMENTS = timer("saveAssignments");
+    private static final Metrics.Timer LOAD_ASSIGNMENTS = timer("loadAssignments");
+    private static final Metrics.Counter ERRORS = Metrics.counter("app_persistence_errors_total",
+            "Loads and saves that failed", "store", "DataPersistence");
+
     private static final String DATA_DIR = "data";
-    private static final String USERS_FILE = DATA_DIR + "/users.json";
-    private static final String COURSES_FILE = DATA_DIR + "/courses.json";
-    private static final String ASSIGNMENTS_FILE = DATA_DIR + "/assignments.json";
-    private static final String SUBMISSIONS_FILE = DATA_DIR + "/submissions.json";
-    private static final String COUNTERS_FILE = DATA_DIR + "/counters.json";
 
-    private ObjectMapper objectMapper;
+    private final File dataDirectory;
+    private final File usersFile;
+    private final File coursesFile;
+    private final File assignmentsFile;
 
     public DataPersistence() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this(new File(DATA_DIR));
+    }
+
+    /**
+     * Keep the data files in another directory (benchmarks, generated datasets)
+     */
+    public DataPersistence(File dataDirectory) {
+        this.dataDirectory = dataDirectory;
+        this.usersFile = new File(dataDirectory, "users.json");
+        this.coursesFile = new File(dataDirectory, "courses.json");
+        this.assignmentsFile = new File(dataDirectory, "assignments.json");
 
         // Create data directory if it doesn't exist
         createDataDirectory();
     }
 
     private void createDataDirectory() {
-        File dataDir = new File(DATA_DIR);
-        if (!dataDir.exists()) {
-            dataDir.mkdirs();
+        if (!dataDirectory.exists()) {
+            dataDirectory.mkdirs();
         }
     }
 
@@ -46,6 +61,9 @@ public class DataPersistence {
      */
     public void saveUsers(Map<String, User> users, Map<String, Teacher> teachers,
                           Map<String, Student> students, int userCounter) {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceSave event = new FlightEvents.PersistenceSave();
+        event.begin();
         try {
             UserData userData = new UserData();
             userData.users = users;
@@ -53,9 +71,14 @@ public class DataPersistence {
             userData.students = students;
             userData.userCounter = userCounter;
 
-            objectMapper.writeValue(new File(USERS_FILE), userData);
+            JsonCodec.users().write(usersFile, userData);
         } catch (IOException e) {
-            System.err.println("Error saving users data: " + e.getMessage());
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error saving users data", "error", e.getMessage());
+        } finally {
+            SAVE_USERS.record(start);
+            event.end(usersFile);
         }
     }
 
@@ -63,19 +86,26 @@ public class DataPersistence {
      * Load users data from JSON file
      */
     public UserData loadUsers() {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceLoad event = new FlightEvents.PersistenceLoad();
+        event.begin();
         try {
-            File file = new File(USERS_FILE);
+            File file = usersFile;
             if (file.exists()) {
-                System.out.println("Loading users from: " + file.getAbsolutePath());
-                UserData userData = objectMapper.readValue(file, UserData.class);
-                System.out.println("✓ Loaded " + userData.users.size() + " users successfully");
+                log.debug("Loading users", "file", file.getAbsolutePath());
+                UserData userData = JsonCodec.users().read(file);
+                log.info("✓ Loaded users successfully", "users", userData.users.size());
                 return userData;
             } else {
-                System.out.println("No existing users file found - starting fresh");
+                log.info("No existing users file found - starting fresh");
             }
         } catch (IOException e) {
-            System.err.println("Error loading users data: " + e.getMessage());
-            e.printStackTrace();
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error loading users data", e);
+        } finally {
+            LOAD_USERS.record(start);
+            event.end(usersFile);
         }
         return new UserData(); // Return empty data if file doesn't exist or error occurs
     }
@@ -84,14 +114,23 @@ public class DataPersistence {
      * Save courses data to JSON file
      */
     public void saveCourses(Map<String, Course> courses, int courseCounter) {
-        try {
-            CourseData courseData = new CourseData();
-            courseData.courses = courses;
-            courseData.courseCounter = courseCounter;
+        CourseData courseData = new CourseData();
+        for (Course course : courses.values()) {
+            courseData.courses.add(new CourseRecord(course));
+        }
+        courseData.courseCounter = courseCounter;
+        saveCourses(courseData);
+    }
 
-            objectMapper.writeValue(new File(COURSES_FILE), courseData);
-        } catch (IOException e) {
-            System.err.println("Error saving courses data: " + e.getMessage());
+    /**
+     * Save course records to JSON file (bulk writers build the records directly)
+     */
+    public void saveCourses(CourseData courseData) {
+        long start = System.nanoTime();
+        try {
+            write(JsonCodec.courses(), coursesFile, courseData, "courses");
+        } finally {
+            SAVE_COURSES.record(start);
         }
     }
 
@@ -99,13 +138,21 @@ public class DataPersistence {
      * Load courses data from JSON file
      */
     public CourseData loadCourses() {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceLoad event = new FlightEvents.PersistenceLoad();
+        event.begin();
         try {
-            File file = new File(COURSES_FILE);
+            File file = coursesFile;
             if (file.exists()) {
-                return objectMapper.readValue(file, CourseData.class);
+                return JsonCodec.courses().read(file);
             }
         } catch (IOException e) {
-            System.err.println("Error loading courses data: " + e.getMessage());
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error loading courses data", "error", e.getMessage());
+        } finally {
+            LOAD_COURSES.record(start);
+            event.end(coursesFile);
         }
         return new CourseData();
     }
@@ -115,16 +162,29 @@ public class DataPersistence {
      */
     public void saveAssignments(Map<String, Assignment> assignments, Map<String, Submission> submissions,
                                 int assignmentCounter, int submissionCounter) {
-        try {
-            AssignmentData assignmentData = new AssignmentData();
-            assignmentData.assignments = assignments;
-            assignmentData.submissions = submissions;
-            assignmentData.assignmentCounter = assignmentCounter;
-            assignmentData.submissionCounter = submissionCounter;
+        AssignmentData assignmentData = new AssignmentData();
+        assignmentData.assignments = new ArrayList<>(assignments.size());
+        for (Assignment assignment : assignments.values()) {
+            assignmentData.assignments.add(new AssignmentRecord(assignment));
+        }
+        assignmentData.submissions = new ArrayList<>(submissions.size());
+        for (Submission submission : submissions.values()) {
+            assignmentData.submissions.add(new SubmissionRecord(submission));
+        }
+        assignmentData.assignmentCounter = assignmentCounter;
+        assignmentData.submissionCounter = submissionCounter;
+        saveAssignments(assignmentData);
+    }
 
-            objectMapper.writeValue(new File(ASSIGNMENTS_FILE), assignmentData);
-        } catch (IOException e) {
-            System.err.println("Error saving assignments data: " + e.getMessage());
+    /**
+     * Save assignment and submission records to JSON file (bulk writers build the records directly)
+     */
+    public void saveAssignments(AssignmentData assignmentData) {
+        long start = System.nanoTime();
+        try {
+            write(JsonCodec.assignments(), assignmentsFile, assignmentData, "assignments");
+        } finally {
+            SAVE_ASSIGNMENTS.record(start);
         }
     }
 
@@ -132,22 +192,50 @@ public class DataPersistence {
      * Load assignments data from JSON file
      */
     public AssignmentData loadAssignments() {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceLoad event = new FlightEvents.PersistenceLoad();
+        event.begin();
         try {
-            File file = new File(ASSIGNMENTS_FILE);
+            File file = assignmentsFile;
             if (file.exists()) {
-                return objectMapper.readValue(file, AssignmentData.class);
+                return JsonCodec.assignments().read(file);
             }
         } catch (IOException e) {
-            System.err.println("Error loading assignments data: " + e.getMessage());
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error loading assignments data", "error", e.getMessage());
+        } finally {
+            LOAD_ASSIGNMENTS.record(start);
+            event.end(assignmentsFile);
         }
         return new AssignmentData();
     }
 
+    private <T> void write(JsonCodec.Format<T> format, File file, T data, String description) {
+        FlightEvents.PersistenceSave event = new FlightEvents.PersistenceSave();
+        event.begin();
+        try {
+            Snapshot.invalidate(dataDirectory);
+            format.write(file, data);
+        } catch (IOException e) {
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error saving data", "data", description, "error", e.getMessage());
+        } finally {
+            event.end(file);
+        }
+    }
+
     /**
      * Check if data files exist (indicates if this is first run)
      */
     public boolean dataExists() {
-        return new File(USERS_FILE).exists();
+        return usersFile.exists();
+    }
+
+    private static Metrics.Timer timer(String operation) {
+        return Metrics.timer("app_persistence_duration_seconds", "Load and save latency",
+                "store", "DataPersistence", "operation", operation);
     }
 
     /**
@@ -161,14 +249,167 @@ public class DataPersistence {
     }
 
     public static class CourseData {
-        public Map<String, Course> courses = new HashMap<>();
+        public List<CourseRecord> courses = new ArrayList<>();
         public int courseCounter = 1;
     }
 
     public static class AssignmentData {
-        public Map<String, Assignment> assignments = new HashMap<>();
-        public Map<String, Submission> submissions = new HashMap<>();
+        public List<AssignmentRecord> assignments = new ArrayList<>();
+        public List<SubmissionRecord> submissions = new ArrayList<>();
         public int assignmentCounter = 1;
         public int submissionCounter = 1;
     }
+
+    /**
+     * A course with its instructor and enrolled students as user IDs
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class CourseRecord {
+        public String courseId;
+        public String courseName;
+        public String courseCode;
+        public String department;
+        public int creditHours;
+        public String semester;
+        public String instructorId;
+        public List<String> enrolledStudentIds = new ArrayList<>();
+        public LocalDateTime createdAt;
+        public boolean isActive = true;
+
+        public CourseRecord() {}
+
+        public CourseRecord(Course course) {
+            this.courseId = course.getCourseId();
+            this.courseName = course.getCourseName();
+            this.courseCode = course.getCourseCode();
+            this.department = course.getDepartment();
+            this.creditHours = course.getCreditHours();
+            this.semester = course.getSemester();
+            this.instructorId = course.getInstructor().getUserId();
+            for (Student student : course.getEnrolledStudents()) {
+                enrolledStudentIds.add(student.getUserId());
+            }
+            this.createdAt = course.getCreatedAt();
+            this.isActive = course.isActive();
+        }
+
+        /**
+         * The course without its students; enroll them once they are loaded
+         */
+        public Course toCourse(Teacher instructor) {
+            Course course = new Course(courseId, courseName, courseCode, department, creditHours, semester, instructor);
+            if (createdAt != null) {
+                course.setCreatedAt(createdAt);
+            }
+            course.setActive(isActive);
+            return course;
+        }
+    }
+
+    /**
+     * An assignment with its course and creator as IDs
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class AssignmentRecord {
+        public String assignmentId;
+        public String title;
+        public String description;
+        public String courseId;
+        public String creatorId;
+        public AssignmentType type;
+        public int maxMarks;
+        public LocalDateTime createdAt;
+        public LocalDateTime dueDate;
+        public AssignmentStatus status;
+        public boolean isActive = true;
+        public List<String> attachmentPaths = new ArrayList<>();
+
+        public AssignmentRecord() {}
+
+        public AssignmentRecord(Assignment assignment) {
+            this.assignmentId = assignment.getAssignmentId();
+            this.title = assignment.getTitle();
+            this.description = assignment.getDescription();
+            this.courseId = assignment.getCourse().getCourseId();
+            this.creatorId = assignment.getCreator().getUserId();
+            this.type = assignment.getType();
+            this.maxMarks = assignment.getMaxMarks();
+            this.createdAt = assignment.getCreatedAt();
+            this.dueDate = assignment.getDueDate();
+            this.status = assignment.getStatus();
+            this.isActive = assignment.isActive();
+            this.attachmentPaths = assignment.getAttachmentPaths();
+        }
+
+        public Assignment toAssignment(Course course, Teacher creator) {
+            Assignment assignment = new Assignment(assignmentId, title, description, course, creator, type,
+                    maxMarks, dueDate);
+            if (createdAt != null) {
+                assignment.setCreatedAt(createdAt);
+            }
+            if (status != null) {
+                assignment.setStatus(status);
+            }
+            assignment.setActive(isActive);
+            for (String path : attachmentPaths) {
+                assignment.addAttachment(path);
+            }
+            return assignment;
+        }
+    }
+
+    /**
+     * A submission with its assignment, student and grader as IDs
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class SubmissionRecord {
+        public String submissionId;
+        public String assignmentId;
+        public String studentId;
+        public String content;
+        public List<String> attachmentPaths = new ArrayList<>();
+        public LocalDateTime submittedAt;
+        public SubmissionStatus status;
+        public Integer marks;
+        public String feedback;
+        public LocalDateTime gradedAt;
+        public String gradedById;
+
+        public SubmissionRecord() {}
+
+        public SubmissionRecord(Submission submission) {
+            this.submissionId = submission.getSubmissionId();
+            this.assignmentId = submission.getAssignment().getAssignmentId();
+            this.studentId = submission.getStudent().getUserId();
+            this.content = submission.getContent();
+            this.attachmentPaths = submission.getAttachmentPaths();
+            this.submittedAt = submission.getSubmittedAt();
+            this.status = submission.getStatus();
+            this.marks = submission.getMarks();
+            this.feedback = submission.getFeedback();
+            this.gradedAt = submission.getGradedAt();
+            this.gradedById = submission.getGradedBy() != null ? submission.getGradedBy().getUserId() : null;
+        }
+
+        /**
+         * gradedBy may be null for ungraded submissions
+         */
+        public Submission toSubmission(Assignment assignment, Student student, Teacher gradedBy) {
+            Submission submission = new Submission(submissionId, assignment, student, content);
+            if (submittedAt != null) {
+                submission.setSubmittedAt(submittedAt);
+            }
+            if (status != null) {
+                submission.setStatus(status);
+            }
+            submission.setMarks(marks);
+            submission.setFeedback(feedback);
+            submission.setGradedAt(gradedAt);
+            submission.setGradedBy(gradedBy);
+            for (String path : attachmentPaths) {
+                submission.addAttachment(path);
+            }
+            return submission;
+        }
+    }
 }
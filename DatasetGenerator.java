@@ -0,0 +1,421 @@
+package org.app.util;
+
+import org.app.model.*;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Synthetic dataset generator for BUP UCAM Assignment Tracker
+ * Builds a university of departments, teachers, students, courses, enrollments, assignments and
+ * submissions and writes it straight through SimpleDataPersistence and DataPersistence in one
+ * bulk save per file, so the services load it like any saved data. Distributions aim to look like
+ * a real semester: department and course sizes are skewed (a few very popular courses, a long tail
+ * of small ones), submissions cluster in the hours before each deadline with a few late ones,
+ * and marks follow per-student ability with per-assignment noise.
+ *
+ * Output depends only on the Config (including its seed and reference time), so a benchmark can
+ * regenerate the same dataset. Every user shares one hash of Config.password, whose salt is the
+ * only thing that differs between runs.
+ */
+public class DatasetGenerator {
+    private static final String[][] DEPARTMENTS = {
+            {"CSE", "Computer Science and Engineering"}, {"EEE", "Electrical and Electronic Engineering"},
+            {"BBA", "Business Administration"}, {"ECO", "Economics"}, {"ENG", "English"}, {"LAW", "Law"},
+            {"MATH", "Mathematics"}, {"IR", "International Relations"}, {"ME", "Mechanical Engineering"},
+            {"DS", "Disaster Science"}};
+    private static final String[][] TOPICS = {
+            {"Programming", "Data Structures", "Algorithms", "Database Systems", "Operating Systems",
+                    "Computer Networks", "Software Engineering", "Machine Learning", "Computer Graphics", "Compilers"},
+            {"Circuit Analysis", "Electronics", "Signals and Systems", "Power Systems", "Control Systems",
+                    "Electromagnetics", "Digital Logic", "Communication Systems"},
+            {"Accounting", "Marketing", "Finance", "Management", "Organizational Behaviour", "Business Law",
+                    "Operations Management", "Entrepreneurship"},
+            {"Microeconomics", "Macroeconomics", "Econometrics", "Development Economics", "Public Finance",
+                    "International Trade"},
+            {"Composition", "English Literature", "Linguistics", "Creative Writing", "Drama", "Poetry"},
+            {"Constitutional Law", "Contract Law", "Criminal Law", "International Law", "Jurisprudence",
+                    "Human Rights"},
+            {"Calculus", "Linear Algebra", "Statistics", "Probability", "Discrete Mathematics", "Numerical Methods"},
+            {"International Relations Theory", "Foreign Policy", "Diplomacy", "Security Studies",
+                    "Political Economy", "Peace and Conflict"},
+            {"Thermodynamics", "Fluid Mechanics", "Machine Design", "Heat Transfer", "Manufacturing", "Dynamics"},
+            {"Disaster Management", "Climate Change", "Risk Assessment", "Emergency Response", "Hydrology"}};
+    private static final String[][] LEVEL_PREFIXES = {
+            {"Introduction to ", "Principles of ", "Fundamentals of "}, {"", "Applied "}, {"", "Applied "},
+            {"Advanced ", "Topics in ", "Seminar in "}};
+    private static final String[] FIRST_NAMES = {"Mohammad", "Fatima", "Ayesha", "Rahim", "Karim", "Nusrat",
+            "Tanvir", "Sadia", "Farhan", "Nadia", "Arif", "Sumaiya", "Rafiq", "Jannat", "Imran", "Mehedi", "Shirin",
+            "Hasan", "Tahmina", "Sabbir", "Riya", "Zahid", "Maliha", "Sakib", "Anika", "Rashed", "Lamia", "Tariq"};
+    private static final String[] LAST_NAMES = {"Rahman", "Hossain", "Ahmed", "Islam", "Khan", "Chowdhury",
+            "Akter", "Uddin", "Sarkar", "Miah", "Haque", "Alam", "Siddique", "Karim", "Talukder", "Bhuiyan"};
+    private static final String[] WORDS = {"analysis", "design", "method", "result", "approach", "model",
+            "system", "data", "theory", "evidence", "argument", "example", "problem", "solution", "process",
+            "structure", "function", "impact", "policy", "framework", "study", "case", "review", "test",
+            "performance", "measure", "variable", "factor", "effect", "conclusion", "hypothesis", "sample",
+            "context", "strategy", "outcome", "principle", "concept", "evaluation", "comparison", "summary"};
+    private static final AssignmentType[] TYPES = {AssignmentType.HOMEWORK, AssignmentType.HOMEWORK,
+            AssignmentType.HOMEWORK, AssignmentType.HOMEWORK, AssignmentType.LAB, AssignmentType.LAB,
+            AssignmentType.QUIZ, AssignmentType.QUIZ, AssignmentType.PROJECT, AssignmentType.EXAM};
+    private static final String[] FEEDBACK = {"Needs significant revision.", "Partially correct, review the basics.",
+            "Good effort, some gaps remain.", "Well done.", "Excellent work."};
+
+    /**
+     * What to generate. Start from forSubmissions() and adjust fields as needed.
+     */
+    public static class Config {
+        public long seed = 42;
+        public int departments = 8;
+        public int teachers = 40;
+        public int students = 1000;
+        public int courses = 120;
+        public int coursesPerStudent = 5; // Each student takes this many, give or take one
+        public int assignmentsPerCourse = 8; // Mean; courses get between half and one and a half times this
+        public double submissionRate = 0.92; // Share of enrolled students who submit a past-due assignment
+        public double lateRate = 0.06;
+        public double gradedRate = 0.85; // Share of past-due submissions graded by now
+        public String password = "password123";
+        public int passwordCost = PasswordHasher.getIterations();
+        // "Now" for the dataset: about two thirds of each course's deadlines fall before it
+        public LocalDateTime referenceTime = LocalDate.now().atStartOfDay();
+
+        /**
+         * Sizes that yield roughly the given number of submissions, at about 25 per student
+         */
+        public static Config forSubmissions(long submissions) {
+            Config config = new Config();
+            config.students = (int) Math.max(50, submissions / 25);
+            config.courses = Math.max(config.departments, config.students / 8);
+            config.teachers = Math.max(config.departments, config.courses / 3);
+            return config;
+        }
+    }
+
+    /**
+     * Counts of what was written
+     */
+    public static class Summary {
+        public int teachers;
+        public int students;
+        public int courses;
+        public long enrollments;
+        public int assignments;
+        public long submissions;
+        public long gradedSubmissions;
+        public long elapsedMillis;
+
+        @Override
+        public String toString() {
+            return String.format("%,d teachers, %,d students, %,d courses, %,d enrollments, %,d assignments, "
+                            + "%,d submissions (%,d graded) in %,d ms", teachers, students, courses, enrollments,
+                    assignments, submissions, gradedSubmissions, elapsedMillis);
+        }
+    }
+
+    private final Config config;
+    private final Random random;
+
+    public DatasetGenerator(Config config) {
+        if (config.departments < 1 || config.departments > DEPARTMENTS.length) {
+            throw new IllegalArgumentException("departments must be between 1 and " + DEPARTMENTS.length);
+        }
+        if (config.teachers < config.departments || config.courses < config.departments || config.students < 1) {
+            throw new IllegalArgumentException("Need at least one teacher and one course per department, and a student");
+        }
+        this.config = config;
+        this.random = new Random(config.seed);
+    }
+
+    /**
+     * Generate the dataset into a directory that holds no application data yet
+     */
+    public Summary generate(File directory) {
+        if (new File(directory, "users_simple.json").exists() || new File(directory, "assignments.json").exists()) {
+            throw new IllegalStateException("Directory already contains application data: " + directory);
+        }
+        long start = System.nanoTime();
+        Summary summary = new Summary();
+        int userCounter = 1;
+
+        // Departments get skewed shares of everything: weight 1 / (rank + 1)^0.7
+        double[] departmentWeights = new double[config.departments];
+        for (int d = 0; d < config.departments; d++) {
+            departmentWeights[d] = 1 / Math.pow(d + 1, 0.7);
+        }
+        int[] teacherDepartments = spread(config.teachers, departmentWeights);
+        int[] studentDepartments = spread(config.students, departmentWeights);
+        int[] courseDepartments = spread(config.courses, departmentWeights);
+
+        String hash = PasswordHasher.hash(config.password, config.passwordCost);
+        Map<String, SimpleDataPersistence.SimpleUserData> users = new LinkedHashMap<>();
+        List<List<Teacher>> teachersByDepartment = new ArrayList<>();
+        for (int d = 0; d < config.departments; d++) {
+            teachersByDepartment.add(new ArrayList<>());
+        }
+        for (int i = 0; i < config.teachers; i++) {
+            int department = teacherDepartments[i];
+            String userId = "TCH-" + String.format("%04d", userCounter++);
+            String name = (i % 3 == 0 ? "Dr. " : "") + personName();
+            Teacher teacher = new Teacher(userId, name, "t" + i + "." + emailName(name) + "@bup.edu.bd", hash,
+                    DEPARTMENTS[department][1], String.format("EMP%05d", i + 1));
+            teachersByDepartment.get(department).add(teacher);
+            users.put(userId, new SimpleDataPersistence.SimpleUserData(teacher));
+        }
+
+        int[] studentIds = new int[config.students];
+        double[] ability = new double[config.students];
+        for (int i = 0; i < config.students; i++) {
+            String userId = "STD-" + String.format("%04d", userCounter++);
+            int semester = 1 + random.nextInt(8);
+            int intake = config.referenceTime.getYear() - (semester + 1) / 2;
+            String studentId = String.format("%d%02d%05d", intake, studentDepartments[i] + 1, i + 1);
+            String name = personName();
+            Student student = new Student(userId, name, studentId + "@student.bup.edu.bd", hash, studentId,
+                    DEPARTMENTS[studentDepartments[i]][0], semester);
+            users.put(userId, new SimpleDataPersistence.SimpleUserData(student));
+            studentIds[i] = userCounter - 1;
+            ability[i] = clamp(0.70 + 0.12 * random.nextGaussian(), 0.25, 0.98);
+        }
+        summary.teachers = config.teachers;
+        summary.students = config.students;
+
+        // Courses, with Pareto-distributed popularity deciding how many students pick them
+        String semesterName = (config.referenceTime.getMonthValue() >= 7 ? "Fall " : "Spring ")
+                + config.referenceTime.getYear();
+        DataPersistence.CourseData courseData = new DataPersistence.CourseData();
+        List<DataPersistence.CourseRecord> courses = courseData.courses;
+        double[] popularity = new double[config.courses];
+        int[][] codeCounters = new int[config.departments][4];
+        int[] teacherTurn = new int[config.departments];
+        for (int c = 0; c < config.courses; c++) {
+            int department = courseDepartments[c];
+            int level = random.nextInt(4);
+            String[] topics = TOPICS[department];
+            String[] prefixes = LEVEL_PREFIXES[level];
+            List<Teacher> departmentTeachers = teachersByDepartment.get(department);
+            Teacher instructor = departmentTeachers.get(teacherTurn[department]++ % departmentTeachers.size());
+
+            DataPersistence.CourseRecord course = new DataPersistence.CourseRecord();
+            course.courseId = "CRS-" + String.format("%04d", c + 1);
+            course.courseName = prefixes[random.nextInt(prefixes.length)] + topics[random.nextInt(topics.length)];
+            course.courseCode = String.format("%s-%d%03d", DEPARTMENTS[department][0], level + 1,
+                    ++codeCounters[department][level]);
+            course.department = DEPARTMENTS[department][1];
+            course.creditHours = new int[]{3, 3, 3, 3, 3, 3, 3, 4, 4, 2}[random.nextInt(10)];
+            course.semester = semesterName;
+            course.instructorId = instructor.getUserId();
+            course.createdAt = config.referenceTime.minusWeeks(12);
+            courses.add(course);
+            popularity[c] = Math.min(50, Math.pow(1 - random.nextDouble(), -1 / 1.5));
+        }
+        courseData.courseCounter = config.courses + 1;
+        summary.courses = config.courses;
+
+        // Enrollments: mostly courses of the student's own department, by popularity
+        double[][] departmentCumulative = new double[config.departments][];
+        int[][] departmentCourses = new int[config.departments][];
+        for (int d = 0; d < config.departments; d++) {
+            List<Integer> members = new ArrayList<>();
+            for (int c = 0; c < config.courses; c++) {
+                if (courseDepartments[c] == d) {
+                    members.add(c);
+                }
+            }
+            departmentCourses[d] = members.stream().mapToInt(Integer::intValue).toArray();
+            departmentCumulative[d] = cumulative(departmentCourses[d], popularity);
+        }
+        int[] allCourses = new int[config.courses];
+        for (int c = 0; c < config.courses; c++) {
+            allCourses[c] = c;
+        }
+        double[] allCumulative = cumulative(allCourses, popularity);
+        List<List<Integer>> roster = new ArrayList<>(config.courses);
+        for (int c = 0; c < config.courses; c++) {
+            roster.add(new ArrayList<>());
+        }
+        Set<Integer> chosen = new HashSet<>();
+        for (int s = 0; s < config.students; s++) {
+            int wanted = Math.max(1, config.coursesPerStudent - 1 + random.nextInt(3));
+            chosen.clear();
+            int department = studentDepartments[s];
+            for (int attempt = 0; chosen.size() < Math.min(wanted, config.courses) && attempt < wanted * 10; attempt++) {
+                int course = random.nextDouble() < 0.8
+                        ? pick(departmentCourses[department], departmentCumulative[department])
+                        : pick(allCourses, allCumulative);
+                if (chosen.add(course)) {
+                    roster.get(course).add(s);
+                    courses.get(course).enrolledStudentIds.add("STD-" + String.format("%04d", studentIds[s]));
+                    summary.enrollments++;
+                }
+            }
+        }
+
+        // Assignments spread over a 15-week semester; submissions cluster before each deadline
+        DataPersistence.AssignmentData assignmentData = new DataPersistence.AssignmentData();
+        LocalDateTime semesterStart = config.referenceTime.minusWeeks(10);
+        int assignmentCounter = 1;
+        long submissionCounter = 1;
+        for (int c = 0; c < config.courses; c++) {
+            DataPersistence.CourseRecord course = courses.get(c);
+            int count = Math.max(1, config.assignmentsPerCourse / 2 + random.nextInt(config.assignmentsPerCourse + 1));
+            for (int a = 0; a < count; a++) {
+                AssignmentType type = TYPES[random.nextInt(TYPES.length)];
+                int maxMarks = type == AssignmentType.EXAM || type == AssignmentType.PROJECT ? 100
+                        : type == AssignmentType.QUIZ ? 10 : 20;
+                double week = 15.0 * (a + 1) / (count + 1) + random.nextGaussian() * 0.5;
+                LocalDateTime dueDate = LocalDateTime.of(
+                        semesterStart.toLocalDate().plusDays(Math.max(3, Math.round(week * 7))), LocalTime.of(23, 59));
+
+                DataPersistence.AssignmentRecord assignment = new DataPersistence.AssignmentRecord();
+                assignment.assignmentId = "ASSIGN-" + String.format("%04d", assignmentCounter++);
+                assignment.title = type.toString() + " " + (a + 1) + ": " + course.courseName;
+                assignment.description = "Submit your " + type.toString().toLowerCase() + " on "
+                        + course.courseName + " before the deadline.";
+                assignment.courseId = course.courseId;
+                assignment.creatorId = course.instructorId;
+                assignment.type = type;
+                assignment.maxMarks = maxMarks;
+                assignment.createdAt = dueDate.minusDays(7 + random.nextInt(8));
+                assignment.dueDate = dueDate;
+                assignment.status = dueDate.isBefore(config.referenceTime.minusWeeks(1))
+                        ? AssignmentStatus.CLOSED : AssignmentStatus.ACTIVE;
+                assignmentData.assignments.add(assignment);
+
+                for (int s : roster.get(c)) {
+                    // Hours before the deadline, exponentially distributed; a few go past it
+                    boolean late = random.nextDouble() < config.lateRate;
+                    double hours = -Math.log(1 - random.nextDouble()) * (late ? 8 : 18);
+                    LocalDateTime submittedAt = late ? dueDate.plusMinutes((long) (hours * 60))
+                            : dueDate.minusMinutes((long) (hours * 60));
+                    if (random.nextDouble() >= config.submissionRate || submittedAt.isAfter(config.referenceTime)
+                            || submittedAt.isBefore(assignment.createdAt)) {
+                        continue;
+                    }
+                    DataPersistence.SubmissionRecord submission = new DataPersistence.SubmissionRecord();
+                    submission.submissionId = "SUB-" + String.format("%04d", submissionCounter++);
+                    submission.assignmentId = assignment.assignmentId;
+                    submission.studentId = course.enrolledStudentIds.get(roster.get(c).indexOf(s));
+                    submission.content = content(assignment.title);
+                    submission.submittedAt = submittedAt;
+                    submission.status = SubmissionStatus.SUBMITTED;
+
+                    LocalDateTime gradedAt = dueDate.plusDays(1 + random.nextInt(10));
+                    if (gradedAt.isBefore(config.referenceTime) && random.nextDouble() < config.gradedRate) {
+                        double score = clamp(ability[s] - (late ? 0.05 : 0) + 0.10 * random.nextGaussian(), 0, 1);
+                        submission.marks = (int) Math.round(score * maxMarks);
+                        submission.feedback = FEEDBACK[Math.min(FEEDBACK.length - 1, (int) (score * FEEDBACK.length))];
+                        submission.gradedAt = gradedAt;
+                        submission.gradedById = course.instructorId;
+                        submission.status = SubmissionStatus.GRADED;
+                        summary.gradedSubmissions++;
+                    }
+                    assignmentData.submissions.add(submission);
+                }
+            }
+        }
+        assignmentData.assignmentCounter = assignmentCounter;
+        assignmentData.submissionCounter = (int) submissionCounter;
+        summary.assignments = assignmentCounter - 1;
+        summary.submissions = submissionCounter - 1;
+
+        // One bulk write per file
+        SimpleDataPersistence simplePersistence = new SimpleDataPersistence(directory);
+        simplePersistence.saveUserCredentials(users);
+        SimpleDataPersistence.AppSettings settings = new SimpleDataPersistence.AppSettings();
+        settings.userCounter = userCounter;
+        settings.courseCounter = courseData.courseCounter;
+        settings.assignmentCounter = assignmentData.assignmentCounter;
+        settings.submissionCounter = assignmentData.submissionCounter;
+        settings.firstRun = false;
+        simplePersistence.saveSettings(settings);
+        DataPersistence dataPersistence = new DataPersistence(directory);
+        dataPersistence.saveCourses(courseData);
+        dataPersistence.saveAssignments(assignmentData);
+
+        summary.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return summary;
+    }
+
+    /**
+     * Assign each of count items to a bucket in proportion to the weights, every bucket getting one
+     */
+    private int[] spread(int count, double[] weights) {
+        int[] buckets = new int[count];
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < count; i++) {
+            if (i < weights.length) {
+                buckets[i] = i;
+            } else {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                buckets[i] = Math.min(index >= 0 ? index : -index - 1, weights.length - 1);
+            }
+        }
+        return buckets;
+    }
+
+    private static double[] cumulative(int[] items, double[] weights) {
+        double[] cumulative = new double[items.length];
+        double total = 0;
+        for (int i = 0; i < items.length; i++) {
+            total += weights[items[i]];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private int pick(int[] items, double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return items[Math.min(index >= 0 ? index : -index - 1, items.length - 1)];
+    }
+
+    private String personName() {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String emailName(String name) {
+        return name.replace("Dr. ", "").toLowerCase(Locale.ROOT).replace(' ', '.');
+    }
+
+    private String content(String title) {
+        StringBuilder text = new StringBuilder("Answer to ").append(title).append(':');
+        for (int i = 8 + random.nextInt(8); i > 0; i--) {
+            text.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.append('.').toString();
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Usage: DatasetGenerator directory [submissions, default 100000] [seed, default 42]
+     * Load the result with UserService(new SimpleDataPersistence(dir)), then
+     * CourseService(new DataPersistence(dir), ...) and AssignmentService(new DataPersistence(dir), ...).
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: DatasetGenerator directory [submissions] [seed]");
+            System.exit(1);
+        }
+        Config config = Config.forSubmissions(args.length > 1 ? Long.parseLong(args[1]) : 100_000);
+        if (args.length > 2) {
+            config.seed = Long.parseLong(args[2]);
+        }
+        try {
+            Summary summary = new DatasetGenerator(config).generate(new File(args[0]));
+            System.out.println("✓ Generated " + summary);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Error generating dataset: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.app.util;
+
+import javax.mail.MessagingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Background email queue for BUP UCAM Assignment Tracker
+ * Callers enqueue templated emails and return immediately; a single daemon thread renders and
+ * sends them at a fixed rate so bulk operations never wait on, or flood, the SMTP server.
+ * Values that must be fresh when the email goes out (a verification code with an expiry) come
+ * from a per-template source called at send time. With a SimpleDataPersistence, emails still
+ * queued at shutdown are saved and queued again when the next outbox starts.
+ */
+public class EmailOutbox {
+    private static final Log log = Log.get(EmailOutbox.class);
+    private static final long SHUTDOWN_WAIT_MILLIS = 5000;
+
+    private final BlockingQueue<SimpleDataPersistence.QueuedEmail> queue = new LinkedBlockingQueue<>();
+    private final Map<String, Function<String, Map<String, ?>>> sendTimeValues = new ConcurrentHashMap<>();
+    private final long sendIntervalMillis;
+    private final SimpleDataPersistence dataPersistence;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public EmailOutbox(int messagesPerSecond) {
+        this(messagesPerSecond, null);
+    }
+
+    public EmailOutbox(int messagesPerSecond, SimpleDataPersistence dataPersistence) {
+        this.sendIntervalMillis = messagesPerSecond > 0 ? 1000L / messagesPerSecond : 0;
+        this.dataPersistence = dataPersistence;
+        if (dataPersistence != null) {
+            List<SimpleDataPersistence.QueuedEmail> unsent = dataPersistence.loadQueuedEmails();
+            if (!unsent.isEmpty()) {
+                queue.addAll(unsent);
+                log.info("✓ Queued emails left unsent by the last run", "count", unsent.size());
+            }
+        }
+        this.worker = new Thread(this::drain, "email-outbox");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queue a templated email (see EmailUtil for template names)
+     */
+    public void enqueue(String to, String templateName, Map<String, ?> values) {
+        Map<String, String> copy = new HashMap<>();
+        values.forEach((key, value) -> copy.put(key, String.valueOf(value)));
+        queue.add(new SimpleDataPersistence.QueuedEmail(to, templateName, copy));
+    }
+
+    /**
+     * Compute extra placeholder values for a template just before each email is sent;
+     * the source receives the recipient address
+     */
+    public void setSendTimeValues(String templateName, Function<String, Map<String, ?>> source) {
+        sendTimeValues.put(templateName, source);
+    }
+
+    public int getPendingCount() { return queue.size(); }
+    public long getSentCount() { return sent.get(); }
+    public long getFailedCount() { return failed.get(); }
+
+    /**
+     * Stop after the email currently being sent and save whatever is still queued
+     */
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<SimpleDataPersistence.QueuedEmail> unsent = new ArrayList<>();
+        queue.drainTo(unsent);
+        if (dataPersistence != null) {
+            dataPersistence.saveQueuedEmails(unsent);
+            if (!unsent.isEmpty()) {
+                log.info("✓ Saved unsent emails for the next start", "count", unsent.size());
+            }
+        } else if (!unsent.isEmpty()) {
+            log.warn("Dropped unsent emails", "count", unsent.size());
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            SimpleDataPersistence.QueuedEmail email;
+            try {
+                email = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            try {
+                EmailUtil.sendTemplatedEmail(email.to, email.template, valuesFor(email));
+                sent.incrementAndGet();
+            } catch (MessagingException | RuntimeException e) {
+                failed.incrementAndGet();
+                log.warn("Failed to send queued email", "to", email.to, "error", e.getMessage());
+            }
+            long wait = sendIntervalMillis - (System.currentTimeMillis() - start);
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Map<String, ?> valuesFor(SimpleDataPersistence.QueuedEmail email) {
+        Function<String, Map<String, ?>> source = sendTimeValues.get(email.template);
+        if (source == null) {
+            return email.values;
+        }
+        Map<String, Object> values = new HashMap<>(email.values);
+        values.putAll(source.apply(email.to));
+        return values;
+    }
+}
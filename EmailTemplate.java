@@ -0,0 +1,159 @@
+package org.app.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Precompiled email template for BUP UCAM Assignment Tracker
+ * Subject and body are parsed once into literal and placeholder segments, so rendering
+ * is a single append pass with no rescanning of the template text.
+ * Placeholders are written as {NAME} using upper-case letters, digits and underscores.
+ */
+public final class EmailTemplate {
+    private final String name;
+    private final Text subject;
+    private final Text body;
+
+    private EmailTemplate(String name, Text subject, Text body) {
+        this.name = name;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    /**
+     * Compile a template from subject and body strings
+     */
+    public static EmailTemplate compile(String name, String subject, String body) {
+        return new EmailTemplate(name, Text.parse(subject), Text.parse(body));
+    }
+
+    /**
+     * Load a template from a properties file with "subject" and "body" keys
+     */
+    public static EmailTemplate load(File file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        String body = properties.getProperty("body");
+        if (body == null) {
+            throw new IOException("Template " + file.getName() + " has no body");
+        }
+        String fileName = file.getName();
+        int dot = fileName.lastIndexOf('.');
+        String templateName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return compile(templateName, properties.getProperty("subject", ""), body);
+    }
+
+    public String renderSubject(Map<String, ?> values) {
+        StringBuilder out = new StringBuilder(subject.estimatedLength);
+        subject.renderInto(out, values);
+        return out.toString();
+    }
+
+    /**
+     * Render the body into a caller-owned buffer, which is cleared first so it can be reused
+     */
+    public StringBuilder renderBody(Map<String, ?> values, StringBuilder out) {
+        out.setLength(0);
+        body.renderInto(out, values);
+        return out;
+    }
+
+    public String renderBody(Map<String, ?> values) {
+        return renderBody(values, new StringBuilder(body.estimatedLength)).toString();
+    }
+
+    /**
+     * Names of all placeholders used in subject or body
+     */
+    public Set<String> getPlaceholders() {
+        Set<String> names = new LinkedHashSet<>();
+        Collections.addAll(names, subject.placeholders);
+        Collections.addAll(names, body.placeholders);
+        return names;
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * Parsed template text: literals[i] is followed by placeholders[i], with one trailing literal
+     */
+    private static final class Text {
+        private final String[] literals;
+        private final String[] placeholders;
+        private final int estimatedLength;
+
+        private Text(String[] literals, String[] placeholders, int estimatedLength) {
+            this.literals = literals;
+            this.placeholders = placeholders;
+            this.estimatedLength = estimatedLength;
+        }
+
+        static Text parse(String template) {
+            List<String> literals = new ArrayList<>();
+            List<String> placeholders = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            while (i < template.length()) {
+                char c = template.charAt(i);
+                int close = c == '{' ? placeholderEnd(template, i) : -1;
+                if (close > 0) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    placeholders.add(template.substring(i + 1, close));
+                    i = close + 1;
+                } else {
+                    literal.append(c);
+                    i++;
+                }
+            }
+            literals.add(literal.toString());
+            return new Text(literals.toArray(new String[0]), placeholders.toArray(new String[0]),
+                    template.length() + 64);
+        }
+
+        /**
+         * Index of the closing brace if a valid placeholder starts at 'open', otherwise -1
+         */
+        private static int placeholderEnd(String template, int open) {
+            int i = open + 1;
+            while (i < template.length()) {
+                char c = template.charAt(i);
+                if (c == '}') {
+                    return i > open + 1 ? i : -1;
+                }
+                if (!(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9') && c != '_') {
+                    return -1;
+                }
+                i++;
+            }
+            return -1;
+        }
+
+        void renderInto(StringBuilder out, Map<String, ?> values) {
+            for (int i = 0; i < placeholders.length; i++) {
+                out.append(literals[i]);
+                Object value = values.get(placeholders[i]);
+                if (value != null) {
+                    out.append(value);
+                } else {
+                    // Leave unknown placeholders visible rather than silently dropping them
+                    out.append('{').append(placeholders[i]).append('}');
+                }
+            }
+            out.append(literals[literals.length - 1]);
+        }
+    }
+}
@@ -2,15 +2,36 @@ package org.app.util;
 
 import javax.mail.*;
 import javax.mail.internet.*;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 
 public class EmailUtil {
+    private static final Log log = Log.get(EmailUtil.class);
+
+    private static final String TEMPLATES_DIR = "templates";
+    public static final String VERIFICATION_TEMPLATE = "verification";
+    public static final String DEADLINE_REMINDER_TEMPLATE = "deadline_reminder";
+    public static final String DEADLINE_REMINDER_SINGLE_TEMPLATE = "deadline_reminder_single";
+    public static final String GRADE_POSTED_TEMPLATE = "grade_posted";
+    public static final String ENROLLMENT_CONFIRMATION_TEMPLATE = "enrollment_confirmation";
+
     private static Properties emailConfig;
+    private static final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> bodyBuffer =
+            ThreadLocal.withInitial(() -> new StringBuilder(512));
+    private static final Metrics.Timer SEND_TIMER = Metrics.timer("app_email_send_duration_seconds",
+            "Time to hand an email to the SMTP server");
+    private static final Metrics.Counter SENT = Metrics.counter("app_email_sent_total", "Emails sent");
+    private static final Metrics.Counter FAILED = Metrics.counter("app_email_failures_total",
+            "Emails that could not be sent");
 
     static {
         loadEmailConfig();
+        loadTemplates();
     }
 
     private static void loadEmailConfig() {
@@ -18,50 +39,122 @@ public class EmailUtil {
         try {
             emailConfig.load(new FileInputStream("email.properties"));
         } catch (IOException e) {
-            System.err.println("Warning: Could not load email.properties. Email functionality will not work.");
-            System.err.println("Please create email.properties file with your email credentials.");
+            log.warn("Could not load email.properties. Email functionality will not work. "
+                    + "Please create email.properties file with your email credentials.");
         }
     }
 
-    public static void sendEmail(String to, String subject, String content) throws MessagingException {
-        if (emailConfig == null || emailConfig.isEmpty()) {
-            throw new MessagingException("Email configuration not loaded. Please check email.properties file.");
-        }
+    /**
+     * Compile built-in templates, then let files in the templates directory override or add to them
+     */
+    private static void loadTemplates() {
+        templates.put(VERIFICATION_TEMPLATE, EmailTemplate.compile(VERIFICATION_TEMPLATE,
+                emailConfig.getProperty("email.verification.subject", "Verify your email"),
+                emailConfig.getProperty("email.verification.body", "Your verification code is: {CODE}")));
+        templates.put(DEADLINE_REMINDER_TEMPLATE, EmailTemplate.compile(DEADLINE_REMINDER_TEMPLATE,
+                "Reminder: {COUNT} assignments are due soon",
+                "Hello {NAME},\n\nThe following assignments are due soon:\n\n{ASSIGNMENTS}\n"
+                        + "Please submit before the deadline.\n\nThank you!"));
+        templates.put(DEADLINE_REMINDER_SINGLE_TEMPLATE, EmailTemplate.compile(DEADLINE_REMINDER_SINGLE_TEMPLATE,
+                "Reminder: {ASSIGNMENT} is due soon",
+                "Hello {NAME},\n\nThe following assignment is due soon:\n\n{ASSIGNMENTS}\n"
+                        + "Please submit before the deadline.\n\nThank you!"));
+        templates.put(GRADE_POSTED_TEMPLATE, EmailTemplate.compile(GRADE_POSTED_TEMPLATE,
+                "Grade posted for {ASSIGNMENT}",
+                "Hello {NAME},\n\nYour submission for {ASSIGNMENT} ({COURSE}) has been graded: "
+                        + "{MARKS}/{MAX_MARKS}.\n\nFeedback: {FEEDBACK}\n\nThank you!"));
+        templates.put(ENROLLMENT_CONFIRMATION_TEMPLATE, EmailTemplate.compile(ENROLLMENT_CONFIRMATION_TEMPLATE,
+                "Enrolled in {COURSE}",
+                "Hello {NAME},\n\nYou are now enrolled in {COURSE} ({COURSE_CODE}) taught by {INSTRUCTOR}."
+                        + "\n\nThank you!"));
 
-        String username = emailConfig.getProperty("email.username");
-        String password = emailConfig.getProperty("email.password");
+        File[] files = new File(TEMPLATES_DIR).listFiles((dir, name) -> name.endsWith(".properties"));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            try {
+                EmailTemplate template = EmailTemplate.load(file);
+                templates.put(template.getName(), template);
+            } catch (IOException e) {
+                log.warn("Could not load email template", "file", file.getName(), "error", e.getMessage());
+            }
+        }
+    }
 
-        if (username == null || password == null ||
-            username.equals("your_email@gmail.com") ||
-            password.equals("your_app_password_here")) {
-            throw new MessagingException("Please update email.properties with your actual email credentials.");
+    public static EmailTemplate getTemplate(String name) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
         }
+        return template;
+    }
 
-        Properties props = new Properties();
-        props.put("mail.smtp.auth", emailConfig.getProperty("smtp.auth"));
-        props.put("mail.smtp.starttls.enable", emailConfig.getProperty("smtp.starttls.enable"));
-        props.put("mail.smtp.host", emailConfig.getProperty("smtp.host"));
-        props.put("mail.smtp.port", emailConfig.getProperty("smtp.port"));
+    /**
+     * Render a named template with the given placeholder values and send it
+     */
+    public static void sendTemplatedEmail(String to, String templateName, Map<String, ?> values)
+            throws MessagingException {
+        EmailTemplate template = getTemplate(templateName);
+        StringBuilder body = template.renderBody(values, bodyBuffer.get());
+        sendEmail(to, template.renderSubject(values), body.toString());
+    }
 
-        Session session = Session.getInstance(props, new Authenticator() {
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(username, password);
+    public static void sendEmail(String to, String subject, String content) throws MessagingException {
+        long start = System.nanoTime();
+        FlightEvents.EmailSend event = new FlightEvents.EmailSend();
+        event.begin();
+        event.outcome = "SENT";
+        try {
+            if (emailConfig == null || emailConfig.isEmpty()) {
+                throw new MessagingException("Email configuration not loaded. Please check email.properties file.");
+            }
+
+            String username = emailConfig.getProperty("email.username");
+            String password = emailConfig.getProperty("email.password");
+
+            if (username == null || password == null ||
+                username.equals("your_email@gmail.com") ||
+                password.equals("your_app_password_here")) {
+                throw new MessagingException("Please update email.properties with your actual email credentials.");
             }
-        });
 
-        Message message = new MimeMessage(session);
-        message.setFrom(new InternetAddress(username));
-        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(to));
-        message.setSubject(subject);
-        message.setText(content);
+            Properties props = new Properties();
+            props.put("mail.smtp.auth", emailConfig.getProperty("smtp.auth"));
+            props.put("mail.smtp.starttls.enable", emailConfig.getProperty("smtp.starttls.enable"));
+            props.put("mail.smtp.host", emailConfig.getProperty("smtp.host"));
+            props.put("mail.smtp.port", emailConfig.getProperty("smtp.port"));
 
-        Transport.send(message);
+            Session session = Session.getInstance(props, new Authenticator() {
+                protected PasswordAuthentication getPasswordAuthentication() {
+                    return new PasswordAuthentication(username, password);
+                }
+            });
+
+            Message message = new MimeMessage(session);
+            message.setFrom(new InternetAddress(username));
+            message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(to));
+            message.setSubject(subject);
+            message.setText(content);
+
+            Transport.send(message);
+            SENT.increment();
+        } catch (MessagingException | RuntimeException e) {
+            FAILED.increment();
+            event.outcome = "FAILED";
+            event.error = e.getMessage();
+            throw e;
+        } finally {
+            SEND_TIMER.record(start);
+            if (event.shouldCommit()) {
+                event.recipient = to;
+                event.subject = subject;
+                event.commit();
+            }
+        }
     }
 
     public static void sendVerificationEmail(String to, String code) throws MessagingException {
-        String subject = emailConfig.getProperty("email.verification.subject", "Verify your email");
-        String body = emailConfig.getProperty("email.verification.body", "Your verification code is: {CODE}");
-        body = body.replace("{CODE}", code);
-        sendEmail(to, subject, body);
+        sendTemplatedEmail(to, VERIFICATION_TEMPLATE, Map.of("CODE", code));
     }
 }
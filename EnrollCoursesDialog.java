@@ -3,15 +3,22 @@ package org.app.gui;
 import org.app.model.*;
 import org.app.service.*;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 
 public class EnrollCoursesDialog extends JDialog {
+    private static final int SEARCH_DELAY_MILLIS = 150;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private Student student;
     private CourseService courseService;
     private DefaultTableModel availableCoursesModel;
     private JTable availableCoursesTable;
+    private JTextField searchField;
+    private Timer searchTimer;
     private boolean enrollmentSuccess = false;
 
     public EnrollCoursesDialog(JFrame parent, Student student, CourseService courseService) {
@@ -41,6 +48,19 @@ public class EnrollCoursesDialog extends JDialog {
         availableCoursesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         availableCoursesTable.getTableHeader().setBackground(new Color(33, 150, 243));
         availableCoursesTable.getTableHeader().setForeground(Color.WHITE);
+
+        // Filter as the student types, once typing pauses
+        searchField = new JTextField(25);
+        searchTimer = new Timer(SEARCH_DELAY_MILLIS, e -> loadAvailableCourses());
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { searchTimer.restart(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { searchTimer.restart(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { searchTimer.restart(); }
+        });
     }
 
     private void setupLayout() {
@@ -60,8 +80,13 @@ public class EnrollCoursesDialog extends JDialog {
         JPanel tablePanel = new JPanel(new BorderLayout());
         tablePanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
+        JPanel searchPanel = new JPanel(new BorderLayout(10, 5));
         JLabel infoLabel = new JLabel("Select a course and click 'Enroll' to join:");
-        tablePanel.add(infoLabel, BorderLayout.NORTH);
+        searchPanel.add(infoLabel, BorderLayout.NORTH);
+        searchPanel.add(new JLabel("Search by code or name:"), BorderLayout.WEST);
+        searchPanel.add(searchField, BorderLayout.CENTER);
+        searchPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+        tablePanel.add(searchPanel, BorderLayout.NORTH);
         tablePanel.add(new JScrollPane(availableCoursesTable), BorderLayout.CENTER);
 
         // Button panel
@@ -95,10 +120,12 @@ public class EnrollCoursesDialog extends JDialog {
     private void loadAvailableCourses() {
         availableCoursesModel.setRowCount(0);
 
-        List<Course> allCourses = courseService.getAllCourses();
-        List<Course> enrolledCourses = courseService.getCoursesForStudent(student);
+        String query = searchField.getText().trim();
+        List<Course> courses = query.isEmpty()
+                ? courseService.getAllCourses()
+                : courseService.searchCatalog(query, MAX_SEARCH_RESULTS);
 
-        if (allCourses.isEmpty()) {
+        if (courses.isEmpty() && query.isEmpty()) {
             JOptionPane.showMessageDialog(this,
                     "No courses are available yet.\nAsk your teachers to create some courses first.",
                     "No Courses Available",
@@ -106,9 +133,8 @@ public class EnrollCoursesDialog extends JDialog {
             return;
         }
 
-        for (Course course : allCourses) {
-            boolean isEnrolled = enrolledCourses.contains(course);
-            String enrolledStatus = isEnrolled ? "✓ Enrolled" : "Not Enrolled";
+        for (Course course : courses) {
+            String enrolledStatus = course.isStudentEnrolled(student) ? "✓ Enrolled" : "Not Enrolled";
 
             availableCoursesModel.addRow(new Object[]{
                     course.getCourseCode(),
@@ -143,11 +169,7 @@ public class EnrollCoursesDialog extends JDialog {
             return;
         }
 
-        // Find the course object
-        Course selectedCourse = courseService.getAllCourses().stream()
-                .filter(course -> course.getCourseCode().equals(courseCode))
-                .findFirst()
-                .orElse(null);
+        Course selectedCourse = courseService.findCourseByCode(courseCode);
 
         if (selectedCourse == null) {
             JOptionPane.showMessageDialog(this,
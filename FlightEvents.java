@@ -0,0 +1,132 @@
+package org.app.util;
+
+import jdk.jfr.*;
+
+import java.io.File;
+
+/**
+ * JDK Flight Recorder events for BUP UCAM Assignment Tracker
+ * Each event times one operation from begin() to commit(). When no recording has the event
+ * enabled, begin() and shouldCommit() are close to free and the fields are never filled in.
+ * Record with the bundled profile layered over the JDK's default one:
+ *   java -XX:StartFlightRecording:settings=default,settings=assignment-tracker.jfc,filename=incident.jfr ...
+ * or attach to a running process: jcmd <pid> JFR.start settings=default settings=assignment-tracker.jfc
+ */
+public final class FlightEvents {
+    private static final String CATEGORY = "Assignment Tracker";
+
+    private FlightEvents() {
+    }
+
+    @Name("org.app.PersistenceSave")
+    @Label("Persistence Save")
+    @Category({CATEGORY, "Persistence"})
+    @Description("Serializing and writing one data file")
+    @StackTrace(false)
+    public static class PersistenceSave extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Error")
+        public String error;
+
+        /**
+         * Commit if a recording wants the event, reading the file's new size
+         */
+        public void end(File target) {
+            if (shouldCommit()) {
+                file = target.getPath();
+                bytes = target.length();
+                commit();
+            }
+        }
+    }
+
+    @Name("org.app.PersistenceLoad")
+    @Label("Persistence Load")
+    @Category({CATEGORY, "Persistence"})
+    @Description("Reading and parsing one data file")
+    @StackTrace(false)
+    public static class PersistenceLoad extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Error")
+        public String error;
+
+        public void end(File source) {
+            if (shouldCommit()) {
+                file = source.getPath();
+                bytes = source.length();
+                commit();
+            }
+        }
+    }
+
+    @Name("org.app.Authenticate")
+    @Label("Authenticate")
+    @Category({CATEGORY, "Users"})
+    @Description("A login attempt, from the rate limit check to the end of password verification")
+    @StackTrace(false)
+    public static class Authenticate extends Event {
+        @Label("Email")
+        public String email;
+
+        @Label("Outcome")
+        @Description("SUCCESS, NO_MATCH, UNKNOWN_USER, RATE_LIMITED, REJECTED or ERROR")
+        public String outcome;
+
+        public void end(String outcome) {
+            if (shouldCommit()) {
+                this.outcome = outcome;
+                commit();
+            }
+        }
+    }
+
+    @Name("org.app.SubmissionCreated")
+    @Label("Submission Created")
+    @Category({CATEGORY, "Assignments"})
+    @Description("A student's submission, including the save that persists it")
+    @StackTrace(false)
+    public static class SubmissionCreated extends Event {
+        @Label("Submission")
+        public String submissionId;
+
+        @Label("Assignment")
+        public String assignmentId;
+
+        @Label("Student")
+        public String studentId;
+
+        @Label("Late")
+        public boolean late;
+    }
+
+    @Name("org.app.EmailSend")
+    @Label("Email Send")
+    @Category({CATEGORY, "Email"})
+    @Description("Handing one email to the SMTP server")
+    public static class EmailSend extends Event {
+        @Label("Recipient")
+        public String recipient;
+
+        @Label("Subject")
+        public String subject;
+
+        @Label("Outcome")
+        @Description("SENT or FAILED")
+        public String outcome;
+
+        @Label("Error")
+        public String error;
+    }
+}
@@ -0,0 +1,161 @@
+package org.app.service;
+
+import org.app.model.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Grade analytics for BUP UCAM Assignment Tracker
+ * Computes course, department and semester grade statistics (mean, median, spread, percentiles,
+ * letter-grade distribution, late-submission rate). Courses are processed in parallel on a
+ * fork-join pool, each into its own GradeStatistics, and the per-course results are merged into
+ * department or semester totals, so the work scales with the number of cores.
+ *
+ * Reads service state without locking: run it while the services are not being modified (or,
+ * in the API server, under the read lock).
+ */
+public class GradeAnalytics {
+    // A single course this large is itself split across the pool
+    private static final int PARALLEL_COURSE_THRESHOLD = 20_000;
+
+    private final Supplier<? extends Collection<Course>> courses;
+    private final Function<Course, List<Submission>> submissionsForCourse;
+    private final ForkJoinPool pool;
+
+    public GradeAnalytics(CourseService courseService, AssignmentService assignmentService) {
+        this(courseService::getAllCourses, assignmentService::getSubmissionsForCourse, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analytics over an arbitrary course source, on the given pool (its parallelism bounds the speedup)
+     */
+    public GradeAnalytics(Supplier<? extends Collection<Course>> courses,
+                          Function<Course, List<Submission>> submissionsForCourse, ForkJoinPool pool) {
+        this.courses = courses;
+        this.submissionsForCourse = submissionsForCourse;
+        this.pool = pool;
+    }
+
+    /**
+     * Statistics for a single course
+     */
+    public GradeStatistics courseStatistics(Course course) {
+        List<Submission> submissions = submissionsForCourse.apply(course);
+        if (submissions.size() < PARALLEL_COURSE_THRESHOLD) {
+            GradeStatistics statistics = new GradeStatistics();
+            for (Submission submission : submissions) {
+                statistics.add(submission);
+            }
+            return statistics;
+        }
+        return pool.submit(() -> submissions.parallelStream().collect(toStatistics())).join();
+    }
+
+    /**
+     * Statistics for each of the given courses, in the given order
+     */
+    public Map<Course, GradeStatistics> statisticsByCourse(Collection<Course> selected) {
+        List<Course> list = new ArrayList<>(selected);
+        GradeStatistics[] results = new GradeStatistics[list.size()];
+        pool.submit(() -> IntStream.range(0, results.length).parallel()
+                .forEach(i -> results[i] = courseStatistics(list.get(i)))).join();
+
+        Map<Course, GradeStatistics> byCourse = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            byCourse.put(list.get(i), results[i]);
+        }
+        return byCourse;
+    }
+
+    /**
+     * Statistics per department across all courses, keyed by department name (case-insensitive)
+     */
+    public Map<String, GradeStatistics> statisticsByDepartment() {
+        return groupCourses(Course::getDepartment);
+    }
+
+    /**
+     * Statistics per semester across all courses, keyed by semester (case-insensitive)
+     */
+    public Map<String, GradeStatistics> statisticsBySemester() {
+        return groupCourses(Course::getSemester);
+    }
+
+    /**
+     * Statistics for all courses of one department
+     */
+    public GradeStatistics departmentStatistics(String department) {
+        return mergeCourses(course -> course.getDepartment() != null && course.getDepartment().equalsIgnoreCase(department));
+    }
+
+    /**
+     * Statistics for all courses of one semester
+     */
+    public GradeStatistics semesterStatistics(String semester) {
+        return mergeCourses(course -> course.getSemester() != null && course.getSemester().equalsIgnoreCase(semester));
+    }
+
+    /**
+     * Statistics over every course
+     */
+    public GradeStatistics overallStatistics() {
+        return mergeCourses(course -> true);
+    }
+
+    private GradeStatistics mergeCourses(Predicate<Course> filter) {
+        Collection<Course> all = courses.get();
+        return pool.submit(() -> all.parallelStream()
+                .filter(filter)
+                .collect(mergingCourses()))
+                .join();
+    }
+
+    private Map<String, GradeStatistics> groupCourses(Function<Course, String> key) {
+        Collection<Course> all = courses.get();
+        return pool.submit(() -> all.parallelStream().collect(Collectors.groupingBy(
+                course -> key.apply(course) == null ? "" : key.apply(course).trim().toUpperCase(),
+                TreeMap::new,
+                mergingCourses())))
+                .join();
+    }
+
+    private Collector<Course, GradeStatistics, GradeStatistics> mergingCourses() {
+        return Collector.of(GradeStatistics::new,
+                (statistics, course) -> statistics.merge(courseStatistics(course)),
+                GradeStatistics::merge);
+    }
+
+    private static Collector<Submission, GradeStatistics, GradeStatistics> toStatistics() {
+        return Collector.of(GradeStatistics::new, GradeStatistics::add, GradeStatistics::merge);
+    }
+
+    /**
+     * Print statistics in the same style as the other display methods
+     */
+    public static void displayStatistics(String title, GradeStatistics statistics) {
+        System.out.println("=== Grade Statistics: " + title + " ===");
+        System.out.println("Submissions: " + statistics.getSubmissionCount()
+                + " (graded " + statistics.getGradedCount() + ")");
+        System.out.println("Late Submission Rate: " + String.format("%.1f%%", statistics.getLateRate() * 100));
+        if (statistics.getGradedCount() == 0) {
+            return;
+        }
+        System.out.println(String.format("Mean: %.1f%%  Median: %.1f%%  Std Dev: %.1f", statistics.getMean(),
+                statistics.getMedian(), statistics.getStandardDeviation()));
+        System.out.println(String.format("Min: %.1f%%  P25: %.1f%%  P75: %.1f%%  P90: %.1f%%  Max: %.1f%%",
+                statistics.getMin(), statistics.getPercentile(25), statistics.getPercentile(75),
+                statistics.getPercentile(90), statistics.getMax()));
+        StringBuilder distribution = new StringBuilder("Distribution:");
+        for (Map.Entry<String, Long> entry : statistics.getGradeDistribution().entrySet()) {
+            distribution.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        System.out.println(distribution);
+    }
+}
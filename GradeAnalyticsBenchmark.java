@@ -0,0 +1,109 @@
+package org.app.test;
+
+import org.app.model.*;
+import org.app.service.GradeAnalytics;
+import org.app.service.GradeStatistics;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures GradeAnalytics speedup with the fork-join parallelism, on a synthetic in-memory
+ * university, and checks the histogram median against an exact sort.
+ * Usage: GradeAnalyticsBenchmark [courses] [assignmentsPerCourse] [studentsPerCourse]
+ */
+public class GradeAnalyticsBenchmark {
+    private static final String[] DEPARTMENTS = {"CSE", "EEE", "BBA", "ECO", "ENG", "LAW", "MATH", "PHY"};
+
+    public static void main(String[] args) {
+        int courseCount = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int assignmentsPerCourse = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int studentsPerCourse = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        Random random = new Random(42);
+        Map<Course, List<Submission>> data = generate(random, courseCount, assignmentsPerCourse, studentsPerCourse);
+        long submissionCount = data.values().stream().mapToLong(List::size).sum();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=== Grade Analytics Benchmark ===");
+        System.out.println(String.format("%,d courses, %,d submissions, %d cores", courseCount, submissionCount, cores));
+
+        // 1, 2, 4, ... and finally the full core count
+        List<Integer> levels = new ArrayList<>();
+        for (int parallelism = 1; parallelism < cores; parallelism *= 2) {
+            levels.add(parallelism);
+        }
+        levels.add(cores);
+
+        double baseline = 0;
+        for (int parallelism : levels) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            GradeAnalytics analytics = new GradeAnalytics(data::keySet, data::get, pool);
+            double millis = measure(analytics);
+            if (parallelism == 1) {
+                baseline = millis;
+            }
+            System.out.println(String.format("parallelism %2d: %8.2f ms per department report (speedup %.2fx)",
+                    parallelism, millis, baseline / millis));
+            pool.shutdown();
+        }
+
+        // Accuracy of the histogram percentiles against an exact median
+        GradeAnalytics analytics = new GradeAnalytics(data::keySet, data::get, ForkJoinPool.commonPool());
+        GradeStatistics overall = analytics.overallStatistics();
+        double[] scores = data.values().stream().flatMap(List::stream)
+                .filter(submission -> submission.getMarks() != null)
+                .mapToDouble(submission -> submission.getMarks() * 100.0 / submission.getAssignment().getMaxMarks())
+                .sorted().toArray();
+        double exactMedian = scores.length % 2 == 1 ? scores[scores.length / 2]
+                : (scores[scores.length / 2 - 1] + scores[scores.length / 2]) / 2;
+        System.out.println(String.format("Median: histogram %.2f vs exact %.2f", overall.getMedian(), exactMedian));
+        GradeAnalytics.displayStatistics("All departments", overall);
+    }
+
+    private static double measure(GradeAnalytics analytics) {
+        for (int i = 0; i < 5; i++) {
+            analytics.statisticsByDepartment(); // Warm up
+        }
+        int runs = 10;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            analytics.statisticsByDepartment();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / runs;
+    }
+
+    private static Map<Course, List<Submission>> generate(Random random, int courseCount,
+                                                          int assignmentsPerCourse, int studentsPerCourse) {
+        Teacher teacher = new Teacher("T-BENCH", "Benchmark Teacher", "bench@bup.edu.bd", "x", "CSE", "E-0");
+        LocalDateTime now = LocalDateTime.now();
+        Map<Course, List<Submission>> data = new LinkedHashMap<>();
+        int submissionId = 0;
+        for (int c = 0; c < courseCount; c++) {
+            String department = DEPARTMENTS[c % DEPARTMENTS.length];
+            Course course = new Course("CRS-" + c, "Course " + c, department + (100 + c), department,
+                    3, "Fall 2025", teacher);
+            double courseMean = 55 + random.nextGaussian() * 8;
+            List<Submission> submissions = new ArrayList<>(assignmentsPerCourse * studentsPerCourse);
+            for (int a = 0; a < assignmentsPerCourse; a++) {
+                int maxMarks = 10 + random.nextInt(91);
+                Assignment assignment = new Assignment("A-" + c + "-" + a, "Assignment " + a, "", course, teacher,
+                        AssignmentType.values()[a % AssignmentType.values().length], maxMarks, now.minusDays(1));
+                for (int s = 0; s < studentsPerCourse; s++) {
+                    Student student = new Student("U-" + s, "Student " + s, "s" + s + "@bup.edu.bd", "x",
+                            "ST-" + s, "BSc", 1);
+                    Submission submission = new Submission("SUB-" + submissionId++, assignment, student, "");
+                    submission.setSubmittedAt(now.minusDays(random.nextInt(10) < 2 ? 0 : 2));
+                    if (random.nextInt(10) < 9) {
+                        double percentage = Math.max(0, Math.min(100, courseMean + random.nextGaussian() * 15));
+                        submission.grade((int) Math.round(percentage * maxMarks / 100), "", teacher);
+                    }
+                    submissions.add(submission);
+                }
+            }
+            data.put(course, submissions);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,20 @@
+package org.app.service;
+
+/**
+ * One grade to post through AssignmentService.gradeSubmissions
+ */
+public class GradeEntry {
+    private final String submissionId;
+    private final int marks;
+    private final String feedback;
+
+    public GradeEntry(String submissionId, int marks, String feedback) {
+        this.submissionId = submissionId;
+        this.marks = marks;
+        this.feedback = feedback;
+    }
+
+    public String getSubmissionId() { return submissionId; }
+    public int getMarks() { return marks; }
+    public String getFeedback() { return feedback; }
+}
@@ -0,0 +1,148 @@
+package org.app.service;
+
+import org.app.model.*;
+import org.app.util.CsvReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Grade import for BUP UCAM Assignment Tracker
+ * Reads a teacher's spreadsheet export (CSV or tab-separated) for one assignment and posts it
+ * through AssignmentService.gradeSubmissions, so the whole file is graded with one save or,
+ * if any row is wrong, not at all.
+ *
+ * Header columns (case-insensitive): student_id (or submission_id), marks, feedback (optional).
+ * student_id may be the university student ID or the user ID.
+ */
+public class GradeImporter {
+    private final AssignmentService assignmentService;
+
+    public GradeImporter(AssignmentService assignmentService) {
+        this.assignmentService = assignmentService;
+    }
+
+    /**
+     * Import grades for an assignment; the returned result lists every row error, and
+     * nothing is graded unless the file is error-free
+     */
+    public Result importGrades(Reader input, Assignment assignment, Teacher teacher) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        CsvReader csv = new CsvReader(reader, detectDelimiter(reader));
+        Result result = new Result();
+
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            result.errors.add("File is empty");
+            return result;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase().replace(' ', '_'), i);
+        }
+        Integer submissionColumn = columns.get("submission_id");
+        Integer studentColumn = columns.get("student_id");
+        Integer marksColumn = columns.get("marks");
+        Integer feedbackColumn = columns.get("feedback");
+        if ((submissionColumn == null && studentColumn == null) || marksColumn == null) {
+            result.errors.add("Header must contain student_id or submission_id, and marks");
+            return result;
+        }
+
+        // Index this assignment's submissions by both student identifiers
+        Map<String, Submission> byStudent = new HashMap<>();
+        Set<String> assignmentSubmissionIds = new HashSet<>();
+        for (Submission submission : assignmentService.getSubmissionsForAssignment(assignment)) {
+            byStudent.put(submission.getStudent().getStudentId(), submission);
+            byStudent.put(submission.getStudent().getUserId(), submission);
+            assignmentSubmissionIds.add(submission.getSubmissionId());
+        }
+
+        List<GradeEntry> entries = new ArrayList<>();
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            int line = csv.getRecordLineNumber();
+            String submissionId;
+            if (submissionColumn != null) {
+                submissionId = value(record, submissionColumn);
+                if (!assignmentSubmissionIds.contains(submissionId)) {
+                    result.errors.add("Line " + line + ": no submission " + submissionId + " for this assignment");
+                    continue;
+                }
+            } else {
+                String studentId = value(record, studentColumn);
+                Submission submission = byStudent.get(studentId);
+                if (submission == null) {
+                    result.errors.add("Line " + line + ": student " + studentId + " has no submission");
+                    continue;
+                }
+                submissionId = submission.getSubmissionId();
+            }
+
+            String marksText = value(record, marksColumn);
+            if (marksText.isEmpty()) {
+                result.skipped++; // Not graded yet in the spreadsheet
+                continue;
+            }
+            double value;
+            try {
+                value = Double.parseDouble(marksText);
+            } catch (NumberFormatException e) {
+                result.errors.add("Line " + line + ": marks must be a number: " + marksText);
+                continue;
+            }
+            // Marks are whole numbers; "8.0" from a spreadsheet is fine, 7.5 is not silently rounded
+            if (value != Math.rint(value)) {
+                result.errors.add("Line " + line + ": marks must be a whole number: " + marksText);
+                continue;
+            }
+            int marks = (int) value;
+            if (marks < 0 || marks > assignment.getMaxMarks()) {
+                result.errors.add("Line " + line + ": marks must be between 0 and " + assignment.getMaxMarks());
+                continue;
+            }
+            String feedback = feedbackColumn != null ? value(record, feedbackColumn) : "";
+            entries.add(new GradeEntry(submissionId, marks, feedback));
+        }
+
+        if (!result.errors.isEmpty()) {
+            return result;
+        }
+        try {
+            result.graded = assignmentService.gradeSubmissions(entries, teacher).size();
+        } catch (IllegalArgumentException e) {
+            result.errors.add(e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Tab if the header line contains one, otherwise comma
+     */
+    private static char detectDelimiter(BufferedReader reader) throws IOException {
+        reader.mark(8192);
+        String firstLine = reader.readLine();
+        reader.reset();
+        return firstLine != null && firstLine.indexOf('\t') >= 0 ? '\t' : ',';
+    }
+
+    private static String value(List<String> record, int column) {
+        return column < record.size() ? record.get(column).trim() : "";
+    }
+
+    /**
+     * Import outcome
+     */
+    public static class Result {
+        private int graded;
+        private int skipped;
+        private final List<String> errors = new ArrayList<>();
+
+        public boolean isSuccess() { return errors.isEmpty(); }
+        public int getGraded() { return graded; }
+        public int getSkipped() { return skipped; }
+        public List<String> getErrors() { return errors; }
+    }
+}
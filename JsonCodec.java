@@ -0,0 +1,189 @@
+package org.app.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON codec for BUP UCAM Assignment Tracker
+ * One configured ObjectMapper per process and, for every persisted file, an ObjectReader and
+ * ObjectWriter bound to its root type. Readers and writers are immutable and thread-safe, and
+ * binding them to a type resolves the (de)serializers for the whole record graph once instead of
+ * on each load and save; for the generic credential and verification code maps that also saves
+ * building a JavaType from a TypeReference every call. Each format is built by whichever thread
+ * first uses it, so the user store does not wait for the assignment record graph at startup.
+ * If jackson-module-blackbird (or, on older JDKs, jackson-module-afterburner) is on the classpath,
+ * it is registered to replace reflective property access with generated accessors. Choose with
+ *   app.json.accelerator auto (default: blackbird, then afterburner), blackbird, afterburner or none
+ */
+public final class JsonCodec {
+    private static final Log log = Log.get(JsonCodec.class);
+
+    private static final ObjectMapper MAPPER = createMapper(System.getProperty("app.json.accelerator", "auto"));
+
+    private JsonCodec() {
+    }
+
+    /**
+     * The shared mapper, for JSON that has no Format of its own; do not reconfigure it
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static Format<DataPersistence.UserData> users() {
+        return UserFormat.INSTANCE;
+    }
+
+    public static Format<DataPersistence.CourseData> courses() {
+        return CourseFormat.INSTANCE;
+    }
+
+    public static Format<DataPersistence.AssignmentData> assignments() {
+        return AssignmentFormat.INSTANCE;
+    }
+
+    public static Format<Map<String, SimpleDataPersistence.SimpleUserData>> credentials() {
+        return Formats.CREDENTIALS;
+    }
+
+    public static Format<SimpleDataPersistence.AppSettings> settings() {
+        return Formats.SETTINGS;
+    }
+
+    public static Format<Map<String, SimpleDataPersistence.PendingVerification>> verificationCodes() {
+        return Formats.VERIFICATION_CODES;
+    }
+
+    public static Format<List<SimpleDataPersistence.QueuedEmail>> queuedEmails() {
+        return OutboxFormat.INSTANCE;
+    }
+
+    private static ObjectMapper createMapper(String accelerator) {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                // Derived getters (displayName, enrolledStudentCount, ...) are written but have no setter
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        switch (accelerator.trim().toLowerCase()) {
+            case "none" -> { }
+            case "blackbird" -> register(mapper, "com.fasterxml.jackson.module.blackbird.BlackbirdModule", true);
+            case "afterburner" -> register(mapper, "com.fasterxml.jackson.module.afterburner.AfterburnerModule", true);
+            default -> {
+                if (!register(mapper, "com.fasterxml.jackson.module.blackbird.BlackbirdModule", false)) {
+                    register(mapper, "com.fasterxml.jackson.module.afterburner.AfterburnerModule", false);
+                }
+            }
+        }
+        return mapper;
+    }
+
+    private static boolean register(ObjectMapper mapper, String moduleClass, boolean required) {
+        try {
+            mapper.registerModule((Module) Class.forName(moduleClass).getDeclaredConstructor().newInstance());
+            log.debug("✓ JSON accelerator registered", "module", moduleClass);
+            return true;
+        } catch (ClassNotFoundException e) {
+            if (required) {
+                log.warn("JSON accelerator not on the classpath, using reflection", "module", moduleClass);
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Could not register JSON accelerator", "module", moduleClass, "error", e.toString());
+        }
+        return false;
+    }
+
+    // The small credential, settings and verification files are needed together at startup
+    private static final class Formats {
+        static final Format<Map<String, SimpleDataPersistence.SimpleUserData>> CREDENTIALS =
+                new Format<>(new TypeReference<Map<String, SimpleDataPersistence.SimpleUserData>>() {}, true);
+        static final Format<SimpleDataPersistence.AppSettings> SETTINGS =
+                new Format<>(SimpleDataPersistence.AppSettings.class, true);
+        static final Format<Map<String, SimpleDataPersistence.PendingVerification>> VERIFICATION_CODES =
+                new Format<>(new TypeReference<Map<String, SimpleDataPersistence.PendingVerification>>() {}, true);
+    }
+
+    private static final class OutboxFormat {
+        static final Format<List<SimpleDataPersistence.QueuedEmail>> INSTANCE =
+                new Format<>(new TypeReference<List<SimpleDataPersistence.QueuedEmail>>() {}, true);
+    }
+
+    private static final class UserFormat {
+        static final Format<DataPersistence.UserData> INSTANCE =
+                new Format<>(DataPersistence.UserData.class, true);
+    }
+
+    // Course and assignment files can hold millions of records; indentation would double them
+    private static final class CourseFormat {
+        static final Format<DataPersistence.CourseData> INSTANCE =
+                new Format<>(DataPersistence.CourseData.class, false);
+    }
+
+    private static final class AssignmentFormat {
+        static final Format<DataPersistence.AssignmentData> INSTANCE =
+                new Format<>(DataPersistence.AssignmentData.class, false);
+    }
+
+    /**
+     * Reader and writer for one root type
+     */
+    public static final class Format<T> {
+        private final ObjectReader reader;
+        private final ObjectWriter writer;
+
+        private Format(Class<T> type, boolean indent) {
+            this(MAPPER.constructType(type), indent);
+        }
+
+        private Format(TypeReference<T> type, boolean indent) {
+            this(MAPPER.constructType(type), indent);
+        }
+
+        private Format(JavaType type, boolean indent) {
+            reader = MAPPER.readerFor(type);
+            ObjectWriter typed = MAPPER.writerFor(type);
+            writer = indent ? typed : typed.without(SerializationFeature.INDENT_OUTPUT);
+        }
+
+        public T read(File file) throws IOException {
+            return reader.readValue(file);
+        }
+
+        public T read(byte[] json) throws IOException {
+            return reader.readValue(json);
+        }
+
+        public void write(File file, T value) throws IOException {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16)) {
+                writer.writeValue(out, value);
+            }
+        }
+
+        public byte[] toBytes(T value) throws IOException {
+            return writer.writeValueAsBytes(value);
+        }
+
+        public ObjectReader reader() {
+            return reader;
+        }
+
+        public ObjectWriter writer() {
+            return writer;
+        }
+    }
+}
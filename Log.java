@@ -0,0 +1,358 @@
+package org.app.util;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous structured logger for BUP UCAM Assignment Tracker
+ * Logging a record only captures the time, thread, message and key/value fields into a bounded
+ * lock-free ring buffer; a single daemon thread formats and writes records in batches, so callers
+ * never wait on console or file I/O. When the buffer is full, records are dropped and counted
+ * rather than blocking. Configure with system properties:
+ *   app.log.level  DEBUG, INFO (default), WARN or ERROR
+ *   app.log.format text (default) or json (one object per line)
+ *   app.log.file   append to this file instead of the console (WARN and ERROR go to stderr)
+ *   app.log.buffer ring buffer size in records, rounded up to a power of two (default 8192)
+ */
+public final class Log {
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_INSTANT;
+    private static final Metrics.Counter DROPPED = Metrics.counter("app_log_dropped_total",
+            "Log records dropped because the buffer was full");
+    private static final RingBuffer buffer = new RingBuffer(
+            Integer.getInteger("app.log.buffer", 8192));
+    private static final boolean json = "json".equalsIgnoreCase(System.getProperty("app.log.format"));
+    private static final PrintStream file = openFile(System.getProperty("app.log.file"));
+    private static volatile Level threshold = parseLevel(System.getProperty("app.log.level", "INFO"));
+    private static volatile boolean writerSleeping;
+    private static volatile long written;
+    private static final Thread writer;
+
+    static {
+        writer = new Thread(Log::drain, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(2000), "log-flush"));
+    }
+
+    private final String name;
+
+    private Log(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Logger named after a class's simple name; keep it in a static final field
+     */
+    public static Log get(Class<?> type) {
+        return new Log(type.getSimpleName());
+    }
+
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    public boolean isDebugEnabled() {
+        return threshold == Level.DEBUG;
+    }
+
+    /**
+     * Log a message with alternating key/value fields. A trailing Throwable is logged with its
+     * stack trace. Values are formatted on the writer thread, so pass immutable values.
+     */
+    public void debug(String message, Object... fields) {
+        log(Level.DEBUG, message, fields);
+    }
+
+    public void info(String message, Object... fields) {
+        log(Level.INFO, message, fields);
+    }
+
+    public void warn(String message, Object... fields) {
+        log(Level.WARN, message, fields);
+    }
+
+    public void error(String message, Object... fields) {
+        log(Level.ERROR, message, fields);
+    }
+
+    private void log(Level level, String message, Object[] fields) {
+        if (level.compareTo(threshold) < 0) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName().isEmpty() ? "#" + thread.threadId() : thread.getName();
+        if (!buffer.offer(new Entry(System.currentTimeMillis(), level, name, threadName, message, fields))) {
+            DROPPED.increment();
+            return;
+        }
+        if (writerSleeping) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Wait until everything logged so far has been written, or the timeout passes
+     */
+    public static boolean flush(long timeoutMillis) {
+        long target = buffer.published();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (written < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    private static void drain() {
+        StringBuilder out = new StringBuilder(8192);
+        StringBuilder err = new StringBuilder();
+        long reportedDrops = 0;
+        while (true) {
+            int count = 0;
+            Entry entry;
+            while (count < 1024 && (entry = buffer.poll()) != null) {
+                format(entry, file == null && entry.level.compareTo(Level.WARN) >= 0 ? err : out);
+                count++;
+            }
+            long drops = DROPPED.get();
+            if (drops > reportedDrops) {
+                format(new Entry(System.currentTimeMillis(), Level.WARN, "Log", "log-writer",
+                        "Log buffer full, records dropped", new Object[]{"dropped", drops - reportedDrops}),
+                        file == null ? err : out);
+                reportedDrops = drops;
+            }
+            write(out, err);
+            written += count;
+            if (count == 1024) {
+                continue;
+            }
+            writerSleeping = true;
+            if (buffer.isEmpty()) {
+                LockSupport.parkNanos(100_000_000);
+            }
+            writerSleeping = false;
+        }
+    }
+
+    private static void write(StringBuilder out, StringBuilder err) {
+        if (out.length() > 0) {
+            PrintStream stream = file != null ? file : System.out;
+            stream.print(out);
+            stream.flush();
+            out.setLength(0);
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            System.err.flush();
+            err.setLength(0);
+        }
+    }
+
+    private static void format(Entry record, StringBuilder out) {
+        Object[] fields = record.fields;
+        int pairs = fields.length / 2;
+        Throwable error = fields.length % 2 == 1 && fields[fields.length - 1] instanceof Throwable
+                ? (Throwable) fields[fields.length - 1] : null;
+        String timestamp = TIMESTAMP.format(Instant.ofEpochMilli(record.timestamp));
+        if (json) {
+            out.append("{\"ts\":\"").append(timestamp)
+                    .append("\",\"level\":\"").append(record.level)
+                    .append("\",\"logger\":\"").append(record.logger)
+                    .append("\",\"thread\":");
+            quote(record.thread, out);
+            out.append(",\"msg\":");
+            quote(record.message, out);
+            for (int i = 0; i < pairs; i++) {
+                out.append(',');
+                quote(String.valueOf(fields[2 * i]), out);
+                out.append(':');
+                Object value = fields[2 * i + 1];
+                if (value instanceof Number number && Double.isFinite(number.doubleValue()) || value instanceof Boolean) {
+                    out.append(value);
+                } else {
+                    quote(String.valueOf(value), out);
+                }
+            }
+            if (error != null) {
+                out.append(",\"error\":");
+                quote(error.toString(), out);
+                out.append(",\"stack\":");
+                quote(stackTrace(error), out);
+            }
+            out.append("}\n");
+        } else {
+            out.append(timestamp).append(' ').append(record.level)
+                    .append(record.level.name().length() == 4 ? "  [" : " [").append(record.thread)
+                    .append("] ").append(record.logger).append(" - ").append(record.message);
+            for (int i = 0; i < pairs; i++) {
+                // Keep one record per line even when a value spans several
+                String value = String.valueOf(fields[2 * i + 1]).replace("\r", "\\r").replace("\n", "\\n");
+                out.append(' ').append(fields[2 * i]).append('=').append(value);
+            }
+            out.append('\n');
+            if (error != null) {
+                out.append(stackTrace(error));
+            }
+        }
+    }
+
+    private static void quote(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+
+    private static Level parseLevel(String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Unknown log level " + value + ", using INFO");
+            return Level.INFO;
+        }
+    }
+
+    private static PrintStream openFile(String path) {
+        if (path == null) {
+            return null;
+        }
+        try {
+            OutputStream stream = new FileOutputStream(path, true);
+            return new PrintStream(stream, false, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not open log file " + path + ", logging to console: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        final long timestamp;
+        final Level level;
+        final String logger;
+        final String thread;
+        final String message;
+        final Object[] fields;
+
+        Entry(long timestamp, Level level, String logger, String thread, String message, Object[] fields) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.logger = logger;
+            this.thread = thread;
+            this.message = message;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * Bounded multi-producer, single-consumer queue. Each slot carries a sequence number: a
+     * producer claims position p by advancing the tail when slot p's sequence equals p, fills the
+     * slot and publishes it by setting the sequence to p + 1; the consumer frees it for the next
+     * lap by setting it to p + capacity. A full buffer makes offer fail instead of waiting.
+     */
+    private static final class RingBuffer {
+        private final AtomicReferenceArray<Entry> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final int mask;
+        private long head;
+
+        RingBuffer(int requested) {
+            int capacity = Integer.highestOneBit(Math.max(16, requested) - 1) << 1;
+            slots = new AtomicReferenceArray<>(capacity);
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+            mask = capacity - 1;
+        }
+
+        boolean offer(Entry record) {
+            long position = tail.get();
+            while (true) {
+                long difference = sequences.get((int) position & mask) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        break;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+            int index = (int) position & mask;
+            slots.set(index, record);
+            sequences.set(index, position + 1);
+            return true;
+        }
+
+        Entry poll() {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+            Entry record = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            return record;
+        }
+
+        boolean isEmpty() {
+            return sequences.get((int) head & mask) != head + 1;
+        }
+
+        /**
+         * Positions claimed so far; a flush waits for the writer to get past this
+         */
+        long published() {
+            return tail.get();
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package org.app;
 
 import org.app.gui.AssignmentTrackerGUI;
+import org.app.server.ApiServer;
+import org.app.service.BulkImporter;
+import org.app.service.StartupOrchestrator;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Main entry point for BUP UCAM Assignment Tracker
@@ -11,6 +23,47 @@ import javax.swing.*;
  */
 public class Main {
     public static void main(String[] args) {
+        // Headless server mode: java -jar app.jar --server [port]
+        if (args.length > 0 && args[0].equals("--server")) {
+            startServer(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            return;
+        }
+
+        // AOT cache training run, see TrainingRun and the cds profile in pom.xml
+        if (args.length > 0 && args[0].equals("--train")) {
+            try {
+                TrainingRun.run();
+            } catch (Exception e) {
+                System.err.println("Training run failed: " + e.getMessage());
+                e.printStackTrace();
+                System.exit(1);
+            }
+            // Swing and the email outbox leave threads behind; the archive is written on exit
+            System.exit(0);
+        }
+
+        // Rewrite data/snapshot.bin from the data files, e.g. after a bulk import or a restore
+        if (args.length > 0 && args[0].equals("--compact")) {
+            compact();
+            return;
+        }
+
+        // Bulk user import from CSV: --import users.csv [errors.csv], see BulkImporter for the columns
+        if (args.length > 0 && args[0].equals("--import")) {
+            if (args.length < 2) {
+                System.err.println("Usage: --import users.csv [errors.csv]");
+                System.exit(1);
+            }
+            importUsers(Path.of(args[1]), Path.of(args.length > 2 ? args[2] : args[1] + ".errors.csv"));
+            return;
+        }
+
+        // Start loading the stores while Swing initializes
+        StartupOrchestrator startup = new StartupOrchestrator();
+        startup.writeSnapshotOnExit();
+        startup.shutdownOnExit();
+        startup.startNotifications(Main::readOnEventDispatchThread);
+
         // Set look and feel for better integration
         try {
             // Try to set Nimbus look and feel for modern appearance
@@ -27,7 +80,7 @@ public class Main {
         // Launch GUI on Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
             try {
-                new AssignmentTrackerGUI();
+                new AssignmentTrackerGUI(startup);
             } catch (Exception e) {
                 System.err.println("An error occurred while starting the application:");
                 System.err.println(e.getMessage());
@@ -41,4 +94,72 @@ public class Main {
             }
         });
     }
+
+    private static void startServer(int port) {
+        try {
+            StartupOrchestrator startup = new StartupOrchestrator();
+            startup.writeSnapshotOnExit();
+            startup.shutdownOnExit();
+            ApiServer server = new ApiServer(startup.getUserService(), startup.getCourseService(),
+                    startup.getAssignmentService());
+            startup.startNotifications(server::readLocked);
+            server.start(port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        } catch (Exception e) {
+            System.err.println("Failed to start API server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * The GUI changes the services only on the event dispatch thread, so background jobs read there too
+     */
+    private static <T> T readOnEventDispatchThread(Supplier<T> action) throws InterruptedException {
+        AtomicReference<T> result = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> result.set(action.get()));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return result.get();
+    }
+
+    private static void importUsers(Path csv, Path errorReport) {
+        try {
+            StartupOrchestrator startup = new StartupOrchestrator();
+            startup.writeSnapshotOnExit();
+            startup.shutdownOnExit();
+            startup.awaitAll();
+            BulkImporter.ImportReport report;
+            try (Reader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+                report = new BulkImporter(startup.getUserService(), startup.getCourseService()).importUsers(in);
+            }
+            System.out.println("Import finished: " + report);
+            if (report.hasErrors()) {
+                try (Writer out = Files.newBufferedWriter(errorReport, StandardCharsets.UTF_8)) {
+                    report.writeErrorReport(out);
+                }
+                System.out.println("Rejected rows written to " + errorReport);
+            }
+            // Verification emails still queued are saved on exit and sent by the next start
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static void compact() {
+        try {
+            new StartupOrchestrator().writeSnapshot();
+        } catch (Exception e) {
+            System.err.println("Failed to write snapshot: " + e.getMessage());
+            System.exit(1);
+        }
+        // The email outbox leaves threads behind
+        System.exit(0);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,234 @@
+package org.app.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Metrics registry for BUP UCAM Assignment Tracker
+ * Process-wide counters, gauges and latency timers, identified by a Prometheus-style name plus
+ * label pairs. Look a metric up once (typically into a static final field) and update it on the
+ * hot path: counters are LongAdders and timers record into a LatencyHistogram, so updates never
+ * lock. Export with writePrometheus / toPrometheus (text format 0.0.4) or writeJson; with
+ * -Dapp.metrics.file=path a snapshot is written there on exit (JSON if the name ends in .json).
+ */
+public final class Metrics {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    static {
+        String file = System.getProperty("app.metrics.file");
+        if (file != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> write(new File(file)), "metrics-export"));
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    public static final class Timer {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        /**
+         * Record the time since a System.nanoTime() reading
+         */
+        public void record(long startNanos) {
+            histogram.record(System.nanoTime() - startNanos);
+        }
+
+        public void recordNanos(long nanos) {
+            histogram.record(nanos);
+        }
+
+        public LatencyHistogram.Snapshot snapshot() {
+            return histogram.snapshot();
+        }
+    }
+
+    private enum Type { COUNTER, GAUGE, SUMMARY }
+
+    private static final class Family {
+        final String name;
+        final String help;
+        final Type type;
+        final Map<String, Object> series = new ConcurrentHashMap<>(); // label text -> Counter/Timer/DoubleSupplier
+        final Map<String, Map<String, String>> labels = new ConcurrentHashMap<>();
+
+        Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    public static Counter counter(String name, String help, String... labelPairs) {
+        return (Counter) register(name, help, Type.COUNTER, labelPairs, Counter::new, false);
+    }
+
+    public static Timer timer(String name, String help, String... labelPairs) {
+        return (Timer) register(name, help, Type.SUMMARY, labelPairs, Timer::new, false);
+    }
+
+    /**
+     * Register a value read at export time; registering the same name and labels again replaces it
+     */
+    public static void gauge(String name, String help, DoubleSupplier value, String... labelPairs) {
+        register(name, help, Type.GAUGE, labelPairs, () -> value, true);
+    }
+
+    private static Object register(String name, String help, Type type, String[] labelPairs,
+                                   Supplier<Object> factory, boolean replace) {
+        if (!name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*")) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        if (labelPairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs: " + name);
+        }
+        Family family = families.computeIfAbsent(name, n -> new Family(n, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a "
+                    + family.type.name().toLowerCase());
+        }
+        Map<String, String> labels = new LinkedHashMap<>();
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < labelPairs.length; i += 2) {
+            labels.put(labelPairs[i], labelPairs[i + 1]);
+            key.append(key.length() > 0 ? "," : "").append(labelPairs[i]).append("=\"")
+                    .append(escape(labelPairs[i + 1])).append('"');
+        }
+        family.labels.putIfAbsent(key.toString(), labels);
+        if (replace) {
+            Object metric = factory.get();
+            family.series.put(key.toString(), metric);
+            return metric;
+        }
+        return family.series.computeIfAbsent(key.toString(), k -> factory.get());
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Prometheus text exposition format; timers are summaries in seconds
+     */
+    public static void writePrometheus(Writer out) throws IOException {
+        for (Family family : families.values()) {
+            out.write("# HELP " + family.name + " " + family.help.replace("\\", "\\\\").replace("\n", "\\n") + "\n");
+            out.write("# TYPE " + family.name + " " + family.type.name().toLowerCase() + "\n");
+            for (Map.Entry<String, Object> series : new TreeMap<>(family.series).entrySet()) {
+                String labels = series.getKey();
+                Object metric = series.getValue();
+                if (metric instanceof Counter) {
+                    out.write(sample(family.name, labels, ((Counter) metric).get()));
+                } else if (metric instanceof DoubleSupplier) {
+                    out.write(sample(family.name, labels, ((DoubleSupplier) metric).getAsDouble()));
+                } else {
+                    LatencyHistogram.Snapshot snapshot = ((Timer) metric).snapshot();
+                    for (double quantile : QUANTILES) {
+                        String quantileLabel = (labels.isEmpty() ? "" : labels + ",") + "quantile=\"" + quantile + "\"";
+                        out.write(sample(family.name, quantileLabel, snapshot.getPercentileNanos(quantile * 100) / 1e9));
+                    }
+                    out.write(sample(family.name + "_sum", labels, snapshot.getSumNanos() / 1e9));
+                    out.write(sample(family.name + "_count", labels, snapshot.getCount()));
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static String sample(String name, String labels, double value) {
+        String number = value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value) : Double.toString(value);
+        return name + (labels.isEmpty() ? "" : "{" + labels + "}") + " " + number + "\n";
+    }
+
+    public static String toPrometheus() {
+        StringWriter out = new StringWriter();
+        try {
+            writePrometheus(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringWriter does not throw
+        }
+        return out.toString();
+    }
+
+    /**
+     * Every series as a flat list of {name, type, labels, ...values}; timer values are milliseconds
+     */
+    public static List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Family family : families.values()) {
+            for (Map.Entry<String, Object> series : new TreeMap<>(family.series).entrySet()) {
+                Map<String, Object> json = new LinkedHashMap<>();
+                json.put("name", family.name);
+                json.put("type", family.type == Type.SUMMARY ? "timer" : family.type.name().toLowerCase());
+                json.put("labels", family.labels.get(series.getKey()));
+                Object metric = series.getValue();
+                if (metric instanceof Counter) {
+                    json.put("value", ((Counter) metric).get());
+                } else if (metric instanceof DoubleSupplier) {
+                    json.put("value", ((DoubleSupplier) metric).getAsDouble());
+                } else {
+                    LatencyHistogram.Snapshot snapshot = ((Timer) metric).snapshot();
+                    json.put("count", snapshot.getCount());
+                    json.put("meanMs", snapshot.getMeanNanos() / 1e6);
+                    json.put("p50Ms", snapshot.getPercentileNanos(50) / 1e6);
+                    json.put("p90Ms", snapshot.getPercentileNanos(90) / 1e6);
+                    json.put("p99Ms", snapshot.getPercentileNanos(99) / 1e6);
+                    json.put("p999Ms", snapshot.getPercentileNanos(99.9) / 1e6);
+                    json.put("maxMs", snapshot.getMaxNanos() / 1e6);
+                }
+                result.add(json);
+            }
+        }
+        return result;
+    }
+
+    public static void writeJson(OutputStream out) throws IOException {
+        JsonCodec.mapper().writeValue(out, snapshot());
+    }
+
+    /**
+     * Write a snapshot to a file: JSON if its name ends in .json, otherwise Prometheus text
+     */
+    public static void write(File file) {
+        try (OutputStream out = new FileOutputStream(file)) {
+            if (file.getName().endsWith(".json")) {
+                writeJson(out);
+            } else {
+                writePrometheus(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            }
+            System.out.println("✓ Metrics written to " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package org.app.service;
+
+import org.app.model.*;
+import org.app.util.EmailOutbox;
+import org.app.util.EmailTemplate;
+import org.app.util.EmailUtil;
+import org.app.util.Log;
+import javax.mail.MessagingException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deadline reminder service for BUP UCAM Assignment Tracker
+ * Sends each student one digest of the assignments due soon in their enrolled courses.
+ * Digests go out in batches with a fixed send rate, and every delivered reminder is
+ * appended to a log so that re-running the job never mails the same reminder twice.
+ * Once created, the job runs on its own thread every hour and as soon as an assignment is
+ * created that is already due within the reminder window; shutdown stops a run mid-batch.
+ * The services are not thread-safe, so each run copies what it needs through the DataAccess
+ * given by the caller (the API server's read lock, or the event dispatch thread) and renders
+ * and sends the digests from that copy.
+ * It also queues a grade_posted email on the user service's outbox for every graded submission,
+ * and an enrollment_confirmation email for every new enrollment.
+ */
+public class NotificationService implements AssignmentService.ChangeListener, CourseService.ChangeListener {
+    private static final Log log = Log.get(NotificationService.class);
+
+    private static final String DATA_DIR = "data";
+    private static final String SENT_LOG_FILE = DATA_DIR + "/notifications_sent.log";
+    private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
+    private static final Duration RUN_INTERVAL = Duration.ofHours(1);
+    // Leave the first run until startup has settled
+    private static final Duration FIRST_RUN_DELAY = Duration.ofMinutes(1);
+
+    /**
+     * Delivery hook, defaults to EmailUtil so callers can swap in a dry-run sender
+     */
+    public interface DigestSender {
+        void send(String to, String subject, String body) throws MessagingException;
+    }
+
+    /**
+     * Runs a read of the services on whichever thread or lock guards them
+     */
+    public interface DataAccess {
+        <T> T read(Supplier<T> action) throws InterruptedException;
+    }
+
+    private final UserService userService;
+    private final CourseService courseService;
+    private final AssignmentService assignmentService;
+    private final DataAccess dataAccess;
+    private DigestSender sender = EmailUtil::sendEmail;
+    private Duration reminderWindow = Duration.ofHours(48);
+    private int batchSize = 500;
+    private int messagesPerSecond = 10;
+    private long pauseBetweenBatchesMillis = 2000;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Read the services directly, for callers that never change them while the job runs
+     */
+    public NotificationService(UserService userService, CourseService courseService,
+                               AssignmentService assignmentService) {
+        this(userService, courseService, assignmentService, Supplier::get);
+    }
+
+    public NotificationService(UserService userService, CourseService courseService,
+                               AssignmentService assignmentService, DataAccess dataAccess) {
+        this.userService = userService;
+        this.courseService = courseService;
+        this.assignmentService = assignmentService;
+        this.dataAccess = dataAccess;
+
+        assignmentService.addChangeListener(this);
+        courseService.addChangeListener(this);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadline-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduled, FIRST_RUN_DELAY.toMillis(),
+                RUN_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onAssignmentCreated(Assignment assignment) {
+        // The hourly run could come too late for an assignment that is already due soon
+        if (assignment.getDueDate().isBefore(LocalDateTime.now().plus(reminderWindow))) {
+            try {
+                scheduler.execute(this::runScheduled);
+            } catch (RejectedExecutionException e) {
+                // Already shut down
+            }
+        }
+    }
+
+    @Override
+    public void onSubmissionsGraded(List<Submission> graded) {
+        EmailOutbox outbox = userService.getEmailOutbox();
+        for (Submission submission : graded) {
+            Student student = submission.getStudent();
+            if (!student.isActive()) {
+                continue;
+            }
+            Assignment assignment = submission.getAssignment();
+            String feedback = submission.getFeedback();
+            Map<String, Object> values = new HashMap<>();
+            values.put("NAME", student.getName());
+            values.put("ASSIGNMENT", assignment.getTitle());
+            values.put("COURSE", assignment.getCourse().getCourseName());
+            values.put("MARKS", submission.getMarks());
+            values.put("MAX_MARKS", assignment.getMaxMarks());
+            values.put("FEEDBACK", feedback == null || feedback.isBlank() ? "-" : feedback);
+            outbox.enqueue(student.getEmail(), EmailUtil.GRADE_POSTED_TEMPLATE, values);
+        }
+    }
+
+    @Override
+    public void onStudentEnrolled(Course course, Student student) {
+        if (!student.isActive()) {
+            return;
+        }
+        userService.getEmailOutbox().enqueue(student.getEmail(), EmailUtil.ENROLLMENT_CONFIRMATION_TEMPLATE,
+                Map.of("NAME", student.getName(),
+                        "COURSE", course.getCourseName(),
+                        "COURSE_CODE", course.getCourseCode(),
+                        "INSTRUCTOR", course.getInstructor().getName()));
+    }
+
+    /**
+     * Stop the job, interrupting a run in progress, and stop following changes
+     */
+    public void shutdown() {
+        assignmentService.removeChangeListener(this);
+        courseService.removeChangeListener(this);
+        scheduler.shutdownNow();
+    }
+
+    private void runScheduled() {
+        try {
+            sendDeadlineReminders();
+        } catch (RuntimeException e) {
+            // A failed run must not cancel the ones after it
+            log.error("Deadline reminder run failed", e);
+        }
+    }
+
+    /**
+     * Send deadline digests for every assignment due within the reminder window
+     */
+    public RunSummary sendDeadlineReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plus(reminderWindow);
+
+        RunSummary summary = new RunSummary();
+        DueSoon dueSoon;
+        try {
+            dueSoon = dataAccess.read(() -> collectDueSoon(now, horizon));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            summary.interrupted = true;
+            return summary;
+        }
+        if (dueSoon.assignmentIds.isEmpty()) {
+            log.info("✓ No assignments due soon", "windowHours", reminderWindow.toHours());
+            return summary;
+        }
+        summary.studentsScanned = dueSoon.studentsScanned;
+        summary.skipped = dueSoon.skipped;
+
+        // Only reminders for assignments still in the window are kept in memory
+        Map<String, Set<String>> sent = loadSentLog(dueSoon.assignmentIds);
+        List<Recipient> recipients = dueSoon.recipients;
+        EmailTemplate digestTemplate = EmailUtil.getTemplate(EmailUtil.DEADLINE_REMINDER_TEMPLATE);
+        EmailTemplate singleTemplate = EmailUtil.getTemplate(EmailUtil.DEADLINE_REMINDER_SINGLE_TEMPLATE);
+        Map<String, Object> values = new HashMap<>();
+        StringBuilder body = new StringBuilder(512);
+        StringBuilder assignmentList = new StringBuilder(256);
+        long sendIntervalMillis = messagesPerSecond > 0 ? 1000L / messagesPerSecond : 0;
+
+        try (BufferedWriter sentLog = new BufferedWriter(new FileWriter(SENT_LOG_FILE, true))) {
+            for (int start = 0; start < recipients.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, recipients.size());
+                for (int i = start; i < end; i++) {
+                    Recipient student = recipients.get(i);
+                    List<DueAssignment> pending = notYetSent(student, sent);
+                    if (pending.isEmpty()) {
+                        summary.skipped++;
+                        continue;
+                    }
+
+                    long sendStart = System.currentTimeMillis();
+                    try {
+                        fillDigestValues(values, assignmentList, student, pending);
+                        EmailTemplate template = pending.size() == 1 ? singleTemplate : digestTemplate;
+                        sender.send(student.email, template.renderSubject(values),
+                                template.renderBody(values, body).toString());
+                        for (DueAssignment assignment : pending) {
+                            sent.computeIfAbsent(assignment.assignmentId, k -> new HashSet<>())
+                                    .add(student.userId);
+                            sentLog.write(student.userId + "|" + assignment.assignmentId);
+                            sentLog.newLine();
+                        }
+                        summary.digestsSent++;
+                        summary.remindersSent += pending.size();
+                    } catch (MessagingException e) {
+                        summary.failed++;
+                        log.warn("Failed to send reminder digest", "email", student.email, "error", e.getMessage());
+                    }
+                    if (!pace(sendStart, sendIntervalMillis)) {
+                        break;
+                    }
+                }
+
+                // Flush once per batch so an interrupted run resumes where it stopped
+                sentLog.flush();
+                if (Thread.currentThread().isInterrupted()
+                        || (end < recipients.size() && !sleep(pauseBetweenBatchesMillis))) {
+                    summary.interrupted = true;
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error writing notification log", "error", e.getMessage());
+        }
+
+        if (summary.interrupted) {
+            log.info("✓ Deadline reminders stopped early, the next run resumes", "summary", summary.toString());
+        } else {
+            log.info("✓ Deadline reminders sent", "summary", summary.toString());
+        }
+        return summary;
+    }
+
+    /**
+     * Copy every active student's unsubmitted assignments due within the window; runs under dataAccess
+     */
+    private DueSoon collectDueSoon(LocalDateTime now, LocalDateTime horizon) {
+        // Group the (small) set of assignments due soon by course once, instead of per student
+        DueSoon dueSoon = new DueSoon();
+        Map<String, List<DueAssignment>> dueSoonByCourse = new HashMap<>();
+        for (Course course : courseService.getAllCourses()) {
+            for (Assignment assignment : assignmentService.getAssignmentsByCourse(course)) {
+                if (assignment.getStatus() == AssignmentStatus.ACTIVE
+                        && assignment.getDueDate().isAfter(now)
+                        && !assignment.getDueDate().isAfter(horizon)) {
+                    dueSoonByCourse.computeIfAbsent(course.getCourseId(), k -> new ArrayList<>())
+                            .add(new DueAssignment(assignment));
+                    dueSoon.assignmentIds.add(assignment.getAssignmentId());
+                }
+            }
+        }
+        if (dueSoon.assignmentIds.isEmpty()) {
+            return dueSoon;
+        }
+
+        for (Student student : userService.getAllStudents()) {
+            dueSoon.studentsScanned++;
+            if (!student.isActive()) {
+                continue;
+            }
+            List<DueAssignment> pending = new ArrayList<>();
+            Set<String> submitted = null;
+            for (Course course : student.getEnrolledCourses()) {
+                List<DueAssignment> due = dueSoonByCourse.get(course.getCourseId());
+                if (due == null) {
+                    continue;
+                }
+                if (submitted == null) {
+                    submitted = new HashSet<>();
+                    for (Submission submission : student.getSubmissions()) {
+                        submitted.add(submission.getAssignment().getAssignmentId());
+                    }
+                }
+                for (DueAssignment assignment : due) {
+                    if (!submitted.contains(assignment.assignmentId)) {
+                        pending.add(assignment);
+                    }
+                }
+            }
+            if (pending.isEmpty()) {
+                dueSoon.skipped++;
+            } else {
+                pending.sort(Comparator.comparing(assignment -> assignment.dueDate));
+                dueSoon.recipients.add(new Recipient(student, pending));
+            }
+        }
+        return dueSoon;
+    }
+
+    private List<DueAssignment> notYetSent(Recipient student, Map<String, Set<String>> sent) {
+        List<DueAssignment> pending = new ArrayList<>(student.dueSoon.size());
+        for (DueAssignment assignment : student.dueSoon) {
+            Set<String> recipients = sent.get(assignment.assignmentId);
+            if (recipients == null || !recipients.contains(student.userId)) {
+                pending.add(assignment);
+            }
+        }
+        return pending;
+    }
+
+    private void fillDigestValues(Map<String, Object> values, StringBuilder assignmentList,
+                                  Recipient student, List<DueAssignment> pending) {
+        assignmentList.setLength(0);
+        for (DueAssignment assignment : pending) {
+            assignmentList.append("- ").append(assignment.courseCode)
+                    .append(": ").append(assignment.title)
+                    .append(" (due ").append(assignment.dueDate.format(DUE_FORMAT)).append(")\n");
+        }
+        values.put("NAME", student.name);
+        values.put("COUNT", pending.size());
+        values.put("ASSIGNMENT", pending.get(0).title);
+        values.put("ASSIGNMENTS", assignmentList);
+    }
+
+    /**
+     * Load delivered reminders, keeping only those for assignments still in the window
+     */
+    private Map<String, Set<String>> loadSentLog(Set<String> dueSoonIds) {
+        Map<String, Set<String>> sent = new HashMap<>();
+        File file = new File(SENT_LOG_FILE);
+        if (!file.exists()) {
+            new File(DATA_DIR).mkdirs();
+            return sent;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf('|');
+                if (separator <= 0) {
+                    continue;
+                }
+                String assignmentId = line.substring(separator + 1);
+                if (dueSoonIds.contains(assignmentId)) {
+                    sent.computeIfAbsent(assignmentId, k -> new HashSet<>()).add(line.substring(0, separator));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error loading notification log", "error", e.getMessage());
+        }
+        return sent;
+    }
+
+    /**
+     * Wait out the rest of the send interval; false if interrupted (the flag stays set)
+     */
+    private boolean pace(long sendStart, long intervalMillis) {
+        long elapsed = System.currentTimeMillis() - sendStart;
+        return sleep(intervalMillis - elapsed);
+    }
+
+    private boolean sleep(long millis) {
+        if (millis <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Configuration
+    public void setSender(DigestSender sender) { this.sender = sender; }
+    public void setReminderWindow(Duration reminderWindow) { this.reminderWindow = reminderWindow; }
+    public void setBatchSize(int batchSize) { this.batchSize = Math.max(1, batchSize); }
+    public void setMessagesPerSecond(int messagesPerSecond) { this.messagesPerSecond = messagesPerSecond; }
+    public void setPauseBetweenBatchesMillis(long pauseMillis) { this.pauseBetweenBatchesMillis = pauseMillis; }
+
+    // What a run copies from the services before it starts sending
+    private static final class DueSoon {
+        final Set<String> assignmentIds = new HashSet<>();
+        final List<Recipient> recipients = new ArrayList<>();
+        int studentsScanned;
+        int skipped;
+    }
+
+    private static final class Recipient {
+        final String userId;
+        final String email;
+        final String name;
+        final List<DueAssignment> dueSoon;
+
+        Recipient(Student student, List<DueAssignment> dueSoon) {
+            this.userId = student.getUserId();
+            this.email = student.getEmail();
+            this.name = student.getName();
+            this.dueSoon = dueSoon;
+        }
+    }
+
+    private static final class DueAssignment {
+        final String assignmentId;
+        final String title;
+        final String courseCode;
+        final LocalDateTime dueDate;
+
+        DueAssignment(Assignment assignment) {
+            this.assignmentId = assignment.getAssignmentId();
+            this.title = assignment.getTitle();
+            this.courseCode = assignment.getCourse().getCourseCode();
+            this.dueDate = assignment.getDueDate();
+        }
+    }
+
+    /**
+     * Outcome of one reminder run
+     */
+    public static class RunSummary {
+        public int studentsScanned;
+        public int digestsSent;
+        public int remindersSent;
+        public int skipped;
+        public int failed;
+        public boolean interrupted;
+
+        @Override
+        public String toString() {
+            return String.format("scanned=%d, digests=%d, reminders=%d, skipped=%d, failed=%d%s",
+                    studentsScanned, digestsSent, remindersSent, skipped, failed, interrupted ? ", interrupted" : "");
+        }
+    }
+}
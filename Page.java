@@ -0,0 +1,64 @@
+package org.app.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * One page of a cursor-based listing for BUP UCAM Assignment Tracker
+ * Items come from an ID-ordered map; the cursor is the ID of the last item returned,
+ * so fetching the next page is a tailMap lookup that costs O(log n + limit).
+ */
+public class Page<T> {
+    /**
+     * Orders generated IDs such as "SUB-0009" < "SUB-0010" < "SUB-10000" (shorter counters first)
+     */
+    public static final Comparator<String> ID_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    public static final int MAX_LIMIT = 1000;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    private Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Read up to 'limit' entries after 'cursor' (null starts from the beginning)
+     */
+    public static <T> Page<T> of(NavigableMap<String, T> source, String cursor, int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (source == null) {
+            return new Page<>(Collections.emptyList(), null);
+        }
+        NavigableMap<String, T> view = cursor == null ? source : source.tailMap(cursor, false);
+        List<T> items = new ArrayList<>(limit);
+        String lastId = null;
+        for (Map.Entry<String, T> entry : view.entrySet()) {
+            if (items.size() == limit) {
+                // There is at least one more entry, so hand out a cursor
+                return new Page<>(items, lastId);
+            }
+            items.add(entry.getValue());
+            lastId = entry.getKey();
+        }
+        return new Page<>(items, null);
+    }
+
+    public List<T> getItems() { return items; }
+
+    /**
+     * Cursor for the following page, or null when this is the last page
+     */
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
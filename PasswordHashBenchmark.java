@@ -0,0 +1,46 @@
+package org.app.test;
+
+import org.app.util.PasswordHasher;
+
+/**
+ * Picks a PBKDF2 iteration count whose single-hash latency is close to a target on this machine.
+ * Usage: PasswordHashBenchmark [targetMillis]
+ */
+public class PasswordHashBenchmark {
+    public static void main(String[] args) {
+        double targetMillis = args.length > 0 ? Double.parseDouble(args[0]) : 250;
+        String password = "benchmark-password";
+
+        // Warm up so the JIT has compiled the HMAC loop before we measure
+        PasswordHasher.setIterations(10_000);
+        for (int i = 0; i < 20; i++) {
+            PasswordHasher.hash(password);
+        }
+
+        System.out.println("=== Password Hash Benchmark (target " + targetMillis + " ms) ===");
+        int iterations = 10_000;
+        double millis = measure(password, iterations);
+        System.out.println(String.format("%,10d iterations: %8.2f ms", iterations, millis));
+        while (millis < targetMillis && iterations < 20_000_000) {
+            iterations *= 2;
+            millis = measure(password, iterations);
+            System.out.println(String.format("%,10d iterations: %8.2f ms", iterations, millis));
+        }
+
+        // PBKDF2 cost is linear in the iteration count, so scale to the target
+        int recommended = (int) Math.max(10_000, Math.round(iterations * targetMillis / millis / 1000.0) * 1000);
+        double check = measure(password, recommended);
+        System.out.println(String.format("Recommended: %,d iterations (%.2f ms per hash)", recommended, check));
+        System.out.println("Run the application with -Dapp.password.iterations=" + recommended);
+    }
+
+    private static double measure(String password, int iterations) {
+        PasswordHasher.setIterations(iterations);
+        int runs = 5;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            PasswordHasher.hash(password);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / runs;
+    }
+}
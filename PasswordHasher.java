@@ -0,0 +1,106 @@
+package org.app.util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Password hashing utility for BUP UCAM Assignment Tracker
+ * Stores passwords as salted PBKDF2-HMAC-SHA256 hashes in the form
+ * "pbkdf2-sha256$iterations$salt$hash". The iteration count is the tunable cost;
+ * set it with -Dapp.password.iterations (see PasswordHashBenchmark for picking a value).
+ */
+public class PasswordHasher {
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom SALT_RANDOM = new SecureRandom();
+    public static final int MIN_ITERATIONS = 10_000;
+
+    private static volatile int iterations = Integer.getInteger("app.password.iterations", 210_000);
+
+    /**
+     * Hash a password with a fresh salt at the current cost
+     */
+    public static String hash(String password) {
+        return hash(password, iterations);
+    }
+
+    /**
+     * Hash a password at an explicit cost. Hashes below the current cost are upgraded on the
+     * user's next successful login (see needsRehash), so bulk imports can use a cheap cost.
+     */
+    public static String hash(String password, int cost) {
+        byte[] salt = new byte[SALT_BYTES];
+        SALT_RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, cost);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + cost + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Check a password against a stored hash in constant time
+     */
+    public static boolean verify(String password, String stored) {
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(PREFIX)) {
+            return false;
+        }
+        try {
+            int cost = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, pbkdf2(password, salt, cost));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * True if the stored value is a hash produced by this class (otherwise it is a legacy plaintext password)
+     */
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + "$");
+    }
+
+    /**
+     * True if the stored hash was made with a lower cost than the current setting
+     */
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return true;
+        }
+    }
+
+    public static int getIterations() {
+        return iterations;
+    }
+
+    public static void setIterations(int cost) {
+        if (cost < MIN_ITERATIONS) {
+            throw new IllegalArgumentException("Iteration count must be at least " + MIN_ITERATIONS);
+        }
+        iterations = cost;
+    }
+
+    static byte[] pbkdf2(String password, byte[] salt, int cost) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, cost, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.app.test;
+
+import org.app.service.SearchIndex;
+import org.app.service.SearchIndex.DocumentType;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures SearchIndex indexing, query latency and save/load time on synthetic documents whose
+ * words follow a Zipf-like distribution (a few very common words, a long tail of rare ones).
+ * Usage: SearchBenchmark [documents] [wordsPerDocument]
+ */
+public class SearchBenchmark {
+    public static void main(String[] args) throws IOException {
+        int documents = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int words = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Random random = new Random(11);
+        String[] vocabulary = new String[50_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "t" + Integer.toString(i, 36);
+        }
+        // Cumulative Zipf weights (s = 1) for sampling words
+        double[] cumulative = new double[vocabulary.length];
+        double total = 0;
+        for (int i = 0; i < vocabulary.length; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+
+        System.out.println("=== Search Benchmark ===");
+        System.out.println(String.format("%,d documents x %d words", documents, words));
+
+        SearchIndex index = new SearchIndex();
+        DocumentType[] types = DocumentType.values();
+        StringBuilder text = new StringBuilder(words * 6);
+        long start = System.nanoTime();
+        for (int d = 0; d < documents; d++) {
+            text.setLength(0);
+            for (int w = 0; w < words; w++) {
+                text.append(vocabulary[sample(cumulative, total, random)]).append(' ');
+            }
+            index.index(types[d % types.length], "D" + d, text.toString());
+        }
+        double indexSeconds = (System.nanoTime() - start) / 1e9;
+        System.gc();
+        long usedMb = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) >> 20;
+        System.out.println(String.format("indexed in %.1f s (%.1f us/document), %,d terms, ~%d MB heap",
+                indexSeconds, indexSeconds * 1e6 / documents, index.getTermCount(), usedMb));
+
+        // Query mixes: rare, mid-frequency and common terms, one to three words
+        for (int termsPerQuery = 1; termsPerQuery <= 3; termsPerQuery++) {
+            int queries = 500;
+            long[] nanos = new long[queries];
+            for (int q = 0; q < queries; q++) {
+                StringBuilder query = new StringBuilder();
+                for (int t = 0; t < termsPerQuery; t++) {
+                    query.append(vocabulary[sample(cumulative, total, random)]).append(' ');
+                }
+                long queryStart = System.nanoTime();
+                index.search(query.toString(), null, 20, null);
+                nanos[q] = System.nanoTime() - queryStart;
+            }
+            Arrays.sort(nanos);
+            System.out.println(String.format("%d-term queries: p50 %.2f ms, p99 %.2f ms, max %.2f ms", termsPerQuery,
+                    nanos[queries / 2] / 1e6, nanos[queries * 99 / 100] / 1e6, nanos[queries - 1] / 1e6));
+        }
+
+        File file = File.createTempFile("search-benchmark", ".bin");
+        file.deleteOnExit();
+        start = System.nanoTime();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            index.writeTo(out);
+        }
+        double saveSeconds = (System.nanoTime() - start) / 1e9;
+        start = System.nanoTime();
+        SearchIndex loaded;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            loaded = SearchIndex.readFrom(in);
+        }
+        double loadSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("save %.2f s, load %.2f s, %d MB on disk, %,d documents after reload",
+                saveSeconds, loadSeconds, file.length() >> 20, loaded.size()));
+    }
+
+    private static int sample(double[] cumulative, double total, Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+}
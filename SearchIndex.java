@@ -0,0 +1,450 @@
+package org.app.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+/**
+ * Full-text inverted index for BUP UCAM Assignment Tracker
+ * Documents are (type, id, text) triples. Text is split into lower-case words, and every word
+ * maps to a postings list of the documents containing it. Each posting is a single int holding
+ * the document number in the upper 24 bits and the term frequency (capped at 255) in the low
+ * 8 bits, so a million short documents fit in a few tens of megabytes. Queries are ranked with
+ * Okapi BM25.
+ *
+ * Re-indexing or removing a document leaves a tombstone that queries skip; tombstones are
+ * compacted away once they make up a quarter of the index, and are never written to disk.
+ * All methods are synchronized.
+ */
+public class SearchIndex {
+    public enum DocumentType { COURSE, ASSIGNMENT, SUBMISSION }
+
+    private static final int FILE_MAGIC = 0x53494458; // "SIDX"
+    private static final int FILE_VERSION = 1;
+    private static final int MAX_DOCUMENTS = 1 << 24;
+    private static final int MAX_TERM_FREQUENCY = 255;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+    private String[] ids = new String[1024];
+    private byte[] types = new byte[1024];
+    private int[] lengths = new int[1024];
+    private final BitSet deleted = new BitSet();
+    private int documentCount;
+    private int deletedCount;
+    private long liveLength;
+    // Query scratch space, reused between (synchronized) queries and cleared after each one
+    private float[] scores = new float[0];
+    private int[] touched = new int[64];
+
+    /**
+     * Add a document, replacing any earlier version with the same type and id
+     */
+    public synchronized void index(DocumentType type, String id, String text) {
+        remove(type, id);
+        if (documentCount == MAX_DOCUMENTS) {
+            compact();
+            if (documentCount == MAX_DOCUMENTS) {
+                throw new IllegalStateException("Search index is full");
+            }
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = tokenize(text, term -> frequencies.merge(term, 1, Integer::sum));
+        int document = documentCount++;
+        ensureCapacity(documentCount);
+        ids[document] = id;
+        types[document] = (byte) type.ordinal();
+        lengths[document] = length;
+        positions.put(key(type, id), document);
+        liveLength += length;
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings())
+                    .add((document << 8) | Math.min(entry.getValue(), MAX_TERM_FREQUENCY));
+        }
+    }
+
+    /**
+     * Remove a document if present
+     */
+    public synchronized void remove(DocumentType type, String id) {
+        Integer document = positions.remove(key(type, id));
+        if (document != null) {
+            tombstone(document);
+            compactIfSparse();
+        }
+    }
+
+    public synchronized boolean contains(DocumentType type, String id) {
+        return positions.containsKey(key(type, id));
+    }
+
+    /**
+     * Remove every document whose type and id the predicate rejects
+     */
+    public synchronized void retainIf(BiPredicate<DocumentType, String> keep) {
+        DocumentType[] values = DocumentType.values();
+        for (int document = 0; document < documentCount; document++) {
+            if (!deleted.get(document) && !keep.test(values[types[document]], ids[document])) {
+                positions.remove(key(values[types[document]], ids[document]));
+                tombstone(document);
+            }
+        }
+        compactIfSparse();
+    }
+
+    /**
+     * Best matches for a free-text query, highest BM25 score first. type may be null for all
+     * types; filter, if given, is consulted only for documents that would make the top results.
+     */
+    public synchronized List<Hit> search(String query, DocumentType type, int limit,
+                                         BiPredicate<DocumentType, String> filter) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms::add);
+        int live = documentCount - deletedCount;
+        if (terms.isEmpty() || live == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        float averageLength = Math.max(1f, (float) liveLength / live);
+        if (scores.length < documentCount) {
+            scores = new float[Math.max(documentCount, scores.length * 2)];
+        }
+        float[] scores = this.scores;
+        int touchedCount = 0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                float idf = (float) Math.log(1 + (live - list.size + 0.5) / (list.size + 0.5));
+                touchedCount = accumulate(list, idf, averageLength, type == null ? -1 : type.ordinal(), touchedCount);
+            }
+        }
+
+        // Keep the best `limit` documents in a min-heap (of document numbers) ordered by score
+        int[] heap = new int[Math.min(limit, touchedCount)];
+        int heapSize = 0;
+        DocumentType[] values = DocumentType.values();
+        for (int i = 0; i < touchedCount; i++) {
+            int document = touched[i];
+            if (heapSize == heap.length && scores[document] <= scores[heap[0]]) {
+                continue;
+            }
+            if (filter != null && !filter.test(values[types[document]], ids[document])) {
+                continue;
+            }
+            if (heapSize < heap.length) {
+                heap[heapSize] = document;
+                siftUp(heap, heapSize++, scores);
+            } else {
+                heap[0] = document;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        Hit[] ranked = new Hit[heapSize];
+        while (heapSize > 0) {
+            int document = heap[0];
+            ranked[--heapSize] = new Hit(values[types[document]], ids[document], scores[document]);
+            heap[0] = heap[heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        List<Hit> hits = new ArrayList<>(Arrays.asList(ranked));
+        for (int i = 0; i < touchedCount; i++) {
+            scores[touched[i]] = 0;
+        }
+        return hits;
+    }
+
+    /**
+     * Add one term's BM25 contributions to the scratch scores; returns the new touched count
+     */
+    private int accumulate(Postings list, float idf, float averageLength, int type, int touchedCount) {
+        float[] scores = this.scores;
+        float lengthFactor = K1 * B / averageLength;
+        float baseNorm = K1 * (1 - B);
+        float weight = idf * (K1 + 1);
+        boolean anyDeleted = deletedCount > 0;
+        for (int i = 0, size = list.size; i < size; i++) {
+            int entry = list.entries[i];
+            int document = entry >>> 8;
+            if ((type >= 0 && types[document] != type) || (anyDeleted && deleted.get(document))) {
+                continue;
+            }
+            int frequency = entry & 0xFF;
+            if (scores[document] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = document;
+            }
+            scores[document] += weight * frequency / (frequency + baseNorm + lengthFactor * lengths[document]);
+        }
+        return touchedCount;
+    }
+
+    public synchronized int size() {
+        return documentCount - deletedCount;
+    }
+
+    public synchronized int getTermCount() {
+        return postings.size();
+    }
+
+    /**
+     * Write the live documents and their postings; tombstones are dropped on the way
+     */
+    public synchronized void writeTo(DataOutputStream out) throws IOException {
+        int[] renumbered = new int[documentCount];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            renumbered[document] = deleted.get(document) ? -1 : live++;
+        }
+
+        out.writeInt(FILE_MAGIC);
+        out.writeInt(FILE_VERSION);
+        out.writeInt(live);
+        for (int document = 0; document < documentCount; document++) {
+            if (!deleted.get(document)) {
+                out.writeByte(types[document]);
+                out.writeUTF(ids[document]);
+                out.writeInt(lengths[document]);
+            }
+        }
+
+        out.writeInt(postings.size());
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            Postings list = entry.getValue();
+            int liveEntries = 0;
+            for (int i = 0; i < list.size; i++) {
+                if (renumbered[list.entries[i] >>> 8] >= 0) {
+                    liveEntries++;
+                }
+            }
+            out.writeUTF(entry.getKey());
+            out.writeInt(liveEntries);
+            for (int i = 0; i < list.size; i++) {
+                int document = renumbered[list.entries[i] >>> 8];
+                if (document >= 0) {
+                    out.writeInt((document << 8) | (list.entries[i] & 0xFF));
+                }
+            }
+        }
+    }
+
+    /**
+     * Read an index written by writeTo
+     */
+    public static SearchIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+            throw new IOException("Not a search index file, or written by another version");
+        }
+        SearchIndex index = new SearchIndex();
+        int documents = in.readInt();
+        index.ensureCapacity(documents);
+        DocumentType[] values = DocumentType.values();
+        for (int document = 0; document < documents; document++) {
+            byte type = in.readByte();
+            String id = in.readUTF();
+            int length = in.readInt();
+            index.ids[document] = id;
+            index.types[document] = type;
+            index.lengths[document] = length;
+            index.positions.put(key(values[type], id), document);
+            index.liveLength += length;
+        }
+        index.documentCount = documents;
+
+        int terms = in.readInt();
+        for (int t = 0; t < terms; t++) {
+            String term = in.readUTF();
+            int size = in.readInt();
+            Postings list = new Postings(Math.max(2, size));
+            for (int i = 0; i < size; i++) {
+                list.entries[i] = in.readInt();
+            }
+            list.size = size;
+            index.postings.put(term, list);
+        }
+        return index;
+    }
+
+    /**
+     * Split text into lower-case words of letters and digits, skipping stop words;
+     * returns the number of words passed to the consumer
+     */
+    static int tokenize(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        StringBuilder word = new StringBuilder(16);
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                String term = word.toString();
+                word.setLength(0);
+                if (!STOP_WORDS.contains(term)) {
+                    consumer.accept(term);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void siftUp(int[] heap, int position, float[] scores) {
+        int document = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[document]) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = document;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int document = heap[0];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[document] <= scores[heap[child]]) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = document;
+    }
+
+    private void tombstone(int document) {
+        deleted.set(document);
+        deletedCount++;
+        liveLength -= lengths[document];
+    }
+
+    private void compactIfSparse() {
+        if (deletedCount > 1024 && deletedCount > documentCount / 4) {
+            compact();
+        }
+    }
+
+    /**
+     * Rebuild the postings without tombstoned documents, renumbering the survivors
+     */
+    private void compact() {
+        int[] renumbered = new int[documentCount];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (deleted.get(document)) {
+                renumbered[document] = -1;
+            } else {
+                renumbered[document] = live;
+                ids[live] = ids[document];
+                types[live] = types[document];
+                lengths[live] = lengths[document];
+                live++;
+            }
+        }
+        Arrays.fill(ids, live, documentCount, null);
+
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                int document = renumbered[list.entries[i] >>> 8];
+                if (document >= 0) {
+                    list.entries[kept++] = (document << 8) | (list.entries[i] & 0xFF);
+                }
+            }
+            list.size = kept;
+            if (kept == 0) {
+                lists.remove();
+            }
+        }
+        for (Map.Entry<String, Integer> entry : positions.entrySet()) {
+            entry.setValue(renumbered[entry.getValue()]);
+        }
+        deleted.clear();
+        deletedCount = 0;
+        documentCount = live;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newLength = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, newLength);
+            types = Arrays.copyOf(types, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+        }
+    }
+
+    private static String key(DocumentType type, String id) {
+        return type.ordinal() + ":" + id;
+    }
+
+    /**
+     * Growable int list of postings entries, in ascending document order
+     */
+    private static final class Postings {
+        int[] entries;
+        int size;
+
+        Postings() {
+            this(2);
+        }
+
+        Postings(int capacity) {
+            entries = new int[capacity];
+        }
+
+        void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+    }
+
+    /**
+     * One ranked search result
+     */
+    public static class Hit {
+        private final DocumentType type;
+        private final String id;
+        private final double score;
+
+        public Hit(DocumentType type, String id, double score) {
+            this.type = type;
+            this.id = id;
+            this.score = score;
+        }
+
+        public DocumentType getType() { return type; }
+        public String getId() { return id; }
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,244 @@
+package org.app.service;
+
+import org.app.model.*;
+import org.app.service.SearchIndex.DocumentType;
+import org.app.util.Log;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Full-text search for BUP UCAM Assignment Tracker
+ * Indexes course names and codes, assignment titles and descriptions, and submission content
+ * (plus feedback once graded) in a SearchIndex that follows the course and assignment services'
+ * change events. The index is saved to data/search_index.bin, at most once every few seconds
+ * and on shutdown, and on startup it is loaded and then reconciled with the services: anything
+ * missing is indexed and anything that no longer exists is dropped, so only changes made while
+ * the application was not running are re-tokenized.
+ */
+public class SearchService implements CourseService.ChangeListener, AssignmentService.ChangeListener {
+    private static final Log log = Log.get(SearchService.class);
+
+    private static final String INDEX_FILE = "data/search_index.bin";
+    private static final long FLUSH_INTERVAL_MILLIS = 5000;
+
+    private final CourseService courseService;
+    private final AssignmentService assignmentService;
+    private final SearchIndex index;
+    private final File indexFile;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    public SearchService(CourseService courseService, AssignmentService assignmentService) {
+        this(courseService, assignmentService, new File(INDEX_FILE));
+    }
+
+    public SearchService(CourseService courseService, AssignmentService assignmentService, File indexFile) {
+        this.courseService = courseService;
+        this.assignmentService = assignmentService;
+        this.indexFile = indexFile;
+        this.index = load(indexFile);
+        reconcile();
+
+        courseService.addChangeListener(this);
+        assignmentService.addChangeListener(this);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // ---- Change events ----
+
+    @Override
+    public void onCourseCreated(Course course) {
+        indexCourse(course);
+        dirty.set(true);
+    }
+
+    @Override
+    public void onAssignmentCreated(Assignment assignment) {
+        indexAssignment(assignment);
+        dirty.set(true);
+    }
+
+    @Override
+    public void onSubmissionCreated(Submission submission) {
+        indexSubmission(submission);
+        dirty.set(true);
+    }
+
+    @Override
+    public void onSubmissionsGraded(List<Submission> graded) {
+        for (Submission submission : graded) {
+            indexSubmission(submission); // Feedback is now searchable too
+        }
+        dirty.set(true);
+    }
+
+    // ---- Queries ----
+
+    /**
+     * Best matches for a query across all document types
+     */
+    public List<SearchResult> search(String query, int limit) {
+        return search(query, null, limit, item -> true);
+    }
+
+    /**
+     * Best matches for a query; type may be null for all types, and only items the predicate
+     * accepts are returned (e.g. a student's own submissions)
+     */
+    public List<SearchResult> search(String query, DocumentType type, int limit, Predicate<Object> visible) {
+        List<SearchResult> results = new ArrayList<>();
+        for (SearchIndex.Hit hit : index.search(query, type, limit, (hitType, id) -> {
+            Object item = resolve(hitType, id);
+            return item != null && visible.test(item);
+        })) {
+            results.add(new SearchResult(hit.getType(), resolve(hit.getType(), hit.getId()), hit.getScore()));
+        }
+        return results;
+    }
+
+    public int getDocumentCount() {
+        return index.size();
+    }
+
+    // ---- Persistence ----
+
+    /**
+     * Write the index to disk if anything changed since the last write
+     */
+    public synchronized void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        File temp = new File(indexFile.getPath() + ".tmp");
+        try {
+            File parent = indexFile.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temp), 64 * 1024))) {
+                index.writeTo(out);
+            }
+            // Replace in one step so a crash never leaves a half-written index
+            Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("Error saving search index", "error", e.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        flusher.shutdownNow();
+        courseService.removeChangeListener(this);
+        assignmentService.removeChangeListener(this);
+        flush();
+    }
+
+    private static SearchIndex load(File file) {
+        if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file), 64 * 1024))) {
+                SearchIndex loaded = SearchIndex.readFrom(in);
+                log.info("✓ Loaded search index", "documents", loaded.size());
+                return loaded;
+            } catch (IOException e) {
+                log.warn("Error loading search index, rebuilding", "error", e.getMessage());
+            }
+        }
+        return new SearchIndex();
+    }
+
+    /**
+     * Bring a loaded (or empty) index in line with the services
+     */
+    private void reconcile() {
+        int before = index.size();
+        index.retainIf((type, id) -> resolve(type, id) != null);
+        int added = 0;
+        for (Course course : courseService.getAllCourses()) {
+            if (!index.contains(DocumentType.COURSE, course.getCourseId())) {
+                indexCourse(course);
+                added++;
+            }
+        }
+        for (Assignment assignment : assignmentService.getAllAssignments()) {
+            if (!index.contains(DocumentType.ASSIGNMENT, assignment.getAssignmentId())) {
+                indexAssignment(assignment);
+                added++;
+            }
+        }
+        for (Submission submission : assignmentService.getAllSubmissions()) {
+            if (!index.contains(DocumentType.SUBMISSION, submission.getSubmissionId())) {
+                indexSubmission(submission);
+                added++;
+            }
+        }
+        if (added > 0 || index.size() != before + added) {
+            dirty.set(true);
+        }
+        log.info("✓ Search index ready", "documents", index.size(), "added", added);
+    }
+
+    private void indexCourse(Course course) {
+        index.index(DocumentType.COURSE, course.getCourseId(),
+                course.getCourseCode() + " " + course.getCourseName() + " " + course.getDepartment());
+    }
+
+    private void indexAssignment(Assignment assignment) {
+        index.index(DocumentType.ASSIGNMENT, assignment.getAssignmentId(),
+                assignment.getTitle() + " " + assignment.getDescription());
+    }
+
+    private void indexSubmission(Submission submission) {
+        String text = submission.getContent();
+        if (submission.getFeedback() != null) {
+            text = text + " " + submission.getFeedback();
+        }
+        index.index(DocumentType.SUBMISSION, submission.getSubmissionId(), text);
+    }
+
+    private Object resolve(DocumentType type, String id) {
+        switch (type) {
+            case COURSE:
+                return courseService.getCourse(id);
+            case ASSIGNMENT:
+                return assignmentService.getAssignment(id);
+            default:
+                return assignmentService.getSubmission(id);
+        }
+    }
+
+    /**
+     * A ranked match: a Course, Assignment or Submission
+     */
+    public static class SearchResult {
+        private final DocumentType type;
+        private final Object item;
+        private final double score;
+
+        SearchResult(DocumentType type, Object item, double score) {
+            this.type = type;
+            this.item = item;
+            this.score = score;
+        }
+
+        public DocumentType getType() { return type; }
+        public Object getItem() { return item; }
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,138 @@
+package org.app.service;
+
+import org.app.model.User;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Session manager for BUP UCAM Assignment Tracker
+ * Issues opaque tokens on login and resolves them back to the User with a single
+ * concurrent map lookup, so authenticated requests never re-check credentials.
+ * Sessions end after an idle timeout or an absolute lifetime, whichever comes first.
+ */
+public class SessionManager {
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+    private static final int SWEEP_EVERY_N_SESSIONS = 1024;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger createdSinceSweep = new AtomicInteger();
+    private final long idleTimeoutMillis;
+    private final long absoluteTimeoutMillis;
+
+    public SessionManager() {
+        this(Duration.ofMinutes(30), Duration.ofHours(12));
+    }
+
+    public SessionManager(Duration idleTimeout, Duration absoluteTimeout) {
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.absoluteTimeoutMillis = absoluteTimeout.toMillis();
+    }
+
+    /**
+     * Create a session for an authenticated user and return its token
+     */
+    public String createSession(User user) {
+        byte[] bytes = new byte[32];
+        TOKEN_RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        long now = System.currentTimeMillis();
+        sessions.put(token, new Session(user, now));
+        tokensByUser.computeIfAbsent(user.getUserId(), k -> ConcurrentHashMap.newKeySet()).add(token);
+
+        if (createdSinceSweep.incrementAndGet() >= SWEEP_EVERY_N_SESSIONS) {
+            createdSinceSweep.set(0);
+            purgeExpired();
+        }
+        return token;
+    }
+
+    /**
+     * Resolve a token to its user, or null if it is unknown or expired
+     */
+    public User resolve(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (isExpired(session, now)) {
+            invalidate(token);
+            return null;
+        }
+        session.lastAccess = now;
+        return session.user;
+    }
+
+    /**
+     * End a single session (logout)
+     */
+    public void invalidate(String token) {
+        Session session = sessions.remove(token);
+        if (session != null) {
+            Set<String> tokens = tokensByUser.get(session.user.getUserId());
+            if (tokens != null) {
+                tokens.remove(token);
+            }
+        }
+    }
+
+    /**
+     * End every session belonging to a user, returning how many were removed
+     */
+    public int invalidateUser(String userId) {
+        Set<String> tokens = tokensByUser.remove(userId);
+        if (tokens == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (String token : tokens) {
+            if (sessions.remove(token) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drop all expired sessions
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        sessions.forEach((token, session) -> {
+            if (isExpired(session, now)) {
+                invalidate(token);
+            }
+        });
+    }
+
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    private boolean isExpired(Session session, long now) {
+        return now - session.lastAccess > idleTimeoutMillis
+                || now - session.createdAt > absoluteTimeoutMillis;
+    }
+
+    private static class Session {
+        private final User user;
+        private final long createdAt;
+        private volatile long lastAccess;
+
+        Session(User user, long now) {
+            this.user = user;
+            this.createdAt = now;
+            this.lastAccess = now;
+        }
+    }
+}
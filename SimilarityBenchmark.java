@@ -0,0 +1,104 @@
+package org.app.test;
+
+import org.app.service.SimilarityIndex;
+
+import java.util.*;
+
+/**
+ * Measures MinHash/LSH similarity detection on a synthetic assignment: random essays with planted
+ * near-copies (3% of words changed, which leaves most of them 75-90% similar) and loose
+ * paraphrases (half the words changed). Reports indexing and query time, how many planted copies
+ * were found, and the cost of the pairwise comparison that LSH replaces.
+ * Usage: SimilarityBenchmark [submissions] [wordsPerSubmission] [bands] [rows]
+ */
+public class SimilarityBenchmark {
+    public static void main(String[] args) {
+        int submissions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int words = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int bands = args.length > 2 ? Integer.parseInt(args[2]) : SimilarityIndex.DEFAULT_BANDS;
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : SimilarityIndex.DEFAULT_ROWS;
+        double threshold = 0.7;
+
+        Random random = new Random(7);
+        String[] vocabulary = new String[5000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "w" + Integer.toString(i, 36);
+        }
+
+        // Every 100th submission is a near-copy of the previous one, every 100th + 50 a paraphrase
+        List<String> texts = new ArrayList<>(submissions);
+        Set<String> plantedCopies = new HashSet<>();
+        for (int i = 0; i < submissions; i++) {
+            if (i > 0 && i % 100 == 0) {
+                texts.add(mutate(texts.get(i - 1), 0.03, vocabulary, random));
+                plantedCopies.add("S" + (i - 1) + "|S" + i);
+            } else if (i > 0 && i % 100 == 50) {
+                texts.add(mutate(texts.get(i - 1), 0.5, vocabulary, random));
+            } else {
+                texts.add(essay(words, vocabulary, random));
+            }
+        }
+
+        System.out.println("=== Similarity Benchmark ===");
+        System.out.println(String.format("%,d submissions x %d words, %d bands x %d rows (candidate threshold %.2f)",
+                submissions, words, bands, rows, new SimilarityIndex(3, bands, rows).getCandidateThreshold()));
+
+        SimilarityIndex index = null;
+        for (int run = 0; run < 3; run++) { // First runs warm up the JIT
+            index = new SimilarityIndex(SimilarityIndex.DEFAULT_SHINGLE_SIZE, bands, rows);
+            long start = System.nanoTime();
+            for (int i = 0; i < submissions; i++) {
+                index.add("S" + i, texts.get(i));
+            }
+            long indexed = System.nanoTime();
+            List<SimilarityIndex.SimilarPair> pairs = index.findSimilarPairs(threshold);
+            long queried = System.nanoTime();
+
+            int found = 0;
+            for (SimilarityIndex.SimilarPair pair : pairs) {
+                if (plantedCopies.contains(pair.getFirstId() + "|" + pair.getSecondId())
+                        || plantedCopies.contains(pair.getSecondId() + "|" + pair.getFirstId())) {
+                    found++;
+                }
+            }
+            System.out.println(String.format("run %d: index %.0f ms (%.1f us/submission), query %.0f ms, "
+                            + "%d pairs >= %.0f%%, %d/%d planted copies found",
+                    run + 1, (indexed - start) / 1e6, (indexed - start) / 1e3 / submissions,
+                    (queried - indexed) / 1e6, pairs.size(), threshold * 100, found, plantedCopies.size()));
+        }
+
+        // Pairwise baseline on a sample, extrapolated quadratically to the full cohort
+        int sample = Math.min(submissions, 2000);
+        long start = System.nanoTime();
+        int pairwiseHits = 0;
+        for (int i = 0; i < sample; i++) {
+            for (int j = i + 1; j < sample; j++) {
+                if (index.similarity("S" + i, "S" + j) >= threshold) {
+                    pairwiseHits++;
+                }
+            }
+        }
+        double sampleMillis = (System.nanoTime() - start) / 1e6;
+        double scale = ((double) submissions * (submissions - 1)) / ((double) sample * (sample - 1));
+        System.out.println(String.format("pairwise on %,d submissions: %.0f ms (%d pairs), est. %.0f ms for %,d",
+                sample, sampleMillis, pairwiseHits, sampleMillis * scale, submissions));
+    }
+
+    private static String essay(int words, String[] vocabulary, Random random) {
+        StringBuilder text = new StringBuilder(words * 5);
+        for (int i = 0; i < words; i++) {
+            text.append(vocabulary[random.nextInt(vocabulary.length)]).append(i % 12 == 11 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    private static String mutate(String text, double changeRate, String[] vocabulary, Random random) {
+        String[] words = text.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            if (random.nextDouble() < changeRate) {
+                words[i] = vocabulary[random.nextInt(vocabulary.length)];
+            }
+        }
+        return String.join(" ", words);
+    }
+}
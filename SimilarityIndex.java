@@ -0,0 +1,281 @@
+package org.app.service;
+
+import java.util.*;
+
+/**
+ * MinHash / LSH similarity index for BUP UCAM Assignment Tracker
+ * Each document is reduced to word shingles (runs of shingleSize consecutive words), and the
+ * shingle set to a MinHash signature of bands × rows values; the fraction of equal signature
+ * values estimates the Jaccard similarity of two documents. Signatures are split into bands and
+ * each band is hashed into a bucket, so documents that agree on a whole band land together.
+ * Only documents sharing a bucket are compared, which makes finding similar pairs roughly linear
+ * in the number of documents instead of quadratic.
+ *
+ * A pair with similarity s shares at least one bucket with probability 1 - (1 - s^rows)^bands;
+ * the S-curve is steepest near (1/bands)^(1/rows), see getCandidateThreshold(). Pairs well above
+ * that are almost always found, pairs well below it are almost never compared.
+ *
+ * Documents are added incrementally; all methods are synchronized.
+ */
+public class SimilarityIndex {
+    public static final int DEFAULT_SHINGLE_SIZE = 3;
+    public static final int DEFAULT_BANDS = 20;
+    public static final int DEFAULT_ROWS = 5;
+
+    private final int shingleSize;
+    private final int bands;
+    private final int rows;
+    private final long[] hashMultipliers;
+    private final long[] hashOffsets;
+
+    private final List<String> ids = new ArrayList<>();
+    private final List<int[]> signatures = new ArrayList<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final List<Map<Long, int[]>> buckets;
+
+    public SimilarityIndex() {
+        this(DEFAULT_SHINGLE_SIZE, DEFAULT_BANDS, DEFAULT_ROWS);
+    }
+
+    public SimilarityIndex(int shingleSize, int bands, int rows) {
+        if (shingleSize < 1 || bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("shingleSize, bands and rows must be positive");
+        }
+        this.shingleSize = shingleSize;
+        this.bands = bands;
+        this.rows = rows;
+
+        // Fixed seed: signatures must be comparable across indexes and restarts
+        Random random = new Random(0x5EEDL);
+        int hashes = bands * rows;
+        this.hashMultipliers = new long[hashes];
+        this.hashOffsets = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            hashMultipliers[i] = random.nextLong() | 1;
+            hashOffsets[i] = random.nextLong();
+        }
+        this.buckets = new ArrayList<>(bands);
+        for (int i = 0; i < bands; i++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Add a document; documents already in the index and documents with no words are ignored
+     */
+    public synchronized void add(String id, String content) {
+        if (positions.containsKey(id)) {
+            return;
+        }
+        int[] signature = signature(content);
+        if (signature == null) {
+            return;
+        }
+        int position = ids.size();
+        ids.add(id);
+        signatures.add(signature);
+        positions.put(id, position);
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).merge(bandKey(signature, band), new int[]{1, position}, SimilarityIndex::append);
+        }
+    }
+
+    /**
+     * All pairs whose estimated similarity is at least the threshold, most similar first
+     */
+    public synchronized List<SimilarPair> findSimilarPairs(double threshold) {
+        Set<Long> compared = new HashSet<>();
+        List<SimilarPair> pairs = new ArrayList<>();
+        for (Map<Long, int[]> band : buckets) {
+            for (int[] bucket : band.values()) {
+                int size = bucket[0];
+                for (int i = 1; i <= size; i++) {
+                    for (int j = i + 1; j <= size; j++) {
+                        int a = Math.min(bucket[i], bucket[j]);
+                        int b = Math.max(bucket[i], bucket[j]);
+                        if (compared.add(((long) a << 32) | b)) {
+                            double similarity = estimate(signatures.get(a), signatures.get(b));
+                            if (similarity >= threshold) {
+                                pairs.add(new SimilarPair(ids.get(a), ids.get(b), similarity));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        pairs.sort(Comparator.comparingDouble(SimilarPair::getSimilarity).reversed());
+        return pairs;
+    }
+
+    /**
+     * Documents similar to one already in the index, most similar first
+     */
+    public synchronized List<SimilarPair> findSimilarTo(String id, double threshold) {
+        Integer position = positions.get(id);
+        if (position == null) {
+            return new ArrayList<>();
+        }
+        int[] signature = signatures.get(position);
+        Set<Integer> seen = new HashSet<>();
+        List<SimilarPair> pairs = new ArrayList<>();
+        for (int band = 0; band < bands; band++) {
+            int[] bucket = buckets.get(band).get(bandKey(signature, band));
+            for (int i = 1; i <= bucket[0]; i++) {
+                int other = bucket[i];
+                if (other != position && seen.add(other)) {
+                    double similarity = estimate(signature, signatures.get(other));
+                    if (similarity >= threshold) {
+                        pairs.add(new SimilarPair(id, ids.get(other), similarity));
+                    }
+                }
+            }
+        }
+        pairs.sort(Comparator.comparingDouble(SimilarPair::getSimilarity).reversed());
+        return pairs;
+    }
+
+    /**
+     * Estimated Jaccard similarity of two indexed documents, or -1 if either is missing
+     */
+    public synchronized double similarity(String firstId, String secondId) {
+        Integer first = positions.get(firstId);
+        Integer second = positions.get(secondId);
+        if (first == null || second == null) {
+            return -1;
+        }
+        return estimate(signatures.get(first), signatures.get(second));
+    }
+
+    /**
+     * Similarity at which a pair has about even odds of becoming a candidate
+     */
+    public double getCandidateThreshold() {
+        return Math.pow(1.0 / bands, 1.0 / rows);
+    }
+
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    private int[] signature(String content) {
+        long[] words = wordHashes(content);
+        if (words.length == 0) {
+            return null;
+        }
+        int hashes = hashMultipliers.length;
+        long[] minimums = new long[hashes];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+
+        int shingles = Math.max(1, words.length - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0;
+            for (int k = start; k < Math.min(words.length, start + shingleSize); k++) {
+                shingle = mix(shingle * 31 + words[k]);
+            }
+            for (int i = 0; i < hashes; i++) {
+                long value = hashMultipliers[i] * shingle + hashOffsets[i];
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+
+        int[] signature = new int[hashes];
+        for (int i = 0; i < hashes; i++) {
+            signature[i] = (int) (minimums[i] >>> 32);
+        }
+        return signature;
+    }
+
+    /**
+     * Hash each word of the text, lower-cased, splitting on anything that is not a letter or digit
+     */
+    private static long[] wordHashes(String content) {
+        if (content == null) {
+            return new long[0];
+        }
+        long[] words = new long[16];
+        int count = 0;
+        long hash = 0;
+        boolean inWord = false;
+        for (int i = 0, length = content.length(); i <= length; i++) {
+            char c = i < length ? content.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = (hash ^ Character.toLowerCase(c)) * 0x100000001B3L; // FNV-1a
+                inWord = true;
+            } else if (inWord) {
+                if (count == words.length) {
+                    words = Arrays.copyOf(words, count * 2);
+                }
+                words[count++] = mix(hash);
+                hash = 0;
+                inWord = false;
+            }
+        }
+        return Arrays.copyOf(words, count);
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * rows, end = i + rows; i < end; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    private static double estimate(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / first.length;
+    }
+
+    /**
+     * Bucket lists are int arrays with the size in slot 0, to avoid boxing
+     */
+    private static int[] append(int[] bucket, int[] single) {
+        int size = bucket[0];
+        if (size + 1 == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        bucket[size + 1] = single[1];
+        bucket[0] = size + 1;
+        return bucket;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * Two documents and their estimated Jaccard similarity (0-1)
+     */
+    public static class SimilarPair {
+        private final String firstId;
+        private final String secondId;
+        private final double similarity;
+
+        public SimilarPair(String firstId, String secondId, double similarity) {
+            this.firstId = firstId;
+            this.secondId = secondId;
+            this.similarity = similarity;
+        }
+
+        public String getFirstId() { return firstId; }
+        public String getSecondId() { return secondId; }
+        public double getSimilarity() { return similarity; }
+
+        @Override
+        public String toString() {
+            return String.format("%s ~ %s (%.0f%%)", firstId, secondId, similarity * 100);
+        }
+    }
+}
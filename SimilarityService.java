@@ -0,0 +1,107 @@
+package org.app.service;
+
+import org.app.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Submission similarity detection for BUP UCAM Assignment Tracker
+ * Keeps one SimilarityIndex per assignment. An assignment's index is built from its existing
+ * submissions the first time it is queried, and from then on every new submission is added as
+ * AssignmentService reports it, so checking a cohort never needs a pairwise pass.
+ */
+public class SimilarityService implements AssignmentService.ChangeListener {
+    public static final double DEFAULT_THRESHOLD = 0.7;
+
+    private final AssignmentService assignmentService;
+    private final ConcurrentHashMap<String, SimilarityIndex> indexes = new ConcurrentHashMap<>();
+    private final int shingleSize;
+    private final int bands;
+    private final int rows;
+
+    public SimilarityService(AssignmentService assignmentService) {
+        this(assignmentService, SimilarityIndex.DEFAULT_SHINGLE_SIZE, SimilarityIndex.DEFAULT_BANDS,
+                SimilarityIndex.DEFAULT_ROWS);
+    }
+
+    /**
+     * More bands (or fewer rows) catch less similar pairs at the cost of more comparisons
+     */
+    public SimilarityService(AssignmentService assignmentService, int shingleSize, int bands, int rows) {
+        this.assignmentService = assignmentService;
+        this.shingleSize = shingleSize;
+        this.bands = bands;
+        this.rows = rows;
+        assignmentService.addChangeListener(this);
+    }
+
+    @Override
+    public void onSubmissionCreated(Submission submission) {
+        // Assignments nobody has checked yet are indexed lazily on their first query
+        SimilarityIndex index = indexes.get(submission.getAssignment().getAssignmentId());
+        if (index != null) {
+            index.add(submission.getSubmissionId(), submission.getContent());
+        }
+    }
+
+    /**
+     * Pairs of submissions to an assignment whose content similarity is at least the threshold (0-1)
+     */
+    public List<SimilarSubmissions> findSimilarSubmissions(Assignment assignment, double threshold) {
+        List<SimilarSubmissions> result = new ArrayList<>();
+        for (SimilarityIndex.SimilarPair pair : indexFor(assignment).findSimilarPairs(threshold)) {
+            Submission first = assignmentService.getSubmission(pair.getFirstId());
+            Submission second = assignmentService.getSubmission(pair.getSecondId());
+            if (first != null && second != null) {
+                result.add(new SimilarSubmissions(first, second, pair.getSimilarity()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Submissions to the same assignment that resemble the given one
+     */
+    public List<SimilarSubmissions> findSimilarTo(Submission submission, double threshold) {
+        List<SimilarSubmissions> result = new ArrayList<>();
+        SimilarityIndex index = indexFor(submission.getAssignment());
+        for (SimilarityIndex.SimilarPair pair : index.findSimilarTo(submission.getSubmissionId(), threshold)) {
+            Submission other = assignmentService.getSubmission(pair.getSecondId());
+            if (other != null) {
+                result.add(new SimilarSubmissions(submission, other, pair.getSimilarity()));
+            }
+        }
+        return result;
+    }
+
+    private SimilarityIndex indexFor(Assignment assignment) {
+        return indexes.computeIfAbsent(assignment.getAssignmentId(), id -> {
+            SimilarityIndex index = new SimilarityIndex(shingleSize, bands, rows);
+            for (Submission submission : assignmentService.getSubmissionsForAssignment(assignment)) {
+                index.add(submission.getSubmissionId(), submission.getContent());
+            }
+            return index;
+        });
+    }
+
+    /**
+     * A flagged pair of submissions
+     */
+    public static class SimilarSubmissions {
+        private final Submission first;
+        private final Submission second;
+        private final double similarity;
+
+        SimilarSubmissions(Submission first, Submission second, double similarity) {
+            this.first = first;
+            this.second = second;
+            this.similarity = similarity;
+        }
+
+        public Submission getFirst() { return first; }
+        public Submission getSecond() { return second; }
+        public double getSimilarity() { return similarity; }
+    }
+}
@@ -1,40 +1,60 @@
 package org.app.util;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.app.model.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Simplified Data persistence utility for BUP UCAM Assignment Tracker
  */
 public class SimpleDataPersistence {
+    private static final Log log = Log.get(SimpleDataPersistence.class);
+
+    private static final Metrics.Timer SAVE_USER_CREDENTIALS = timer("saveUserCredentials");
+    private static final Metrics.Timer LOAD_USER_CREDENTIALS = timer("loadUserCredentials");
+    private static final Metrics.Timer SAVE_SETTINGS = timer("saveSettings");
+    private static final Metrics.Timer LOAD_SETTINGS = timer("loadSettings");
+    private static final Metrics.Timer SAVE_VERIFICATION_CODES = timer("saveVerificationCodes");
+    private static final Metrics.Timer LOAD_VERIFICATION_CODES = timer("loadVerificationCodes");
+    private static final Metrics.Timer SAVE_QUEUED_EMAILS = timer("saveQueuedEmails");
+    private static final Metrics.Timer LOAD_QUEUED_EMAILS = timer("loadQueuedEmails");
+    private static final Metrics.Counter ERRORS = Metrics.counter("app_persistence_errors_total",
+            "Loads and saves that failed", "store", "SimpleDataPersistence");
+
     private static final String DATA_DIR = "data";
-    private static final String USERS_FILE = DATA_DIR + "/users_simple.json";
-    private static final String SETTINGS_FILE = DATA_DIR + "/settings.json";
 
-    private ObjectMapper objectMapper;
+    private final File dataDirectory;
+    private final File usersFile;
+    private final File settingsFile;
+    private final File verificationFile;
+    private final File outboxFile;
 
     public SimpleDataPersistence() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this(new File(DATA_DIR));
+    }
+
+    /**
+     * Keep the data files in another directory (benchmarks, generated datasets)
+     */
+    public SimpleDataPersistence(File dataDirectory) {
+        this.dataDirectory = dataDirectory;
+        this.usersFile = new File(dataDirectory, "users_simple.json");
+        this.settingsFile = new File(dataDirectory, "settings.json");
+        this.verificationFile = new File(dataDirectory, "verification_codes.json");
+        this.outboxFile = new File(dataDirectory, "email_outbox.json");
 
         // Create data directory if it doesn't exist
         createDataDirectory();
     }
 
     private void createDataDirectory() {
-        File dataDir = new File(DATA_DIR);
-        if (!dataDir.exists()) {
-            dataDir.mkdirs();
+        if (!dataDirectory.exists()) {
+            dataDirectory.mkdirs();
         }
     }
 
@@ -42,11 +62,20 @@ public class SimpleDataPersistence {
      * Save simple user data
      */
     public void saveUserCredentials(Map<String, SimpleUserData> userData) {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceSave event = new FlightEvents.PersistenceSave();
+        event.begin();
         try {
-            objectMapper.writeValue(new File(USERS_FILE), userData);
-            System.out.println("✓ Saved " + userData.size() + " user credentials");
+            Snapshot.invalidate(dataDirectory);
+            JsonCodec.credentials().write(usersFile, userData);
+            log.debug("✓ Saved user credentials", "count", userData.size());
         } catch (IOException e) {
-            System.err.println("Error saving user credentials: " + e.getMessage());
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error saving user credentials", "file", usersFile.getPath(), "error", e.getMessage());
+        } finally {
+            SAVE_USER_CREDENTIALS.record(start);
+            event.end(usersFile);
         }
     }
 
@@ -54,17 +83,23 @@ public class SimpleDataPersistence {
      * Load simple user data
      */
     public Map<String, SimpleUserData> loadUserCredentials() {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceLoad event = new FlightEvents.PersistenceLoad();
+        event.begin();
         try {
-            File file = new File(USERS_FILE);
+            File file = usersFile;
             if (file.exists()) {
-                TypeReference<Map<String, SimpleUserData>> typeRef = new TypeReference<Map<String, SimpleUserData>>() {};
-                Map<String, SimpleUserData> userData = objectMapper.readValue(file, typeRef);
-                System.out.println("✓ Loaded " + userData.size() + " user credentials");
+                Map<String, SimpleUserData> userData = JsonCodec.credentials().read(file);
+                log.info("✓ Loaded user credentials", "count", userData.size());
                 return userData;
             }
         } catch (IOException e) {
-            System.err.println("Error loading user credentials: " + e.getMessage());
-            e.printStackTrace();
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error loading user credentials", "file", usersFile.getPath(), e);
+        } finally {
+            LOAD_USER_CREDENTIALS.record(start);
+            event.end(usersFile);
         }
         return new HashMap<>();
     }
@@ -73,10 +108,18 @@ public class SimpleDataPersistence {
      * Save application settings
      */
     public void saveSettings(AppSettings settings) {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceSave event = new FlightEvents.PersistenceSave();
+        event.begin();
         try {
-            objectMapper.writeValue(new File(SETTINGS_FILE), settings);
+            JsonCodec.settings().write(settingsFile, settings);
         } catch (IOException e) {
-            System.err.println("Error saving settings: " + e.getMessage());
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error saving settings", "error", e.getMessage());
+        } finally {
+            SAVE_SETTINGS.record(start);
+            event.end(settingsFile);
         }
     }
 
@@ -84,19 +127,123 @@ public class SimpleDataPersistence {
      * Load application settings
      */
     public AppSettings loadSettings() {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceLoad event = new FlightEvents.PersistenceLoad();
+        event.begin();
         try {
-            File file = new File(SETTINGS_FILE);
+            File file = settingsFile;
             if (file.exists()) {
-                return objectMapper.readValue(file, AppSettings.class);
+                return JsonCodec.settings().read(file);
             }
         } catch (IOException e) {
-            System.err.println("Error loading settings: " + e.getMessage());
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error loading settings", "error", e.getMessage());
+        } finally {
+            LOAD_SETTINGS.record(start);
+            event.end(settingsFile);
         }
         return new AppSettings();
     }
 
+    /**
+     * Save pending (unexpired) email verification codes
+     */
+    public void saveVerificationCodes(Map<String, PendingVerification> codes) {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceSave event = new FlightEvents.PersistenceSave();
+        event.begin();
+        try {
+            JsonCodec.verificationCodes().write(verificationFile, codes);
+        } catch (IOException e) {
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error saving verification codes", "error", e.getMessage());
+        } finally {
+            SAVE_VERIFICATION_CODES.record(start);
+            event.end(verificationFile);
+        }
+    }
+
+    /**
+     * Load pending email verification codes
+     */
+    public Map<String, PendingVerification> loadVerificationCodes() {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceLoad event = new FlightEvents.PersistenceLoad();
+        event.begin();
+        try {
+            File file = verificationFile;
+            if (file.exists()) {
+                return JsonCodec.verificationCodes().read(file);
+            }
+        } catch (IOException e) {
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error loading verification codes", "error", e.getMessage());
+        } finally {
+            LOAD_VERIFICATION_CODES.record(start);
+            event.end(verificationFile);
+        }
+        return new HashMap<>();
+    }
+
+    /**
+     * Save emails the outbox had not sent yet; an empty list removes the file
+     */
+    public void saveQueuedEmails(List<QueuedEmail> emails) {
+        if (emails.isEmpty()) {
+            outboxFile.delete();
+            return;
+        }
+        long start = System.nanoTime();
+        FlightEvents.PersistenceSave event = new FlightEvents.PersistenceSave();
+        event.begin();
+        try {
+            JsonCodec.queuedEmails().write(outboxFile, emails);
+        } catch (IOException e) {
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error saving queued emails", "error", e.getMessage());
+        } finally {
+            SAVE_QUEUED_EMAILS.record(start);
+            event.end(outboxFile);
+        }
+    }
+
+    public boolean hasQueuedEmails() {
+        return outboxFile.exists();
+    }
+
+    /**
+     * Load emails left unsent by the previous run
+     */
+    public List<QueuedEmail> loadQueuedEmails() {
+        long start = System.nanoTime();
+        FlightEvents.PersistenceLoad event = new FlightEvents.PersistenceLoad();
+        event.begin();
+        try {
+            if (outboxFile.exists()) {
+                return JsonCodec.queuedEmails().read(outboxFile);
+            }
+        } catch (IOException e) {
+            ERRORS.increment();
+            event.error = e.getMessage();
+            log.error("Error loading queued emails", "error", e.getMessage());
+        } finally {
+            LOAD_QUEUED_EMAILS.record(start);
+            event.end(outboxFile);
+        }
+        return new ArrayList<>();
+    }
+
     public boolean dataExists() {
-        return new File(USERS_FILE).exists();
+        return usersFile.exists();
+    }
+
+    private static Metrics.Timer timer(String operation) {
+        return Metrics.timer("app_persistence_duration_seconds", "Load and save latency",
+                "store", "SimpleDataPersistence", "operation", operation);
     }
 
     /**
@@ -147,7 +294,7 @@ public class SimpleDataPersistence {
                     teacher.setActive(isActive);
                     return teacher;
                 } else {
-                    System.err.println("Warning: Teacher data incomplete for " + name);
+                    log.warn("Teacher data incomplete", "name", name);
                 }
             } else if ("STUDENT".equals(roleUpper) || "Student".equals(role)) {
                 if (studentId != null && program != null) {
@@ -155,14 +302,46 @@ public class SimpleDataPersistence {
                     student.setActive(isActive);
                     return student;
                 } else {
-                    System.err.println("Warning: Student data incomplete for " + name);
+                    log.warn("Student data incomplete", "name", name);
                 }
             }
-            System.err.println("Warning: Could not convert user data for " + name + " (role: " + role + ")");
+            log.warn("Could not convert user data", "name", name, "role", role);
             return null;
         }
     }
 
+    /**
+     * Pending verification code, keyed by email in the persisted map
+     */
+    public static class PendingVerification {
+        public String code;
+        public long expiresAt; // epoch millis
+
+        public PendingVerification() {}
+
+        public PendingVerification(String code, long expiresAt) {
+            this.code = code;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Email waiting in the outbox; values computed at send time (verification codes) are not stored
+     */
+    public static class QueuedEmail {
+        public String to;
+        public String template;
+        public Map<String, String> values;
+
+        public QueuedEmail() {}
+
+        public QueuedEmail(String to, String template, Map<String, String> values) {
+            this.to = to;
+            this.template = template;
+            this.values = values;
+        }
+    }
+
     /**
      * Application settings
      */
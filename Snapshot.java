@@ -0,0 +1,612 @@
+package org.app.util;
+
+import org.app.model.AssignmentStatus;
+import org.app.model.AssignmentType;
+import org.app.model.SubmissionStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Read-optimized data snapshot for BUP UCAM Assignment Tracker
+ * A binary copy of the user credential, course and assignment files that opens by memory-mapping
+ * instead of parsing. The file holds a header, one table per entity and a string heap:
+ *   header  magic, version, length and modification time of each JSON file it was taken from,
+ *           the ID counters, and the offset and row count of each table
+ *   tables  users, courses, assignments, submissions; fixed-size rows sorted by ID (length, then
+ *           text, the order the services use), so row i is at offset + i * size. Strings are
+ *           int offsets into the heap, times are epoch seconds and nanos (UTC), enums are
+ *           ordinals and lists are heap offsets of ID arrays
+ *   heap    length-prefixed UTF-8 strings; short strings (IDs, names) are stored once
+ * Tables are Lists whose rows are decoded into the usual persistence records only when read, so
+ * opening costs the same whatever the dataset size. The services still read every row once at
+ * startup to build their in-memory maps: a snapshot saves the JSON parsing, not the linking.
+ * The JSON files stay the source of truth: every save deletes the snapshot, and a snapshot whose
+ * recorded file sizes or times no longer match is ignored. It is written again at exit or with
+ * --compact. Turn it off with -Dapp.snapshot=false. Files are limited to 2 GB (one mapping).
+ */
+public final class Snapshot {
+    private static final Log log = Log.get(Snapshot.class);
+
+    public static final String FILE_NAME = "snapshot.bin";
+
+    private static final int MAGIC = 0x4154534E; // "ATSN"
+    // Bump when a row layout or an enum's constants change
+    private static final int VERSION = 1;
+    private static final String[] SOURCES = {"users_simple.json", "courses.json", "assignments.json"};
+    private static final int TABLES = 4;
+    private static final int HEADER_SIZE = 8 + SOURCES.length * 16 + 12 + TABLES * 12 + 16;
+
+    private static final int NULL = -1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int SHARED_STRING_LENGTH = 64;
+    private static final Comparator<String> ID_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    // Row sizes in bytes; each row starts with its ID
+    private static final int USER_SIZE = 9 * 4 + 4 + 1;
+    private static final int COURSE_SIZE = 4 * 4 + 4 + 4 + 4 + 4 + 12 + 1;
+    private static final int ASSIGNMENT_SIZE = 5 * 4 + 1 + 4 + 12 + 12 + 1 + 1 + 4;
+    private static final int SUBMISSION_SIZE = 4 * 4 + 4 + 12 + 1 + 4 + 4 + 12 + 4;
+
+    private final ByteBuffer buffer;
+    private final int heapOffset;
+    private final long heapLength;
+    private final int courseCounter;
+    private final int assignmentCounter;
+    private final int submissionCounter;
+    private final Table<SimpleDataPersistence.SimpleUserData> users;
+    private final Table<DataPersistence.CourseRecord> courses;
+    private final Table<DataPersistence.AssignmentRecord> assignments;
+    private final Table<DataPersistence.SubmissionRecord> submissions;
+
+    private Snapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        int position = 8 + SOURCES.length * 16;
+        courseCounter = buffer.getInt(position);
+        assignmentCounter = buffer.getInt(position + 4);
+        submissionCounter = buffer.getInt(position + 8);
+        position += 12;
+        heapOffset = (int) buffer.getLong(position + TABLES * 12);
+        heapLength = buffer.getLong(position + TABLES * 12 + 8);
+        users = new Table<>(position, USER_SIZE, this::user);
+        courses = new Table<>(position + 12, COURSE_SIZE, this::course);
+        assignments = new Table<>(position + 24, ASSIGNMENT_SIZE, this::assignment);
+        submissions = new Table<>(position + 36, SUBMISSION_SIZE, this::submission);
+    }
+
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("app.snapshot"));
+    }
+
+    /**
+     * Map the snapshot in a data directory; null if there is none or it is out of date or unreadable
+     */
+    public static Snapshot open(File dataDirectory) {
+        File file = new File(dataDirectory, FILE_NAME);
+        if (!isEnabled() || !file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring snapshot with unexpected size", "file", file.getPath(), "bytes", size);
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                log.warn("Ignoring snapshot from another version", "file", file.getPath());
+                return null;
+            }
+            if (!Arrays.equals(readStamps(buffer), stamps(dataDirectory))) {
+                log.info("Snapshot is older than the data files, loading JSON", "file", file.getPath());
+                return null;
+            }
+            Snapshot snapshot = new Snapshot(buffer);
+            snapshot.checkBounds(size);
+            log.info("✓ Opened snapshot", "users", snapshot.users.size(), "courses", snapshot.courses.size(),
+                    "assignments", snapshot.assignments.size(), "submissions", snapshot.submissions.size(),
+                    "bytes", size);
+            return snapshot;
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Could not open snapshot, loading JSON", "file", file.getPath(), "error", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether the directory has a snapshot that matches its JSON files
+     */
+    public static boolean isCurrent(File dataDirectory) {
+        File file = new File(dataDirectory, FILE_NAME);
+        if (!file.isFile()) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole header
+            }
+            return header.position() == HEADER_SIZE && header.getInt(0) == MAGIC && header.getInt(4) == VERSION
+                    && Arrays.equals(readStamps(header), stamps(dataDirectory));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Drop the snapshot after a data file changes; called on every save
+     */
+    public static void invalidate(File dataDirectory) {
+        File file = new File(dataDirectory, FILE_NAME);
+        // On Windows a snapshot still mapped cannot be deleted; its stale file stamps rule it out anyway
+        if (file.exists() && !file.delete()) {
+            log.debug("Could not delete stale snapshot", "file", file.getPath());
+        }
+    }
+
+    public Table<SimpleDataPersistence.SimpleUserData> users() {
+        return users;
+    }
+
+    public Table<DataPersistence.CourseRecord> courses() {
+        return courses;
+    }
+
+    public Table<DataPersistence.AssignmentRecord> assignments() {
+        return assignments;
+    }
+
+    public Table<DataPersistence.SubmissionRecord> submissions() {
+        return submissions;
+    }
+
+    /**
+     * Course data backed by the mapped table, for CourseService to link as it reads
+     */
+    public DataPersistence.CourseData courseData() {
+        DataPersistence.CourseData data = new DataPersistence.CourseData();
+        data.courses = courses;
+        data.courseCounter = courseCounter;
+        return data;
+    }
+
+    public DataPersistence.AssignmentData assignmentData() {
+        DataPersistence.AssignmentData data = new DataPersistence.AssignmentData();
+        data.assignments = assignments;
+        data.submissions = submissions;
+        data.assignmentCounter = assignmentCounter;
+        data.submissionCounter = submissionCounter;
+        return data;
+    }
+
+    private void checkBounds(long size) {
+        for (Table<?> table : List.of(users, courses, assignments, submissions)) {
+            if (table.offset < HEADER_SIZE || table.offset + (long) table.size() * table.rowSize > heapOffset) {
+                throw new IllegalStateException("Snapshot table out of bounds");
+            }
+        }
+        if (heapOffset + heapLength > size) {
+            throw new IllegalStateException("Snapshot heap out of bounds");
+        }
+    }
+
+    private SimpleDataPersistence.SimpleUserData user(int row) {
+        SimpleDataPersistence.SimpleUserData user = new SimpleDataPersistence.SimpleUserData();
+        user.userId = string(row);
+        user.name = string(row + 4);
+        user.email = string(row + 8);
+        user.password = string(row + 12);
+        user.role = string(row + 16);
+        user.department = string(row + 20);
+        user.employeeId = string(row + 24);
+        user.studentId = string(row + 28);
+        user.program = string(row + 32);
+        user.semester = buffer.getInt(row + 36);
+        user.isActive = buffer.get(row + 40) != 0;
+        return user;
+    }
+
+    private DataPersistence.CourseRecord course(int row) {
+        DataPersistence.CourseRecord course = new DataPersistence.CourseRecord();
+        course.courseId = string(row);
+        course.courseName = string(row + 4);
+        course.courseCode = string(row + 8);
+        course.department = string(row + 12);
+        course.creditHours = buffer.getInt(row + 16);
+        course.semester = string(row + 20);
+        course.instructorId = string(row + 24);
+        course.enrolledStudentIds = strings(row + 28);
+        course.createdAt = time(row + 32);
+        course.isActive = buffer.get(row + 44) != 0;
+        return course;
+    }
+
+    private DataPersistence.AssignmentRecord assignment(int row) {
+        DataPersistence.AssignmentRecord assignment = new DataPersistence.AssignmentRecord();
+        assignment.assignmentId = string(row);
+        assignment.title = string(row + 4);
+        assignment.description = string(row + 8);
+        assignment.courseId = string(row + 12);
+        assignment.creatorId = string(row + 16);
+        assignment.type = constant(AssignmentType.values(), row + 20);
+        assignment.maxMarks = buffer.getInt(row + 21);
+        assignment.createdAt = time(row + 25);
+        assignment.dueDate = time(row + 37);
+        assignment.status = constant(AssignmentStatus.values(), row + 49);
+        assignment.isActive = buffer.get(row + 50) != 0;
+        assignment.attachmentPaths = strings(row + 51);
+        return assignment;
+    }
+
+    private DataPersistence.SubmissionRecord submission(int row) {
+        DataPersistence.SubmissionRecord submission = new DataPersistence.SubmissionRecord();
+        submission.submissionId = string(row);
+        submission.assignmentId = string(row + 4);
+        submission.studentId = string(row + 8);
+        submission.content = string(row + 12);
+        submission.attachmentPaths = strings(row + 16);
+        submission.submittedAt = time(row + 20);
+        submission.status = constant(SubmissionStatus.values(), row + 32);
+        int marks = buffer.getInt(row + 33);
+        submission.marks = marks == Integer.MIN_VALUE ? null : marks;
+        submission.feedback = string(row + 37);
+        submission.gradedAt = time(row + 41);
+        submission.gradedById = string(row + 53);
+        return submission;
+    }
+
+    private String string(int position) {
+        int reference = buffer.getInt(position);
+        if (reference == NULL) {
+            return null;
+        }
+        int start = heapOffset + reference;
+        byte[] bytes = new byte[buffer.getInt(start)];
+        buffer.get(start + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> strings(int position) {
+        int reference = buffer.getInt(position);
+        List<String> values = new ArrayList<>();
+        if (reference != NULL) {
+            int start = heapOffset + reference;
+            int count = buffer.getInt(start);
+            for (int i = 0; i < count; i++) {
+                values.add(string(start + 4 + 4 * i));
+            }
+        }
+        return values;
+    }
+
+    private LocalDateTime time(int position) {
+        long seconds = buffer.getLong(position);
+        return seconds == NO_TIME ? null
+                : LocalDateTime.ofEpochSecond(seconds, buffer.getInt(position + 8), ZoneOffset.UTC);
+    }
+
+    private <E> E constant(E[] values, int position) {
+        byte ordinal = buffer.get(position);
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    private static long[] readStamps(ByteBuffer header) {
+        long[] stamps = new long[SOURCES.length * 2];
+        for (int i = 0; i < stamps.length; i++) {
+            stamps[i] = header.getLong(8 + 8 * i);
+        }
+        return stamps;
+    }
+
+    /**
+     * Length and modification time of each JSON file; -1 for one that does not exist
+     */
+    private static long[] stamps(File dataDirectory) {
+        long[] stamps = new long[SOURCES.length * 2];
+        for (int i = 0; i < SOURCES.length; i++) {
+            File source = new File(dataDirectory, SOURCES[i]);
+            boolean exists = source.isFile();
+            stamps[2 * i] = exists ? source.length() : -1;
+            stamps[2 * i + 1] = exists ? source.lastModified() : -1;
+        }
+        return stamps;
+    }
+
+    /**
+     * Write a snapshot of the given state. The JSON files are stamped before the state is taken,
+     * so a save that lands while this runs leaves the snapshot looking out of date, never current.
+     * The file is written under a temporary name and moved into place.
+     */
+    public static void write(File dataDirectory, Supplier<Contents> state) throws IOException {
+        long start = System.nanoTime();
+        long[] stamps = stamps(dataDirectory);
+        Contents contents = state.get();
+        List<SimpleDataPersistence.SimpleUserData> users = sorted(contents.users, user -> user.userId);
+        List<DataPersistence.CourseRecord> courses = sorted(contents.courses.courses, course -> course.courseId);
+        List<DataPersistence.AssignmentRecord> assignments =
+                sorted(contents.assignments.assignments, assignment -> assignment.assignmentId);
+        List<DataPersistence.SubmissionRecord> submissions =
+                sorted(contents.assignments.submissions, submission -> submission.submissionId);
+
+        long[] offsets = new long[TABLES];
+        int[] counts = {users.size(), courses.size(), assignments.size(), submissions.size()};
+        int[] sizes = {USER_SIZE, COURSE_SIZE, ASSIGNMENT_SIZE, SUBMISSION_SIZE};
+        long position = HEADER_SIZE;
+        for (int i = 0; i < TABLES; i++) {
+            offsets[i] = position;
+            position += (long) counts[i] * sizes[i];
+        }
+        long heapOffset = position;
+
+        File file = new File(dataDirectory, FILE_NAME);
+        File temporary = new File(dataDirectory, FILE_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Region rows = new Region(channel, HEADER_SIZE);
+            Heap heap = new Heap(new Region(channel, heapOffset));
+            for (SimpleDataPersistence.SimpleUserData user : users) {
+                rows.putInt(heap.string(user.userId));
+                rows.putInt(heap.string(user.name));
+                rows.putInt(heap.string(user.email));
+                rows.putInt(heap.string(user.password));
+                rows.putInt(heap.string(user.role));
+                rows.putInt(heap.string(user.department));
+                rows.putInt(heap.string(user.employeeId));
+                rows.putInt(heap.string(user.studentId));
+                rows.putInt(heap.string(user.program));
+                rows.putInt(user.semester);
+                rows.put(user.isActive ? 1 : 0);
+            }
+            for (DataPersistence.CourseRecord course : courses) {
+                rows.putInt(heap.string(course.courseId));
+                rows.putInt(heap.string(course.courseName));
+                rows.putInt(heap.string(course.courseCode));
+                rows.putInt(heap.string(course.department));
+                rows.putInt(course.creditHours);
+                rows.putInt(heap.string(course.semester));
+                rows.putInt(heap.string(course.instructorId));
+                rows.putInt(heap.strings(course.enrolledStudentIds));
+                rows.putTime(course.createdAt);
+                rows.put(course.isActive ? 1 : 0);
+            }
+            for (DataPersistence.AssignmentRecord assignment : assignments) {
+                rows.putInt(heap.string(assignment.assignmentId));
+                rows.putInt(heap.string(assignment.title));
+                rows.putInt(heap.string(assignment.description));
+                rows.putInt(heap.string(assignment.courseId));
+                rows.putInt(heap.string(assignment.creatorId));
+                rows.put(assignment.type != null ? assignment.type.ordinal() : -1);
+                rows.putInt(assignment.maxMarks);
+                rows.putTime(assignment.createdAt);
+                rows.putTime(assignment.dueDate);
+                rows.put(assignment.status != null ? assignment.status.ordinal() : -1);
+                rows.put(assignment.isActive ? 1 : 0);
+                rows.putInt(heap.strings(assignment.attachmentPaths));
+            }
+            for (DataPersistence.SubmissionRecord submission : submissions) {
+                rows.putInt(heap.string(submission.submissionId));
+                rows.putInt(heap.string(submission.assignmentId));
+                rows.putInt(heap.string(submission.studentId));
+                rows.putInt(heap.string(submission.content));
+                rows.putInt(heap.strings(submission.attachmentPaths));
+                rows.putTime(submission.submittedAt);
+                rows.put(submission.status != null ? submission.status.ordinal() : -1);
+                rows.putInt(submission.marks != null ? submission.marks : Integer.MIN_VALUE);
+                rows.putInt(heap.string(submission.feedback));
+                rows.putTime(submission.gradedAt);
+                rows.putInt(heap.string(submission.gradedById));
+            }
+            rows.flush();
+            heap.region.flush();
+            if (heapOffset + heap.size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Snapshot would exceed 2 GB; keeping the JSON files only");
+            }
+
+            Region header = new Region(channel, 0);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            for (long stamp : stamps) {
+                header.putLong(stamp);
+            }
+            header.putInt(contents.courses.courseCounter);
+            header.putInt(contents.assignments.assignmentCounter);
+            header.putInt(contents.assignments.submissionCounter);
+            for (int i = 0; i < TABLES; i++) {
+                header.putLong(offsets[i]);
+                header.putInt(counts[i]);
+            }
+            header.putLong(heapOffset);
+            header.putLong(heap.size);
+            header.flush();
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            temporary.delete();
+            throw e;
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        log.info("✓ Wrote snapshot", "users", users.size(), "courses", courses.size(),
+                "assignments", assignments.size(), "submissions", submissions.size(),
+                "bytes", file.length(), "ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static <T> List<T> sorted(Collection<T> records, Function<T, String> id) {
+        List<T> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparing(id, ID_ORDER));
+        return sorted;
+    }
+
+    /**
+     * The state a snapshot is taken of
+     */
+    public static final class Contents {
+        final Collection<SimpleDataPersistence.SimpleUserData> users;
+        final DataPersistence.CourseData courses;
+        final DataPersistence.AssignmentData assignments;
+
+        public Contents(Collection<SimpleDataPersistence.SimpleUserData> users, DataPersistence.CourseData courses,
+                        DataPersistence.AssignmentData assignments) {
+            this.users = users;
+            this.courses = courses;
+            this.assignments = assignments;
+        }
+    }
+
+    /**
+     * Rows of one entity, decoded into a fresh record on every get; the mapping is only read with
+     * absolute gets, so tables can be read from several threads
+     */
+    public final class Table<R> extends AbstractList<R> implements RandomAccess {
+        private final int offset;
+        private final int count;
+        private final int rowSize;
+        private final IntFunction<R> decoder;
+
+        private Table(int headerPosition, int rowSize, IntFunction<R> decoder) {
+            this.offset = (int) buffer.getLong(headerPosition);
+            this.count = buffer.getInt(headerPosition + 8);
+            this.rowSize = rowSize;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public R get(int index) {
+            Objects.checkIndex(index, count);
+            return decoder.apply(offset + index * rowSize);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    /**
+     * Buffered writes to a file channel from a given position
+     */
+    private static final class Region {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        private long position;
+
+        Region(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void put(int value) throws IOException {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putTime(LocalDateTime time) throws IOException {
+            putLong(time != null ? time.toEpochSecond(ZoneOffset.UTC) : NO_TIME);
+            putInt(time != null ? time.getNano() : 0);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (int written = 0; written < bytes.length; ) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, chunk);
+                written += chunk;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * The string heap; short strings are written once and shared by every row that uses them
+     */
+    private static final class Heap {
+        private final Region region;
+        private final Map<String, Integer> shared = new HashMap<>();
+        private long size;
+
+        Heap(Region region) {
+            this.region = region;
+        }
+
+        int string(String value) throws IOException {
+            if (value == null) {
+                return NULL;
+            }
+            if (value.length() <= SHARED_STRING_LENGTH) {
+                Integer reference = shared.get(value);
+                if (reference != null) {
+                    return reference;
+                }
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int reference = reserve(4 + bytes.length);
+            region.putInt(bytes.length);
+            region.putBytes(bytes);
+            if (value.length() <= SHARED_STRING_LENGTH) {
+                shared.put(value, reference);
+            }
+            return reference;
+        }
+
+        int strings(List<String> values) throws IOException {
+            if (values == null || values.isEmpty()) {
+                return NULL;
+            }
+            int[] references = new int[values.size()];
+            for (int i = 0; i < references.length; i++) {
+                references[i] = string(values.get(i));
+            }
+            int reference = reserve(4 + 4 * references.length);
+            region.putInt(references.length);
+            for (int value : references) {
+                region.putInt(value);
+            }
+            return reference;
+        }
+
+        private int reserve(int bytes) {
+            if (size + bytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Snapshot would exceed 2 GB; keeping the JSON files only");
+            }
+            int reference = (int) size;
+            size += bytes;
+            return reference;
+        }
+    }
+}
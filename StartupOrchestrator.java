@@ -0,0 +1,314 @@
+package org.app.service;
+
+import org.app.model.Assignment;
+import org.app.model.Course;
+import org.app.model.Student;
+import org.app.model.Submission;
+import org.app.model.Teacher;
+import org.app.util.DataPersistence;
+import org.app.util.JsonCodec;
+import org.app.util.Log;
+import org.app.util.SimpleDataPersistence;
+import org.app.util.Snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Startup orchestrator for BUP UCAM Assignment Tracker
+ * Loads the stores no more serially than their links require. The user store loads first and
+ * on its own, so login can open as soon as it is ready; the course and assignment files are
+ * parsed meanwhile on background threads, then courses are linked to users and assignments and
+ * submissions to courses and users. Every store reads through JsonCodec.
+ * With two or fewer cores the big files are parsed only after the user store is ready, so they
+ * do not compete with it for the CPU; either way the time until users are ready depends on the
+ * number of users, not on the number of courses or submissions.
+ * When the data directory has a current Snapshot, every store reads its records from the mapped
+ * file instead of parsing JSON; writeSnapshotOnExit keeps that snapshot up to date.
+ */
+public class StartupOrchestrator {
+    private static final Log log = Log.get(StartupOrchestrator.class);
+
+    private final long startNanos = System.nanoTime();
+    private final File dataDirectory;
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor;
+    private final CompletableFuture<UserService> userService;
+    private final CompletableFuture<CourseService> courseService;
+    private final CompletableFuture<AssignmentService> assignmentService;
+    private final CompletableFuture<Void> ready;
+    private volatile boolean fromSnapshot;
+    private volatile NotificationService notifications;
+
+    /**
+     * Start loading the stores in a directory; returns immediately
+     */
+    public StartupOrchestrator(File dataDirectory) {
+        this.dataDirectory = dataDirectory;
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(3, task -> {
+            Thread thread = new Thread(task, "startup-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        boolean parallel = Runtime.getRuntime().availableProcessors() > 2;
+
+        // Mapping the snapshot is cheap; its rows are decoded as each store links them
+        CompletableFuture<Snapshot> snapshot = CompletableFuture.supplyAsync(
+                () -> phase("openSnapshot", () -> Snapshot.open(dataDirectory)), executor);
+        userService = snapshot.thenApplyAsync(mapped -> {
+            fromSnapshot = mapped != null;
+            phase("jsonCodec", JsonCodec::mapper);
+            UserService users = phase("users", () -> new UserService(new SimpleDataPersistence(dataDirectory),
+                    mapped != null ? mapped.users() : null));
+            mark("usersReady");
+            return users;
+        }, executor);
+
+        CompletableFuture<?> gate = parallel ? CompletableFuture.completedFuture(null) : userService;
+        CompletableFuture<DataPersistence> persistence = gate.thenApplyAsync(
+                ignored -> new DataPersistence(dataDirectory), executor);
+        CompletableFuture<DataPersistence.CourseData> courseData = persistence.thenCombineAsync(snapshot,
+                (store, mapped) -> mapped != null ? mapped.courseData() : phase("parseCourses", store::loadCourses),
+                executor);
+        CompletableFuture<DataPersistence.AssignmentData> assignmentData = persistence.thenCombineAsync(snapshot,
+                (store, mapped) -> mapped != null ? mapped.assignmentData()
+                        : phase("parseAssignments", store::loadAssignments),
+                executor);
+
+        courseService = userService.thenCombineAsync(courseData, (users, data) ->
+                phase("linkCourses", () -> new CourseService(persistence.join(), users, data)), executor);
+        assignmentService = courseService.thenCombineAsync(assignmentData, (courses, data) ->
+                phase("linkAssignments", () -> new AssignmentService(persistence.join(), courses,
+                        userService.join(), data)), executor);
+
+        ready = assignmentService.handle((assignments, error) -> {
+            executor.shutdown();
+            if (error != null) {
+                log.error("Startup failed", error);
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            }
+            mark("allReady");
+            report();
+            return null;
+        });
+    }
+
+    public StartupOrchestrator() {
+        this(new File("data"));
+    }
+
+    /**
+     * Completes once the user store is loaded; login and session lookups work from then on
+     */
+    public CompletableFuture<UserService> usersReady() {
+        return userService;
+    }
+
+    /**
+     * Completes once every store is loaded and linked
+     */
+    public CompletableFuture<Void> ready() {
+        return ready;
+    }
+
+    public UserService getUserService() {
+        return await(userService);
+    }
+
+    /**
+     * Wait for courses to be loaded and linked
+     */
+    public CourseService getCourseService() {
+        return await(courseService);
+    }
+
+    /**
+     * Wait for assignments and submissions to be loaded and linked
+     */
+    public AssignmentService getAssignmentService() {
+        return await(assignmentService);
+    }
+
+    /**
+     * Wait for every store
+     */
+    public void awaitAll() {
+        await(ready);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Startup failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Write a snapshot of the loaded stores, so the next start maps it instead of parsing JSON
+     */
+    public void writeSnapshot() throws IOException {
+        UserService users = getUserService();
+        CourseService courses = getCourseService();
+        AssignmentService assignments = getAssignmentService();
+        Snapshot.write(dataDirectory, () -> {
+            List<SimpleDataPersistence.SimpleUserData> credentials = new ArrayList<>();
+            for (Teacher teacher : users.getAllTeachers()) {
+                credentials.add(new SimpleDataPersistence.SimpleUserData(teacher));
+            }
+            for (Student student : users.getAllStudents()) {
+                credentials.add(new SimpleDataPersistence.SimpleUserData(student));
+            }
+            DataPersistence.CourseData courseData = new DataPersistence.CourseData();
+            for (Course course : courses.getAllCourses()) {
+                courseData.courses.add(new DataPersistence.CourseRecord(course));
+            }
+            courseData.courseCounter = courses.getCourseCounter();
+            DataPersistence.AssignmentData assignmentData = new DataPersistence.AssignmentData();
+            for (Assignment assignment : assignments.getAllAssignments()) {
+                assignmentData.assignments.add(new DataPersistence.AssignmentRecord(assignment));
+            }
+            for (Submission submission : assignments.getAllSubmissions()) {
+                assignmentData.submissions.add(new DataPersistence.SubmissionRecord(submission));
+            }
+            assignmentData.assignmentCounter = assignments.getAssignmentCounter();
+            assignmentData.submissionCounter = assignments.getSubmissionCounter();
+            return new Snapshot.Contents(credentials, courseData, assignmentData);
+        });
+    }
+
+    /**
+     * Write the snapshot when the JVM exits, unless the one on disk still matches the data files
+     */
+    public void writeSnapshotOnExit() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (!Snapshot.isEnabled() || !ready.isDone() || ready.isCompletedExceptionally()
+                    || Snapshot.isCurrent(dataDirectory)) {
+                return;
+            }
+            try {
+                writeSnapshot();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not write snapshot", "error", e.getMessage());
+            }
+            Log.flush(1000);
+        }, "snapshot-writer"));
+    }
+
+    /**
+     * Start deadline reminders (see NotificationService) once every store is loaded; dataAccess
+     * runs the job's reads wherever the services are changed
+     */
+    public void startNotifications(NotificationService.DataAccess dataAccess) {
+        ready.thenRun(() -> notifications = new NotificationService(
+                userService.join(), courseService.join(), assignmentService.join(), dataAccess));
+    }
+
+    /**
+     * Shut the user store down when the JVM exits, saving the emails its outbox has not sent yet,
+     * and stop deadline reminders
+     */
+    public void shutdownOnExit() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            NotificationService running = notifications;
+            if (running != null) {
+                running.shutdown();
+            }
+            if (!userService.isDone() || userService.isCompletedExceptionally()) {
+                return;
+            }
+            userService.join().shutdown();
+            Log.flush(1000);
+        }, "user-store-shutdown"));
+    }
+
+    /**
+     * Record a milestone (e.g. the login screen appearing) in the timing breakdown
+     */
+    public void mark(String milestone) {
+        phases.add(new Phase(milestone, System.nanoTime() - startNanos, 0, Thread.currentThread().getName()));
+    }
+
+    private <T> T phase(String name, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            phases.add(new Phase(name, start - startNanos, System.nanoTime() - start, Thread.currentThread().getName()));
+        }
+    }
+
+    /**
+     * Phases and milestones recorded so far, in start order
+     */
+    public List<Phase> getPhases() {
+        List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort(Comparator.comparingLong(phase -> phase.startNanos));
+        return sorted;
+    }
+
+    private void report() {
+        for (Phase phase : getPhases()) {
+            if (phase.durationNanos > 0) {
+                log.info("✓ Startup phase", "phase", phase.name, "startMs", phase.getStartMillis(),
+                        "durationMs", phase.getDurationMillis(), "thread", phase.thread);
+            }
+        }
+        List<Object> fields = new ArrayList<>(List.of("source", fromSnapshot ? "snapshot" : "json"));
+        for (Phase phase : getPhases()) {
+            if (phase.durationNanos == 0) {
+                fields.add(phase.name + "Ms");
+                fields.add(phase.getStartMillis());
+            }
+        }
+        ProcessHandle.current().info().startInstant().ifPresent(launched -> {
+            fields.add("sinceLaunchMs");
+            fields.add(Duration.between(launched, Instant.now()).toMillis());
+        });
+        log.info("✓ Startup complete", fields.toArray());
+    }
+
+    /**
+     * One timed step of startup; milestones have zero duration
+     */
+    public static class Phase {
+        private final String name;
+        private final long startNanos;
+        private final long durationNanos;
+        private final String thread;
+
+        Phase(String name, long startNanos, long durationNanos, String thread) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.thread = thread;
+        }
+
+        public String getName() { return name; }
+        public String getThread() { return thread; }
+
+        /**
+         * Milliseconds after the orchestrator was created, to a tenth
+         */
+        public double getStartMillis() {
+            return Math.round(startNanos / 1e5) / 10.0;
+        }
+
+        public double getDurationMillis() {
+            return Math.round(durationNanos / 1e5) / 10.0;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.app.util.ValidationUtil;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Student Registration Dialog for BUP UCAM Assignment Tracker
@@ -12,6 +14,7 @@ import java.awt.*;
 public class StudentRegistrationDialog extends JDialog {
     private UserService userService;
     private boolean success = false;
+    private JButton registerButton;
 
     private JTextField nameField;
     private JTextField emailField;
@@ -101,7 +104,7 @@ public class StudentRegistrationDialog extends JDialog {
 
         // Buttons
         JPanel buttonPanel = new JPanel(new FlowLayout());
-        JButton registerButton = new JButton("Register");
+        registerButton = new JButton("Register");
         registerButton.setBackground(new Color(255, 152, 0));
         registerButton.setForeground(Color.WHITE);
 
@@ -160,32 +163,45 @@ public class StudentRegistrationDialog extends JDialog {
             return;
         }
 
-        try {
-            userService.registerStudent(name, email, password, studentId, program, semester);
-
-            // Show email verification dialog
-            EmailVerificationDialog verificationDialog = new EmailVerificationDialog(
-                    (JFrame) getParent(), userService, email);
-            verificationDialog.setVisible(true);
-
-            if (verificationDialog.isVerified()) {
-                success = true;
-                JOptionPane.showMessageDialog(this,
-                        "Student registration and email verification successful!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Registration completed but email not verified. Please verify your email to login.",
-                        "Registration Completed",
-                        JOptionPane.WARNING_MESSAGE);
-            }
-        } catch (Exception e) {
+        // Password hashing is slow by design, so hash off the EDT and come back when done
+        registerButton.setEnabled(false);
+        userService.registerStudentAsync(name, email, password, studentId, program, semester,
+                        SwingUtilities::invokeLater)
+                .whenComplete((user, error) -> SwingUtilities.invokeLater(() -> completeRegistration(email, error)));
+    }
+
+    private void completeRegistration(String email, Throwable error) {
+        registerButton.setEnabled(true);
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            String message = cause instanceof RejectedExecutionException
+                    ? "The server is busy. Please try again in a moment."
+                    : cause.getMessage();
             JOptionPane.showMessageDialog(this,
-                    "Registration failed: " + e.getMessage(),
+                    "Registration failed: " + message,
                     "Registration Error",
                     JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Show email verification dialog
+        EmailVerificationDialog verificationDialog = new EmailVerificationDialog(
+                (JFrame) getParent(), userService, email);
+        verificationDialog.setVisible(true);
+
+        if (verificationDialog.isVerified()) {
+            success = true;
+            JOptionPane.showMessageDialog(this,
+                    "Student registration and email verification successful!",
+                    "Success",
+                    JOptionPane.INFORMATION_MESSAGE);
+            dispose();
+        } else {
+            JOptionPane.showMessageDialog(this,
+                    "Registration completed but email not verified. Please verify your email to login.",
+                    "Registration Completed",
+                    JOptionPane.WARNING_MESSAGE);
         }
     }
 
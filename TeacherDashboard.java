@@ -8,8 +8,17 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -26,6 +35,7 @@ public class TeacherDashboard extends JPanel {
     private DefaultTableModel coursesTableModel;
     private DefaultTableModel assignmentsTableModel;
     private DefaultTableModel submissionsTableModel;
+    private final List<Submission> submissionRows = new ArrayList<>();
 
     public TeacherDashboard(Teacher teacher, UserService userService,
                             CourseService courseService, AssignmentService assignmentService,
@@ -194,6 +204,10 @@ public class TeacherDashboard extends JPanel {
         createCourseButton.addActionListener(e -> showCreateCourseDialog());
         toolbar.add(createCourseButton);
 
+        JButton exportGradebookButton = new JButton("Export Gradebook");
+        exportGradebookButton.addActionListener(e -> showExportGradebookDialog());
+        toolbar.add(exportGradebookButton);
+
         // Courses table
         String[] columns = {"Course Code", "Course Name", "Department", "Credit Hours", "Enrolled Students"};
         coursesTableModel = new DefaultTableModel(columns, 0) {
@@ -269,8 +283,18 @@ public class TeacherDashboard extends JPanel {
             }
         });
 
+        // Import grades button
+        JButton importGradesButton = new JButton("Import Grades");
+        importGradesButton.addActionListener(e -> showImportGradesDialog());
+
         JPanel buttonPanel = new JPanel(new FlowLayout());
         buttonPanel.add(gradeButton);
+        buttonPanel.add(importGradesButton);
+
+        // Similarity check button
+        JButton similarityButton = new JButton("Check Similarity");
+        similarityButton.addActionListener(e -> showSimilarityDialog());
+        buttonPanel.add(similarityButton);
 
         panel.add(new JScrollPane(submissionsTable), BorderLayout.CENTER);
         panel.add(buttonPanel, BorderLayout.SOUTH);
@@ -304,8 +328,165 @@ public class TeacherDashboard extends JPanel {
     }
 
     private void showGradingDialog(int submissionIndex) {
-        // Implementation for grading dialog
-        JOptionPane.showMessageDialog(this, "Grading dialog will be implemented here.");
+        Submission submission = submissionRows.get(submissionIndex);
+        int maxMarks = submission.getAssignment().getMaxMarks();
+
+        String marksText = JOptionPane.showInputDialog(this,
+                "Marks for " + submission.getStudent().getName() + " (0-" + maxMarks + "):",
+                submission.getMarks() != null ? submission.getMarks() : "");
+        if (marksText == null) {
+            return;
+        }
+        String feedback = JOptionPane.showInputDialog(this, "Feedback:",
+                submission.getFeedback() != null ? submission.getFeedback() : "");
+        if (feedback == null) {
+            return;
+        }
+
+        try {
+            int marks = Integer.parseInt(marksText.trim());
+            assignmentService.gradeSubmission(submission.getSubmissionId(), marks, feedback, teacher);
+            refreshData();
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Marks must be a whole number.",
+                    "Invalid Marks", JOptionPane.ERROR_MESSAGE);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Grading Failed", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Let the teacher pick one of their assignments; null if they have none or cancel
+     */
+    private Assignment chooseAssignment(String message, String title) {
+        List<Assignment> assignments = assignmentService.getAssignmentsByTeacher(teacher);
+        if (assignments.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "You have no assignments yet.",
+                    "No Assignments", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+
+        String[] labels = new String[assignments.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = assignments.get(i).getCourse().getCourseCode() + " - " + assignments.get(i).getTitle();
+        }
+        Object choice = JOptionPane.showInputDialog(this, message, title,
+                JOptionPane.QUESTION_MESSAGE, null, labels, labels[0]);
+        return choice == null ? null : assignments.get(Arrays.asList(labels).indexOf(choice));
+    }
+
+    private void showImportGradesDialog() {
+        Assignment assignment = chooseAssignment("Import grades for which assignment?", "Import Grades");
+        if (assignment == null) {
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Grade sheet (CSV or TSV: student_id, marks, feedback)");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+
+        GradeImporter.Result result;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            result = new GradeImporter(assignmentService).importGrades(reader, assignment, teacher);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not read " + file.getName() + ": " + e.getMessage(),
+                    "Import Failed", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        if (result.isSuccess()) {
+            JOptionPane.showMessageDialog(this, "Graded " + result.getGraded() + " submissions"
+                    + (result.getSkipped() > 0 ? " (" + result.getSkipped() + " rows without marks skipped)." : "."));
+            refreshData();
+        } else {
+            List<String> errors = result.getErrors();
+            StringBuilder message = new StringBuilder("No grades were imported:\n");
+            for (int i = 0; i < Math.min(errors.size(), 15); i++) {
+                message.append(errors.get(i)).append('\n');
+            }
+            if (errors.size() > 15) {
+                message.append("... and ").append(errors.size() - 15).append(" more");
+            }
+            JOptionPane.showMessageDialog(this, message.toString(), "Import Failed", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void showSimilarityDialog() {
+        Assignment assignment = chooseAssignment("Check which assignment for similar submissions?", "Check Similarity");
+        if (assignment == null) {
+            return;
+        }
+
+        List<SimilarityService.SimilarSubmissions> pairs = assignmentService.getSimilarityService()
+                .findSimilarSubmissions(assignment, SimilarityService.DEFAULT_THRESHOLD);
+        if (pairs.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No similar submissions found for " + assignment.getTitle() + ".");
+            return;
+        }
+
+        String[] columns = {"Similarity", "Student", "Student", "Submitted At", "Submitted At"};
+        DefaultTableModel model = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
+        for (SimilarityService.SimilarSubmissions pair : pairs) {
+            model.addRow(new Object[]{
+                    String.format("%.0f%%", pair.getSimilarity() * 100),
+                    pair.getFirst().getStudent().getName(),
+                    pair.getSecond().getStudent().getName(),
+                    pair.getFirst().getSubmittedAt().format(formatter),
+                    pair.getSecond().getSubmittedAt().format(formatter)
+            });
+        }
+        JScrollPane scrollPane = new JScrollPane(new JTable(model));
+        scrollPane.setPreferredSize(new Dimension(650, 300));
+        JOptionPane.showMessageDialog(this, scrollPane,
+                pairs.size() + " similar pairs in " + assignment.getTitle(), JOptionPane.WARNING_MESSAGE);
+    }
+
+    private void showExportGradebookDialog() {
+        List<Course> teacherCourses = courseService.getCoursesByTeacher(teacher);
+        if (teacherCourses.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "You have no courses to export.",
+                    "No Courses", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export gradebook for all your courses (.xlsx or .csv)");
+        chooser.setSelectedFile(new File("gradebook.xlsx"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        GradebookExporter exporter = new GradebookExporter(courseService, assignmentService);
+
+        try {
+            int rows;
+            if (file.getName().toLowerCase().endsWith(".csv")) {
+                try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    rows = exporter.exportCsv(teacherCourses, writer);
+                }
+            } else {
+                if (!file.getName().toLowerCase().endsWith(".xlsx")) {
+                    file = new File(file.getParentFile(), file.getName() + ".xlsx");
+                }
+                try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                    rows = exporter.exportXlsx(teacherCourses, out);
+                }
+            }
+            JOptionPane.showMessageDialog(this, "Exported " + teacherCourses.size() + " courses ("
+                    + rows + " student rows) to " + file.getName() + ".");
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not write " + file.getName() + ": " + e.getMessage(),
+                    "Export Failed", JOptionPane.ERROR_MESSAGE);
+        }
     }
 
     private void refreshData() {
@@ -348,11 +529,13 @@ public class TeacherDashboard extends JPanel {
 
     private void refreshSubmissionsTable() {
         submissionsTableModel.setRowCount(0);
+        submissionRows.clear();
         List<Assignment> assignments = assignmentService.getAssignmentsByTeacher(teacher);
 
         for (Assignment assignment : assignments) {
             List<Submission> submissions = assignmentService.getSubmissionsForAssignment(assignment);
             for (Submission submission : submissions) {
+                submissionRows.add(submission);
                 submissionsTableModel.addRow(new Object[]{
                         assignment.getTitle(),
                         submission.getStudent().getName(),
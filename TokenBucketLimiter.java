@@ -0,0 +1,125 @@
+package org.app.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket rate limiter for BUP UCAM Assignment Tracker
+ * Keys (e.g. email addresses) hash into a fixed array of buckets, so memory stays constant no
+ * matter how many distinct keys an attacker sends. Each bucket is a single long holding the
+ * last refill time and the remaining milli-tokens, updated with compare-and-set.
+ * Colliding keys share a bucket, which can only make the limit stricter, never looser.
+ */
+public class TokenBucketLimiter {
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    /**
+     * Thrown when a caller has used up its allowance
+     */
+    public static class LimitExceededException extends IllegalStateException {
+        public LimitExceededException(String message) {
+            super(message);
+        }
+    }
+
+    private final String name;
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long capacityMilli;
+    private final double refillMilliPerMilli;
+    private final long epochNanos = System.nanoTime();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param slots number of buckets, rounded up to a power of two (use 1 for a global limit)
+     * @param capacity maximum burst, at most 1000 tokens
+     * @param refillPerSecond tokens added back per second
+     */
+    public TokenBucketLimiter(String name, int slots, int capacity, double refillPerSecond) {
+        if (capacity < 1 || capacity * MILLI > TOKEN_MASK) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + (TOKEN_MASK / MILLI));
+        }
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.name = name;
+        this.buckets = new AtomicLongArray(slots <= 1 ? 1 : size);
+        this.mask = buckets.length() - 1;
+        this.capacityMilli = capacity * MILLI;
+        this.refillMilliPerMilli = refillPerSecond;
+
+        // Every bucket starts full at time zero
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, capacityMilli);
+        }
+    }
+
+    /**
+     * Take one token from the global bucket
+     */
+    public boolean tryAcquire() {
+        return tryAcquireSlot(0);
+    }
+
+    /**
+     * Take one token from the key's bucket
+     */
+    public boolean tryAcquire(String key) {
+        return tryAcquireSlot(slotFor(key));
+    }
+
+    /**
+     * Give back a token taken from the key's bucket, e.g. when the attempt it paid for succeeded;
+     * the bucket never holds more than its capacity
+     */
+    public void release(String key) {
+        int slot = slotFor(key);
+        while (true) {
+            long state = buckets.get(slot);
+            long tokens = state & TOKEN_MASK;
+            long next = (state & ~TOKEN_MASK) | Math.min(capacityMilli, tokens + MILLI);
+            if (buckets.compareAndSet(slot, state, next)) {
+                return;
+            }
+        }
+    }
+
+    private int slotFor(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= (hash >>> 16);
+        hash *= 0x85ebca6b;
+        hash ^= (hash >>> 13);
+        return hash & mask;
+    }
+
+    private boolean tryAcquireSlot(int slot) {
+        long now = (System.nanoTime() - epochNanos) / 1_000_000;
+        while (true) {
+            long state = buckets.get(slot);
+            long last = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+
+            long elapsed = Math.max(0, now - last);
+            long refilled = Math.min(capacityMilli, tokens + (long) (elapsed * refillMilliPerMilli));
+            if (refilled < MILLI) {
+                rejected.increment();
+                return false;
+            }
+            long next = (now << TOKEN_BITS) | (refilled - MILLI);
+            if (buckets.compareAndSet(slot, state, next)) {
+                allowed.increment();
+                return true;
+            }
+        }
+    }
+
+    public String getName() { return name; }
+    public long getAllowedCount() { return allowed.sum(); }
+    public long getRejectedCount() { return rejected.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("%s{allowed=%d, rejected=%d}", name, getAllowedCount(), getRejectedCount());
+    }
+}
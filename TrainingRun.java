@@ -0,0 +1,135 @@
+package org.app;
+
+import com.formdev.flatlaf.FlatLightLaf;
+import org.app.gui.AssignmentTrackerGUI;
+import org.app.gui.StudentDashboard;
+import org.app.gui.TeacherDashboard;
+import org.app.model.Student;
+import org.app.model.Teacher;
+import org.app.server.ApiServer;
+import org.app.service.StartupOrchestrator;
+import org.app.service.UserService;
+import org.app.util.DatasetGenerator;
+import org.app.util.JsonCodec;
+import org.app.util.Log;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+
+/**
+ * AOT cache training run for BUP UCAM Assignment Tracker
+ * Does what a lab launch does so the JVM can record which classes to load, link and archive:
+ * loads a small generated dataset through StartupOrchestrator, logs a teacher and a student in,
+ * builds and paints both dashboards with FlatLaf, and serves a login and a course listing over
+ * the API. Started with --train by the cds profile (mvn -Pcds package); see pom.xml.
+ * Without a display the dashboards are still built and painted off-screen; with one, the login
+ * window is opened and closed as well.
+ */
+public class TrainingRun {
+    private static final Log log = Log.get(TrainingRun.class);
+
+    public static void run() throws Exception {
+        long start = System.nanoTime();
+        File dataDirectory = Files.createTempDirectory("tracker-training").toFile();
+        try {
+            DatasetGenerator.Config config = DatasetGenerator.Config.forSubmissions(5000);
+            new DatasetGenerator(config).generate(dataDirectory);
+
+            FlatLightLaf.setup();
+            StartupOrchestrator startup = new StartupOrchestrator(dataDirectory);
+            UserService userService = startup.getUserService();
+            Teacher teacher = userService.getAllTeachers().get(0);
+            Student student = userService.getAllStudents().get(0);
+            if (userService.authenticateUser(teacher.getEmail(), config.password) == null
+                    || userService.authenticateUser(student.getEmail(), config.password) == null) {
+                throw new IllegalStateException("Training login failed");
+            }
+            startup.awaitAll();
+
+            SwingUtilities.invokeAndWait(() -> {
+                AssignmentTrackerGUI frame = GraphicsEnvironment.isHeadless() ? null : new AssignmentTrackerGUI(startup);
+                paint(new TeacherDashboard(teacher, userService, startup.getCourseService(),
+                        startup.getAssignmentService(), frame));
+                paint(new StudentDashboard(student, userService, startup.getCourseService(),
+                        startup.getAssignmentService(), frame));
+                if (frame != null) {
+                    frame.dispose();
+                }
+            });
+
+            ApiServer server = new ApiServer(userService, startup.getCourseService(), startup.getAssignmentService(),
+                    new File(dataDirectory, "search_index.bin"));
+            server.start(0);
+            try {
+                callApi(server.getPort(), student.getEmail(), config.password, "/api/courses?studentId=" + student.getUserId());
+            } finally {
+                server.stop();
+            }
+        } finally {
+            deleteRecursively(dataDirectory);
+        }
+        log.info("✓ Training run finished", "ms", (System.nanoTime() - start) / 1_000_000);
+        Log.flush(1000);
+    }
+
+    /**
+     * Lay a panel out at window size and paint it into an image, loading the UI delegates
+     */
+    private static void paint(JComponent panel) {
+        panel.setSize(1200, 800);
+        layout(panel);
+        BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            panel.printAll(graphics);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    private static void layout(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layout((Container) child);
+            }
+        }
+    }
+
+    private static void callApi(int port, String email, String password, String path)
+            throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        String base = "http://localhost:" + port;
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(base + "/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Training API login failed: " + login.body());
+        }
+        String token = JsonCodec.mapper().readTree(login.body()).path("token").asText();
+        client.send(HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -29,8 +29,6 @@ public abstract class User {
     protected boolean isActive;
     @JsonProperty("isEmailVerified")
     protected boolean isEmailVerified = false;
-    @JsonProperty("emailVerificationCode")
-    protected String emailVerificationCode;
 
     // Default constructor for Jackson
     protected User() {}
@@ -69,8 +67,6 @@ public abstract class User {
 
     public boolean isEmailVerified() { return isEmailVerified; }
     public void setEmailVerified(boolean emailVerified) { isEmailVerified = emailVerified; }
-    public String getEmailVerificationCode() { return emailVerificationCode; }
-    public void setEmailVerificationCode(String code) { this.emailVerificationCode = code; }
 
     // Abstract methods
     public abstract void displayDashboard();
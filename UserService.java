@@ -2,61 +2,135 @@ package org.app.service;
 
 import org.app.model.*;
 import org.app.util.SimpleDataPersistence;
+import org.app.util.EmailOutbox;
 import org.app.util.EmailUtil;
+import org.app.util.FlightEvents;
+import org.app.util.Log;
+import org.app.util.Metrics;
+import org.app.util.PasswordHasher;
+import org.app.util.TokenBucketLimiter;
 import javax.mail.MessagingException;
-import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
  * User Management Service for BUP UCAM Assignment Tracker
  */
 public class UserService {
+    private static final Log log = Log.get(UserService.class);
+
+    private static final Metrics.Timer REGISTER_TEACHER = timer("registerTeacher");
+    private static final Metrics.Timer REGISTER_STUDENT = timer("registerStudent");
+    private static final Metrics.Timer REGISTER_TEACHER_ASYNC = timer("registerTeacherAsync");
+    private static final Metrics.Timer REGISTER_STUDENT_ASYNC = timer("registerStudentAsync");
+    private static final Metrics.Timer REGISTER_USERS = timer("registerUsers");
+    private static final Metrics.Timer AUTHENTICATE_USER = timer("authenticateUser");
+    private static final Metrics.Timer AUTHENTICATE_USER_ASYNC = timer("authenticateUserAsync");
+    private static final Metrics.Timer LOGIN = timer("login");
+    private static final Metrics.Timer GET_SESSION_USER = timer("getSessionUser");
+    private static final Metrics.Timer LOGOUT = timer("logout");
+    private static final Metrics.Timer FIND_USER_BY_EMAIL = timer("findUserByEmail");
+    private static final Metrics.Timer GET_ALL_TEACHERS = timer("getAllTeachers");
+    private static final Metrics.Timer GET_ALL_STUDENTS = timer("getAllStudents");
+    private static final Metrics.Timer GET_TEACHERS = timer("getTeachers");
+    private static final Metrics.Timer GET_STUDENTS = timer("getStudents");
+    private static final Metrics.Timer GET_TEACHERS_BY_DEPARTMENT = timer("getTeachersByDepartment");
+    private static final Metrics.Timer GET_STUDENTS_BY_PROGRAM = timer("getStudentsByProgram");
+    private static final Metrics.Timer UPDATE_USER_PROFILE = timer("updateUserProfile");
+    private static final Metrics.Timer DEACTIVATE_USER = timer("deactivateUser");
+    private static final Metrics.Timer IS_FIRST_RUN = timer("isFirstRun");
+    private static final Metrics.Timer VERIFY_EMAIL = timer("verifyEmail");
+    private static final Metrics.Timer RESEND_VERIFICATION_CODE = timer("resendVerificationCode");
+    private static final Metrics.Timer GET_USER = timer("getUser");
+    private static final Metrics.Timer GET_TEACHER = timer("getTeacher");
+    private static final Metrics.Timer GET_STUDENT = timer("getStudent");
+
     private Map<String, User> users;
-    private Map<String, Teacher> teachers;
-    private Map<String, Student> students;
+    private Map<String, User> usersByEmail;
+    private NavigableMap<String, Teacher> teachers;
+    private NavigableMap<String, Student> students;
     private int userCounter;
     private SimpleDataPersistence dataPersistence;
+    private SessionManager sessionManager;
+    private CredentialService credentialService;
+    private VerificationCodeService verificationCodes;
+    private EmailOutbox emailOutbox;
+
+    // Checked before any user lookup so abusive traffic is rejected in constant time
+    private final TokenBucketLimiter globalLoginLimiter = new TokenBucketLimiter("login-global", 1,
+            Integer.getInteger("app.login.burst", 200), Integer.getInteger("app.login.rate", 100));
+    private final TokenBucketLimiter emailLoginLimiter =
+            new TokenBucketLimiter("login-per-email", 4096, 5, 1.0 / 30);
+    private final TokenBucketLimiter emailVerificationLimiter =
+            new TokenBucketLimiter("verify-per-email", 4096, 5, 1.0 / 60);
 
     public UserService() {
-        this.dataPersistence = new SimpleDataPersistence();
-        this.users = new HashMap<>();
-        this.teachers = new HashMap<>();
-        this.students = new HashMap<>();
-        loadData();
+        this(new SimpleDataPersistence());
     }
 
-    private void loadData() {
+    public UserService(SimpleDataPersistence dataPersistence) {
+        this(dataPersistence, null);
+    }
+
+    /**
+     * Build users from credentials that were already read (StartupOrchestrator takes them from
+     * the snapshot); null reads the credential file
+     */
+    public UserService(SimpleDataPersistence dataPersistence,
+                       Collection<SimpleDataPersistence.SimpleUserData> credentials) {
+        this.dataPersistence = dataPersistence;
+        this.sessionManager = new SessionManager();
+        this.credentialService = new CredentialService();
+        this.verificationCodes = new VerificationCodeService(dataPersistence);
+        // Concurrent so logins can look users up while a password upgrade saves from the credential pool
+        this.users = new ConcurrentHashMap<>();
+        this.usersByEmail = new ConcurrentHashMap<>();
+        this.teachers = new TreeMap<>(Page.ID_ORDER);
+        this.students = new TreeMap<>(Page.ID_ORDER);
+        loadData(credentials != null ? credentials : dataPersistence.loadUserCredentials().values());
+        if (dataPersistence.hasQueuedEmails()) {
+            getEmailOutbox();
+        }
+        Metrics.gauge("app_users", "Users in memory", () -> users.size());
+        for (TokenBucketLimiter limiter : getRateLimiters()) {
+            Metrics.gauge("app_rate_limiter_rejected", "Requests turned away by a rate limiter",
+                    limiter::getRejectedCount, "limiter", limiter.getName());
+        }
+    }
+
+    private void loadData(Collection<SimpleDataPersistence.SimpleUserData> userData) {
         SimpleDataPersistence.AppSettings settings = dataPersistence.loadSettings();
         this.userCounter = settings.userCounter;
 
-        Map<String, SimpleDataPersistence.SimpleUserData> userData = dataPersistence.loadUserCredentials();
-
-        System.out.println("Converting " + userData.size() + " user credentials to User objects...");
+        log.debug("Converting user credentials to User objects", "count", userData.size());
 
-        for (Map.Entry<String, SimpleDataPersistence.SimpleUserData> entry : userData.entrySet()) {
-            SimpleDataPersistence.SimpleUserData simpleUser = entry.getValue();
+        for (SimpleDataPersistence.SimpleUserData simpleUser : userData) {
             User user = simpleUser.toUser();
             if (user != null) {
                 users.put(user.getUserId(), user);
+                usersByEmail.put(emailKey(user.getEmail()), user);
                 if (user instanceof Teacher) {
                     teachers.put(user.getUserId(), (Teacher) user);
-                    System.out.println("✓ Loaded teacher: " + user.getName() + " (" + user.getEmail() + ")");
+                    log.debug("✓ Loaded teacher", "name", user.getName(), "email", user.getEmail());
                 } else if (user instanceof Student) {
                     students.put(user.getUserId(), (Student) user);
-                    System.out.println("✓ Loaded student: " + user.getName() + " (" + user.getEmail() + ")");
+                    log.debug("✓ Loaded student", "name", user.getName(), "email", user.getEmail());
                 }
             } else {
-                System.err.println("✗ Failed to convert user: " + simpleUser.name);
+                log.warn("✗ Failed to convert user", "name", simpleUser.name);
             }
         }
 
-        System.out.println("✓ Successfully loaded " + users.size() + " users from persistent storage");
-        System.out.println("  - Teachers: " + teachers.size());
-        System.out.println("  - Students: " + students.size());
+        log.info("✓ Loaded users from persistent storage", "users", users.size(),
+                "teachers", teachers.size(), "students", students.size());
     }
 
-    private void saveData() {
+    private synchronized void saveData() {
         // Convert users to simple format
         Map<String, SimpleDataPersistence.SimpleUserData> userData = new HashMap<>();
         for (User user : users.values()) {
@@ -72,123 +146,424 @@ public class UserService {
         settings.firstRun = false;
         dataPersistence.saveSettings(settings);
 
-        System.out.println("✓ Saved " + users.size() + " users to persistent storage");
-    }
-
-    private String generateVerificationCode() {
-        SecureRandom random = new SecureRandom();
-        int code = 100000 + random.nextInt(900000); // 6-digit code
-        return String.valueOf(code);
+        log.debug("✓ Saved users to persistent storage", "users", users.size());
     }
 
     /**
-     * Register a new teacher with email verification
+     * Register a new teacher with email verification; the email must not be registered yet
      */
     public Teacher registerTeacher(String name, String email, String password,
                                    String department, String employeeId) {
-        String userId = "TCH-" + String.format("%04d", userCounter++);
-        Teacher teacher = new Teacher(userId, name, email, password, department, employeeId);
-        teacher.setEmailVerified(false);
-        String code = generateVerificationCode();
-        teacher.setEmailVerificationCode(code);
-        users.put(userId, teacher);
-        teachers.put(userId, teacher);
+        long start = System.nanoTime();
+        try {
+            requireUnregistered(email);
+            return createTeacher(name, email, PasswordHasher.hash(password), department, employeeId);
+        } finally {
+            REGISTER_TEACHER.record(start);
+        }
+    }
+
+    /**
+     * Register a teacher without blocking the caller (use this from the EDT): the password is
+     * hashed on the credential pool, then the account is created on the given executor.
+     * Fails with RejectedExecutionException when the credential pool is full.
+     */
+    public CompletableFuture<Teacher> registerTeacherAsync(String name, String email, String password,
+                                                           String department, String employeeId,
+                                                           Executor executor) {
+        long start = System.nanoTime();
+        try {
+            return credentialService.hash(password).thenApplyAsync(hash -> {
+                requireUnregistered(email);
+                return createTeacher(name, email, hash, department, employeeId);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            REGISTER_TEACHER_ASYNC.record(start);
+        }
+    }
+
+    /**
+     * Register a new student with email verification; the email must not be registered yet
+     */
+    public Student registerStudent(String name, String email, String password,
+                                   String studentId, String program, int semester) {
+        long start = System.nanoTime();
+        try {
+            requireUnregistered(email);
+            return createStudent(name, email, PasswordHasher.hash(password), studentId, program, semester);
+        } finally {
+            REGISTER_STUDENT.record(start);
+        }
+    }
+
+    /**
+     * Register a student without blocking the caller (use this from the EDT), as registerTeacherAsync
+     */
+    public CompletableFuture<Student> registerStudentAsync(String name, String email, String password,
+                                                           String studentId, String program, int semester,
+                                                           Executor executor) {
+        long start = System.nanoTime();
+        try {
+            return credentialService.hash(password).thenApplyAsync(hash -> {
+                requireUnregistered(email);
+                return createStudent(name, email, hash, studentId, program, semester);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            REGISTER_STUDENT_ASYNC.record(start);
+        }
+    }
+
+    // The async paths check after hashing: the email may have been taken in the meantime
+    private void requireUnregistered(String email) {
+        if (usersByEmail.containsKey(emailKey(email))) {
+            throw new IllegalArgumentException("Email already registered: " + email);
+        }
+    }
+
+    private Teacher createTeacher(String name, String email, String passwordHash,
+                                  String department, String employeeId) {
+        Teacher teacher = addTeacher(name, email, passwordHash, department, employeeId);
+        sendVerificationCode(email);
+        log.info("✓ Teacher registered (verification required)", "name", name);
+        return teacher;
+    }
+
+    private Student createStudent(String name, String email, String passwordHash,
+                                  String studentId, String program, int semester) {
+        Student student = addStudent(name, email, passwordHash, studentId, program, semester);
+        sendVerificationCode(email);
+        log.info("✓ Student registered (verification required)", "name", name);
+        return student;
+    }
+
+    private void sendVerificationCode(String email) {
+        String code = verificationCodes.issue(email);
         saveData();
         // Send verification email
         try {
             EmailUtil.sendVerificationEmail(email, code);
         } catch (MessagingException e) {
-            System.err.println("Failed to send verification email: " + e.getMessage());
+            log.warn("Failed to send verification email", "email", email, "error", e.getMessage());
         }
-        System.out.println("✓ Teacher registered (verification required): " + name);
-        return teacher;
     }
 
     /**
-     * Register a new student with email verification
+     * Register many users with one persistence write. Passwords are hashed in parallel and
+     * verification emails are queued on the outbox instead of being sent inline.
+     * Throws IllegalArgumentException (registering nobody) if any email is already taken.
      */
-    public Student registerStudent(String name, String email, String password,
-                                   String studentId, String program, int semester) {
+    public List<User> registerUsers(List<Registration> registrations) {
+        return registerUsers(registrations, PasswordHasher.getIterations());
+    }
+
+    /**
+     * Register many users, hashing their passwords at the given cost. A cost below the current
+     * setting is upgraded transparently on each user's first login.
+     */
+    public List<User> registerUsers(List<Registration> registrations, int passwordCost) {
+        long start = System.nanoTime();
+        try {
+            Set<String> batchEmails = new HashSet<>();
+            for (Registration registration : registrations) {
+                String key = emailKey(registration.email);
+                if (usersByEmail.containsKey(key) || !batchEmails.add(key)) {
+                    throw new IllegalArgumentException("Email already registered: " + registration.email);
+                }
+            }
+
+            // PBKDF2 dominates bulk registration, so spread it over all cores
+            List<String> hashes = registrations.parallelStream()
+                    .map(registration -> PasswordHasher.hash(registration.password, passwordCost))
+                    .collect(Collectors.toList());
+
+            EmailOutbox outbox = getEmailOutbox();
+            List<User> created = new ArrayList<>(registrations.size());
+            for (int i = 0; i < registrations.size(); i++) {
+                Registration r = registrations.get(i);
+                User user = r.role == UserRole.TEACHER
+                        ? addTeacher(r.name, r.email, hashes.get(i), r.department, r.employeeId)
+                        : addStudent(r.name, r.email, hashes.get(i), r.studentId, r.program, r.semester);
+                // The outbox issues the code as it sends, so its expiry runs from delivery
+                outbox.enqueue(r.email, EmailUtil.VERIFICATION_TEMPLATE, Map.of());
+                created.add(user);
+            }
+            saveData();
+            log.info("✓ Registered users in one batch", "count", created.size());
+            return created;
+        } finally {
+            REGISTER_USERS.record(start);
+        }
+    }
+
+    private Teacher addTeacher(String name, String email, String passwordHash,
+                               String department, String employeeId) {
+        String userId = "TCH-" + String.format("%04d", userCounter++);
+        Teacher teacher = new Teacher(userId, name, email, passwordHash, department, employeeId);
+        teacher.setEmailVerified(false);
+        users.put(userId, teacher);
+        usersByEmail.put(emailKey(email), teacher);
+        teachers.put(userId, teacher);
+        return teacher;
+    }
+
+    private Student addStudent(String name, String email, String passwordHash,
+                               String studentId, String program, int semester) {
         String userId = "STD-" + String.format("%04d", userCounter++);
-        Student student = new Student(userId, name, email, password, studentId, program, semester);
+        Student student = new Student(userId, name, email, passwordHash, studentId, program, semester);
         student.setEmailVerified(false);
-        String code = generateVerificationCode();
-        student.setEmailVerificationCode(code);
         users.put(userId, student);
+        usersByEmail.put(emailKey(email), student);
         students.put(userId, student);
+        return student;
+    }
+
+    /**
+     * Queue for verification emails produced by bulk registration, started on first use
+     */
+    public synchronized EmailOutbox getEmailOutbox() {
+        if (emailOutbox == null) {
+            emailOutbox = new EmailOutbox(10, dataPersistence);
+            emailOutbox.setSendTimeValues(EmailUtil.VERIFICATION_TEMPLATE,
+                    email -> Map.of("CODE", verificationCodes.issue(email)));
+        }
+        return emailOutbox;
+    }
+
+    /**
+     * Save emails the outbox has not sent yet and the latest verification codes; call once on exit
+     */
+    public synchronized void shutdown() {
+        if (emailOutbox != null) {
+            emailOutbox.shutdown();
+        }
+        // After the outbox, so codes it issued for its last emails are written too
+        verificationCodes.shutdown();
+    }
+
+    /**
+     * Authenticate user login, blocking until the credential pool has checked the password.
+     * Throws RejectedExecutionException when too many logins are already waiting.
+     */
+    public User authenticateUser(String email, String password) {
+        long start = System.nanoTime();
+        try {
+            try {
+                return authenticateUserAsync(email, password).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        } finally {
+            AUTHENTICATE_USER.record(start);
+        }
+    }
+
+    /**
+     * Authenticate user login without blocking the caller (use this from the EDT).
+     * Legacy plaintext passwords are replaced with a hash on their first successful login.
+     */
+    public CompletableFuture<User> authenticateUserAsync(String email, String password) {
+        long start = System.nanoTime();
+        FlightEvents.Authenticate event = new FlightEvents.Authenticate();
+        event.begin();
+        event.email = email;
+        try {
+            if (!globalLoginLimiter.tryAcquire() || !emailLoginLimiter.tryAcquire(emailKey(email))) {
+                event.end("RATE_LIMITED");
+                return CompletableFuture.failedFuture(new TokenBucketLimiter.LimitExceededException(
+                        "Too many login attempts. Please wait and try again."));
+            }
+            User user = findUserByEmail(email);
+            CompletableFuture<CredentialService.Result> verification;
+            try {
+                // An unknown email costs a full hash too, so response time does not reveal which accounts exist
+                verification = user != null
+                        ? credentialService.verify(password, user.getPassword())
+                        : credentialService.verifyUnknownAccount(password);
+            } catch (RejectedExecutionException e) {
+                event.end("REJECTED");
+                return CompletableFuture.failedFuture(e);
+            }
+            if (user == null) {
+                return verification.<User>thenApply(result -> null).whenComplete((ignored, error) ->
+                        event.end(error != null ? "ERROR" : "UNKNOWN_USER"));
+            }
+            return verification.thenApply(result -> {
+                if (result == CredentialService.Result.NO_MATCH) {
+                    return null;
+                }
+                // Only failed attempts count against the email's allowance
+                emailLoginLimiter.release(emailKey(email));
+                if (result == CredentialService.Result.MATCH_NEEDS_UPGRADE) {
+                    upgradePassword(user, password);
+                }
+                return user;
+            }).whenComplete((authenticated, error) ->
+                    event.end(error != null ? "ERROR" : authenticated != null ? "SUCCESS" : "NO_MATCH"));
+        } finally {
+            AUTHENTICATE_USER_ASYNC.record(start);
+        }
+    }
+
+    private void upgradePassword(User user, String password) {
+        user.setPassword(PasswordHasher.hash(password));
         saveData();
-        // Send verification email
+        log.debug("✓ Upgraded password hash", "email", user.getEmail());
+    }
+
+    /**
+     * Authenticate and open a session, returning its token or null if the credentials are wrong
+     */
+    public String login(String email, String password) {
+        long start = System.nanoTime();
         try {
-            EmailUtil.sendVerificationEmail(email, code);
-        } catch (MessagingException e) {
-            System.err.println("Failed to send verification email: " + e.getMessage());
+            User user = authenticateUser(email, password);
+            return user != null && user.isActive() ? sessionManager.createSession(user) : null;
+        } finally {
+            LOGIN.record(start);
         }
-        System.out.println("✓ Student registered (verification required): " + name);
-        return student;
     }
 
     /**
-     * Authenticate user login
+     * Resolve a session token to its user without re-checking credentials
      */
-    public User authenticateUser(String email, String password) {
-        return users.values().stream()
-                .filter(user -> user.getEmail().equals(email) && user.getPassword().equals(password))
-                .findFirst()
-                .orElse(null);
+    public User getSessionUser(String token) {
+        long start = System.nanoTime();
+        try {
+            return sessionManager.resolve(token);
+        } finally {
+            GET_SESSION_USER.record(start);
+        }
+    }
+
+    public void logout(String token) {
+        long start = System.nanoTime();
+        try {
+            sessionManager.invalidate(token);
+        } finally {
+            LOGOUT.record(start);
+        }
     }
 
     /**
      * Find user by email
      */
     public User findUserByEmail(String email) {
-        return users.values().stream()
-                .filter(user -> user.getEmail().equals(email))
-                .findFirst()
-                .orElse(null);
+        long start = System.nanoTime();
+        try {
+            return email == null ? null : usersByEmail.get(emailKey(email));
+        } finally {
+            FIND_USER_BY_EMAIL.record(start);
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
     }
 
     /**
      * Get all teachers
      */
     public List<Teacher> getAllTeachers() {
-        return new ArrayList<>(teachers.values());
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(teachers.values());
+        } finally {
+            GET_ALL_TEACHERS.record(start);
+        }
     }
 
     /**
      * Get all students
      */
     public List<Student> getAllStudents() {
-        return new ArrayList<>(students.values());
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(students.values());
+        } finally {
+            GET_ALL_STUDENTS.record(start);
+        }
+    }
+
+    /**
+     * Get one page of teachers, ordered by user ID
+     */
+    public Page<Teacher> getTeachers(String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return Page.of(teachers, cursor, limit);
+        } finally {
+            GET_TEACHERS.record(start);
+        }
+    }
+
+    /**
+     * Get one page of students, ordered by user ID
+     */
+    public Page<Student> getStudents(String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return Page.of(students, cursor, limit);
+        } finally {
+            GET_STUDENTS.record(start);
+        }
     }
 
     /**
      * Get teachers by department
      */
     public List<Teacher> getTeachersByDepartment(String department) {
-        return teachers.values().stream()
-                .filter(teacher -> teacher.getDepartment().equalsIgnoreCase(department))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return teachers.values().stream()
+                    .filter(teacher -> teacher.getDepartment().equalsIgnoreCase(department))
+                    .collect(Collectors.toList());
+        } finally {
+            GET_TEACHERS_BY_DEPARTMENT.record(start);
+        }
     }
 
     /**
      * Get students by program
      */
     public List<Student> getStudentsByProgram(String program) {
-        return students.values().stream()
-                .filter(student -> student.getProgram().equalsIgnoreCase(program))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return students.values().stream()
+                    .filter(student -> student.getProgram().equalsIgnoreCase(program))
+                    .collect(Collectors.toList());
+        } finally {
+            GET_STUDENTS_BY_PROGRAM.record(start);
+        }
     }
 
     /**
-     * Update user profile
+     * Update user profile; the new email must not belong to another user
      */
     public void updateUserProfile(String userId, String name, String email) {
-        User user = users.get(userId);
-        if (user != null) {
-            user.setName(name);
-            user.setEmail(email);
-            saveData(); // Save after update
-            System.out.println("✓ User profile updated successfully");
+        long start = System.nanoTime();
+        try {
+            User user = users.get(userId);
+            if (user != null) {
+                User owner = usersByEmail.get(emailKey(email));
+                if (owner != null && owner != user) {
+                    throw new IllegalArgumentException("Email already registered: " + email);
+                }
+                user.setName(name);
+                usersByEmail.remove(emailKey(user.getEmail()));
+                user.setEmail(email);
+                usersByEmail.put(emailKey(email), user);
+                saveData(); // Save after update
+                log.info("✓ User profile updated successfully", "userId", userId);
+            }
+        } finally {
+            UPDATE_USER_PROFILE.record(start);
         }
     }
 
@@ -196,11 +571,17 @@ public class UserService {
      * Deactivate user
      */
     public void deactivateUser(String userId) {
-        User user = users.get(userId);
-        if (user != null) {
-            user.setActive(false);
-            saveData(); // Save after deactivation
-            System.out.println("✓ User deactivated: " + user.getName());
+        long start = System.nanoTime();
+        try {
+            User user = users.get(userId);
+            if (user != null) {
+                user.setActive(false);
+                sessionManager.invalidateUser(userId);
+                saveData(); // Save after deactivation
+                log.info("✓ User deactivated", "name", user.getName());
+            }
+        } finally {
+            DEACTIVATE_USER.record(start);
         }
     }
 
@@ -216,58 +597,153 @@ public class UserService {
                 .mapToInt(user -> user.isActive() ? 1 : 0).sum());
     }
 
+    /**
+     * Display login and verification rate limiter statistics
+     */
+    public void displayRateLimitStatistics() {
+        System.out.println("=== Rate Limit Statistics ===");
+        System.out.println(globalLoginLimiter);
+        System.out.println(emailLoginLimiter);
+        System.out.println(emailVerificationLimiter);
+    }
+
+    public List<TokenBucketLimiter> getRateLimiters() {
+        return List.of(globalLoginLimiter, emailLoginLimiter, emailVerificationLimiter);
+    }
+
     /**
      * Check if this is the first run (no saved data exists)
      */
     public boolean isFirstRun() {
-        return !dataPersistence.dataExists();
+        long start = System.nanoTime();
+        try {
+            return !dataPersistence.dataExists();
+        } finally {
+            IS_FIRST_RUN.record(start);
+        }
     }
 
     /**
      * Verify user email with code
      */
     public boolean verifyEmail(String email, String code) {
-        User user = findUserByEmail(email);
-        if (user != null && user.getEmailVerificationCode() != null &&
-            user.getEmailVerificationCode().equals(code)) {
-            user.setEmailVerified(true);
-            user.setEmailVerificationCode(null); // Clear code after verification
-            saveData();
-            System.out.println("✓ Email verified for user: " + user.getName());
-            return true;
+        long start = System.nanoTime();
+        try {
+            if (!emailVerificationLimiter.tryAcquire(emailKey(email))) {
+                log.warn("Verification attempt rejected (rate limit)", "email", email);
+                return false;
+            }
+            User user = findUserByEmail(email);
+            if (user != null && verificationCodes.verify(email, code)) {
+                user.setEmailVerified(true);
+                saveData();
+                log.info("✓ Email verified", "name", user.getName());
+                return true;
+            }
+            return false;
+        } finally {
+            VERIFY_EMAIL.record(start);
         }
-        return false;
     }
 
     /**
      * Resend verification code
      */
     public void resendVerificationCode(String email) {
-        User user = findUserByEmail(email);
-        if (user != null && !user.isEmailVerified()) {
-            String newCode = generateVerificationCode();
-            user.setEmailVerificationCode(newCode);
-            saveData();
+        long start = System.nanoTime();
+        try {
+            User user = findUserByEmail(email);
+            if (user != null && !user.isEmailVerified()) {
+                String newCode = verificationCodes.issue(email);
 
-            try {
-                EmailUtil.sendVerificationEmail(email, newCode);
-                System.out.println("✓ Verification code resent to: " + email);
-            } catch (MessagingException e) {
-                System.err.println("Failed to resend verification email: " + e.getMessage());
+                try {
+                    EmailUtil.sendVerificationEmail(email, newCode);
+                    log.info("✓ Verification code resent", "email", email);
+                } catch (MessagingException e) {
+                    log.warn("Failed to resend verification email", "email", email, "error", e.getMessage());
+                }
             }
+        } finally {
+            RESEND_VERIFICATION_CODE.record(start);
         }
     }
 
     // Getters
     public User getUser(String userId) {
-        return users.get(userId);
+        long start = System.nanoTime();
+        try {
+            return users.get(userId);
+        } finally {
+            GET_USER.record(start);
+        }
     }
 
     public Teacher getTeacher(String userId) {
-        return teachers.get(userId);
+        long start = System.nanoTime();
+        try {
+            return teachers.get(userId);
+        } finally {
+            GET_TEACHER.record(start);
+        }
     }
 
     public Student getStudent(String userId) {
-        return students.get(userId);
+        long start = System.nanoTime();
+        try {
+            return students.get(userId);
+        } finally {
+            GET_STUDENT.record(start);
+        }
+    }
+
+    public SessionManager getSessionManager() {
+        return sessionManager;
+    }
+
+    private static Metrics.Timer timer(String method) {
+        return Metrics.timer("app_service_duration_seconds", "Service method latency",
+                "service", "UserService", "method", method);
+    }
+
+    /**
+     * One user to create through registerUsers
+     */
+    public static class Registration {
+        private final UserRole role;
+        private final String name;
+        private final String email;
+        private final String password;
+        private String department;
+        private String employeeId;
+        private String studentId;
+        private String program;
+        private int semester;
+
+        private Registration(UserRole role, String name, String email, String password) {
+            this.role = role;
+            this.name = name;
+            this.email = email;
+            this.password = password;
+        }
+
+        public static Registration teacher(String name, String email, String password,
+                                           String department, String employeeId) {
+            Registration registration = new Registration(UserRole.TEACHER, name, email, password);
+            registration.department = department;
+            registration.employeeId = employeeId;
+            return registration;
+        }
+
+        public static Registration student(String name, String email, String password,
+                                           String studentId, String program, int semester) {
+            Registration registration = new Registration(UserRole.STUDENT, name, email, password);
+            registration.studentId = studentId;
+            registration.program = program;
+            registration.semester = semester;
+            return registration;
+        }
+
+        public String getEmail() { return email; }
+        public UserRole getRole() { return role; }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,170 @@
+package org.app.service;
+
+import org.app.util.SimpleDataPersistence;
+import org.app.util.SimpleDataPersistence.PendingVerification;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Email verification code service for BUP UCAM Assignment Tracker
+ * Codes come from one shared SecureRandom (seeded once, thread-safe) and live in an expiring
+ * in-memory map rather than on the User. A timing wheel drops expired codes: each code is filed
+ * under the wheel slot of its expiry minute, and every tick only that one slot is examined.
+ * Pending codes are written to disk (coalesced to at most one write every few seconds) so a
+ * restart does not invalidate emails already sent.
+ */
+public class VerificationCodeService {
+    private static final SecureRandom CODE_RANDOM = new SecureRandom();
+    private static final int WHEEL_SLOTS = 64;
+    private static final long FLUSH_INTERVAL_MILLIS = 2000;
+
+    private final ConcurrentHashMap<String, PendingVerification> pending = new ConcurrentHashMap<>();
+    private final List<Set<String>> wheel;
+    private final long tickMillis;
+    private final long timeToLiveMillis;
+    private final SimpleDataPersistence dataPersistence;
+    private final ScheduledExecutorService cleaner;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public VerificationCodeService(SimpleDataPersistence dataPersistence) {
+        this(dataPersistence, Duration.ofMinutes(15), Duration.ofMinutes(1));
+    }
+
+    public VerificationCodeService(SimpleDataPersistence dataPersistence, Duration timeToLive, Duration tick) {
+        this.dataPersistence = dataPersistence;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.wheel = new ArrayList<>(WHEEL_SLOTS);
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, PendingVerification> entry : dataPersistence.loadVerificationCodes().entrySet()) {
+            if (entry.getValue().expiresAt > now) {
+                pending.put(entry.getKey(), entry.getValue());
+                schedule(entry.getKey(), entry.getValue().expiresAt);
+            }
+        }
+
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verification-code-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        cleaner.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create a new 6-digit code for an email, replacing any earlier one
+     */
+    public String issue(String email) {
+        String code = String.valueOf(100000 + CODE_RANDOM.nextInt(900000));
+        long expiresAt = System.currentTimeMillis() + timeToLiveMillis;
+        String key = key(email);
+        pending.put(key, new PendingVerification(code, expiresAt));
+        schedule(key, expiresAt);
+        dirty.set(true);
+        return code;
+    }
+
+    /**
+     * Check a code; a correct, unexpired code is consumed
+     */
+    public boolean verify(String email, String code) {
+        if (code == null) {
+            return false;
+        }
+        String key = key(email);
+        PendingVerification entry = pending.get(key);
+        if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+            return false;
+        }
+        boolean matches = MessageDigest.isEqual(entry.code.getBytes(StandardCharsets.UTF_8),
+                code.trim().getBytes(StandardCharsets.UTF_8));
+        if (matches && pending.remove(key, entry)) {
+            dirty.set(true);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean hasPendingCode(String email) {
+        PendingVerification entry = pending.get(key(email));
+        return entry != null && entry.expiresAt > System.currentTimeMillis();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Stop the wheel and write any change not yet flushed; UserService.shutdown calls this on exit
+     */
+    public void shutdown() {
+        cleaner.shutdownNow();
+        flush();
+    }
+
+    /**
+     * Write pending codes to disk if anything changed since the last write
+     */
+    public synchronized void flush() {
+        if (dirty.getAndSet(false)) {
+            dataPersistence.saveVerificationCodes(new HashMap<>(pending));
+        }
+    }
+
+    private void schedule(String key, long expiresAt) {
+        wheel.get(slotFor(expiresAt)).add(key);
+    }
+
+    private int slotFor(long timeMillis) {
+        return (int) ((timeMillis / tickMillis) % WHEEL_SLOTS);
+    }
+
+    /**
+     * Expire everything filed under the slot that just came due
+     */
+    private void tick() {
+        long now = System.currentTimeMillis();
+        // The slot for the previous tick holds codes that expired during it
+        Set<String> slot = wheel.get(slotFor(now - tickMillis));
+        boolean changed = false;
+        for (String key : slot) {
+            PendingVerification entry = pending.get(key);
+            if (entry == null) {
+                slot.remove(key);
+            } else if (entry.expiresAt <= now) {
+                changed |= pending.remove(key, entry);
+                slot.remove(key);
+            } else if (slotFor(entry.expiresAt) != slotFor(now - tickMillis)) {
+                // Re-issued code now lives in another slot
+                slot.remove(key);
+            }
+            // Otherwise it expires on a later revolution of the wheel and stays put
+        }
+        if (changed) {
+            dirty.set(true);
+        }
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,179 @@
+package org.app.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streaming XLSX writer for BUP UCAM Assignment Tracker
+ * Writes a minimal Office Open XML workbook straight into a ZipOutputStream: each sheet's XML is
+ * emitted row by row as an entry of the zip, and strings are written inline rather than through a
+ * shared-strings table, so memory use does not grow with the number of rows. The workbook parts
+ * that list the sheets are written last, once all sheet names are known.
+ *
+ * Usage: startSheet(name), writeRow(...) repeatedly, optionally startSheet again, then finish().
+ */
+public class XlsxWriter {
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final int MAX_SHEET_NAME = 31;
+
+    private final ZipOutputStream zip;
+    private final Writer xml;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final Set<String> usedSheetNames = new HashSet<>();
+    private boolean sheetOpen;
+    private boolean finished;
+
+    public XlsxWriter(OutputStream out) {
+        this.zip = new ZipOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.xml = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Begin a new worksheet; the name is cleaned up and made unique as Excel requires
+     */
+    public void startSheet(String name) throws IOException {
+        closeSheet();
+        String sheetName = uniqueSheetName(name);
+        sheetNames.add(sheetName);
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml"));
+        xml.write(XML_HEADER);
+        xml.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>\n");
+        sheetOpen = true;
+    }
+
+    /**
+     * Append a row to the current sheet; numbers become numeric cells, null becomes an empty cell
+     */
+    public void writeRow(List<?> cells) throws IOException {
+        if (!sheetOpen) {
+            throw new IllegalStateException("startSheet must be called before writeRow");
+        }
+        xml.write("<row>");
+        for (Object cell : cells) {
+            if (cell == null) {
+                xml.write("<c/>");
+            } else if (cell instanceof Number && Double.isFinite(((Number) cell).doubleValue())) {
+                xml.write("<c><v>");
+                xml.write(cell.toString());
+                xml.write("</v></c>");
+            } else {
+                xml.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(cell.toString());
+                xml.write("</t></is></c>");
+            }
+        }
+        xml.write("</row>\n");
+    }
+
+    /**
+     * Write the workbook index and finish the zip; the underlying stream is flushed, not closed
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (sheetNames.isEmpty()) {
+            startSheet("Sheet1"); // A workbook must contain at least one sheet
+        }
+        closeSheet();
+
+        StringBuilder contentTypes = new StringBuilder(XML_HEADER)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        StringBuilder workbook = new StringBuilder(XML_HEADER)
+                .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        StringBuilder workbookRels = new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            workbook.append("<sheet name=\"").append(escape(sheetNames.get(i - 1)))
+                    .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+            workbookRels.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(REL_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        contentTypes.append("</Types>");
+        workbook.append("</sheets></workbook>");
+        workbookRels.append("</Relationships>");
+
+        writeEntry("[Content_Types].xml", contentTypes);
+        writeEntry("_rels/.rels", XML_HEADER
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        writeEntry("xl/workbook.xml", workbook);
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRels);
+
+        zip.finish();
+        zip.flush();
+        finished = true;
+    }
+
+    private void closeSheet() throws IOException {
+        if (sheetOpen) {
+            xml.write("</sheetData></worksheet>");
+            xml.flush();
+            zip.closeEntry();
+            sheetOpen = false;
+        }
+    }
+
+    private void writeEntry(String name, CharSequence content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        xml.append(content);
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private String uniqueSheetName(String name) {
+        StringBuilder cleaned = new StringBuilder();
+        for (char c : (name == null ? "" : name.trim()).toCharArray()) {
+            cleaned.append("[]:*?/\\".indexOf(c) >= 0 ? '_' : c);
+        }
+        String base = cleaned.length() == 0 ? "Sheet" : cleaned.toString();
+        if (base.length() > MAX_SHEET_NAME) {
+            base = base.substring(0, MAX_SHEET_NAME);
+        }
+        String candidate = base;
+        for (int n = 2; !usedSheetNames.add(candidate.toLowerCase()); n++) {
+            String suffix = " (" + n + ")";
+            candidate = base.substring(0, Math.min(base.length(), MAX_SHEET_NAME - suffix.length())) + suffix;
+        }
+        return candidate;
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&': xml.write("&amp;"); break;
+                case '<': xml.write("&lt;"); break;
+                case '>': xml.write("&gt;"); break;
+                case '"': xml.write("&quot;"); break;
+                default:
+                    // Control characters other than tab and newlines are not allowed in XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+            }
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,15 @@
+@echo off
+rem Launcher for BUP UCAM Assignment Tracker
+rem Uses the AOT cache built by mvn -Pcds package when it exists. Arguments are passed to the
+rem application, e.g. assignment-tracker.cmd --server 8080. Data is read from .\data in the
+rem current directory.
+setlocal
+set "JAVA=java"
+if defined JAVA_HOME set "JAVA=%JAVA_HOME%\bin\java"
+set "JAR=%~dp0target\Assignment_Tracker_Final-1.0-SNAPSHOT.jar"
+set "CACHE=%~dp0target\assignment-tracker.aot"
+if exist "%CACHE%" (
+    "%JAVA%" -XX:AOTCache="%CACHE%" %JAVA_OPTS% -jar "%JAR%" %*
+) else (
+    "%JAVA%" %JAVA_OPTS% -jar "%JAR%" %*
+)
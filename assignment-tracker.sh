@@ -0,0 +1,13 @@
+#!/bin/sh
+# Launcher for BUP UCAM Assignment Tracker
+# Uses the AOT cache built by mvn -Pcds package when it exists. Arguments are passed to the
+# application, e.g. ./assignment-tracker.sh --server 8080. Data is read from ./data in the
+# current directory.
+HOME_DIR="$(cd "$(dirname "$0")" && pwd)"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="$HOME_DIR/target/Assignment_Tracker_Final-1.0-SNAPSHOT.jar"
+CACHE="$HOME_DIR/target/assignment-tracker.aot"
+if [ -f "$CACHE" ]; then
+    exec "$JAVA" -XX:AOTCache="$CACHE" $JAVA_OPTS -jar "$JAR" "$@"
+fi
+exec "$JAVA" $JAVA_OPTS -jar "$JAR" "$@"
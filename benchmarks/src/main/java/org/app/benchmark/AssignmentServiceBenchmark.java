@@ -0,0 +1,81 @@
+package org.app.benchmark;
+
+import org.app.model.*;
+import org.app.service.AssignmentService;
+import org.app.service.CourseService;
+import org.app.service.Page;
+import org.app.service.UserService;
+import org.app.util.DataPersistence;
+import org.app.util.DatasetGenerator;
+import org.app.util.Log;
+import org.app.util.PasswordHasher;
+import org.app.util.SimpleDataPersistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AssignmentService lookups against a generated dataset of roughly the given number of
+ * submissions (see DatasetGenerator). The dataset is written to a scratch directory and loaded
+ * through the services the way the application loads its own data; only the lookups are timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentServiceBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int submissions;
+
+    private File dataDirectory;
+    private AssignmentService assignmentService;
+    private Course[] courses;
+    private Student[] students;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        DatasetGenerator.Config config = DatasetGenerator.Config.forSubmissions(submissions);
+        config.passwordCost = PasswordHasher.MIN_ITERATIONS;
+        dataDirectory = BenchmarkData.createTempDirectory("assignment-benchmark");
+
+        // Loading and every submission log status lines; keep them out of the benchmark output
+        Log.setLevel(Log.Level.WARN);
+        new DatasetGenerator(config).generate(dataDirectory);
+        DataPersistence dataPersistence = new DataPersistence(dataDirectory);
+        UserService userService = new UserService(new SimpleDataPersistence(dataDirectory));
+        CourseService courseService = new CourseService(dataPersistence, userService);
+        assignmentService = new AssignmentService(dataPersistence, courseService, userService);
+        courses = courseService.getAllCourses().toArray(new Course[0]);
+        students = userService.getAllStudents().toArray(new Student[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.deleteRecursively(dataDirectory);
+    }
+
+    @Benchmark
+    public List<Assignment> getAssignmentsByCourse() {
+        return assignmentService.getAssignmentsByCourse(courses[next++ % courses.length]);
+    }
+
+    @Benchmark
+    public List<Submission> getSubmissionsByStudent() {
+        return assignmentService.getSubmissionsByStudent(students[next++ % students.length]);
+    }
+
+    @Benchmark
+    public Page<Submission> getSubmissionsByStudentPage() {
+        return assignmentService.getSubmissionsByStudent(students[next++ % students.length].getUserId(), null, 20);
+    }
+
+    @Benchmark
+    public List<Submission> getSubmissionsForCourse() {
+        return assignmentService.getSubmissionsForCourse(courses[next++ % courses.length]);
+    }
+}
@@ -0,0 +1,64 @@
+package org.app.benchmark;
+
+import org.app.model.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Model objects and scratch directories shared by the benchmark states
+ */
+final class BenchmarkData {
+    static final String PASSWORD = "Benchmark#2024";
+
+    private BenchmarkData() {
+    }
+
+    static Teacher teacher(int number) {
+        return new Teacher(String.format("TCH-%06d", number), "Teacher " + number,
+                "teacher" + number + "@bup.edu.bd", PASSWORD, "CSE", "EMP" + number);
+    }
+
+    static Student student(int number) {
+        return new Student(String.format("STD-%06d", number), "Student " + number,
+                "student" + number + "@bup.edu.bd", PASSWORD, "2024" + number, "BSc CSE", 1 + number % 8);
+    }
+
+    static Course course(int number, Teacher instructor) {
+        return new Course(String.format("CRS-%06d", number), "Course " + number, "CSE" + (100 + number),
+                "CSE", 3, "Fall 2024", instructor);
+    }
+
+    static Assignment assignment(int number, Course course, Teacher creator) {
+        return new Assignment(String.format("ASSIGN-%06d", number), "Assignment " + number,
+                "Benchmark assignment " + number, course, creator, AssignmentType.HOMEWORK, 100,
+                LocalDateTime.now().plusDays(7));
+    }
+
+    static Submission submission(int number, Assignment assignment, Student student) {
+        return new Submission(String.format("SUB-%07d", number), assignment, student,
+                "Submission " + number + " for " + assignment.getTitle());
+    }
+
+    static File createTempDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix).toFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void deleteRecursively(File directory) {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
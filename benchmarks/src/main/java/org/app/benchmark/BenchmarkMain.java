@@ -0,0 +1,59 @@
+package org.app.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Benchmark launcher for BUP UCAM Assignment Tracker
+ * Accepts the usual JMH command line (e.g. "Persistence -p users=1000", -l to list, -h for help)
+ * and, unless -rf/-rff say otherwise, writes the results as JSON to
+ * results/jmh-[release]-[timestamp].json, where the release comes from -Dbenchmark.release.
+ * Compare two result files with ResultComparison to spot regressions between releases.
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions options;
+        try {
+            options = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (options.shouldHelp()) {
+            options.showHelp();
+            return;
+        }
+        if (options.shouldList()) {
+            new Runner(options).list();
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+        if (!options.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!options.getResult().hasValue()) {
+            File resultFile = defaultResultFile();
+            resultFile.getParentFile().mkdirs();
+            builder.result(resultFile.getPath());
+        }
+        new Runner(builder.build()).run();
+    }
+
+    private static File defaultResultFile() {
+        String release = System.getProperty("benchmark.release", "snapshot");
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return new File("results", "jmh-" + release + "-" + timestamp + ".json");
+    }
+}
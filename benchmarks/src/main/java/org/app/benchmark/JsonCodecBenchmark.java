@@ -0,0 +1,104 @@
+package org.app.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.app.model.*;
+import org.app.util.DataPersistence;
+import org.app.util.JsonCodec;
+import org.app.util.SimpleDataPersistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialize and deserialize throughput, in memory, for the assignment file and the credential
+ * map. path=objectMapper calls the shared mapper with a Class or TypeReference each time, as the
+ * persistence classes used to; path=codec uses JsonCodec's pre-built readers and writers.
+ * The accelerator module is picked when JsonCodec loads; compare with and without it by forking with
+ *   -jvmArgsAppend -Dapp.json.accelerator=none   (blackbird is on this module's classpath)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+    private static final TypeReference<Map<String, SimpleDataPersistence.SimpleUserData>> CREDENTIALS_TYPE =
+            new TypeReference<Map<String, SimpleDataPersistence.SimpleUserData>>() {};
+
+    @Param({"100", "10000"})
+    public int submissions;
+
+    @Param({"objectMapper", "codec"})
+    public String path;
+
+    private ObjectMapper mapper;
+    private DataPersistence.AssignmentData assignmentData;
+    private Map<String, SimpleDataPersistence.SimpleUserData> credentials;
+    private byte[] assignmentJson;
+    private byte[] credentialsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = JsonCodec.mapper();
+        assignmentData = new DataPersistence.AssignmentData();
+        credentials = new HashMap<>();
+        Teacher teacher = BenchmarkData.teacher(0);
+        Course course = BenchmarkData.course(0, teacher);
+        credentials.put(teacher.getUserId(), new SimpleDataPersistence.SimpleUserData(teacher));
+        // One assignment per 20 submissions, one student per 10
+        Assignment assignment = null;
+        Student student = null;
+        for (int i = 0; i < submissions; i++) {
+            if (i % 20 == 0) {
+                assignment = BenchmarkData.assignment(i / 20, course, teacher);
+                assignmentData.assignments.add(new DataPersistence.AssignmentRecord(assignment));
+            }
+            if (i % 10 == 0) {
+                student = BenchmarkData.student(i / 10 + 1);
+                credentials.put(student.getUserId(), new SimpleDataPersistence.SimpleUserData(student));
+            }
+            assignmentData.submissions.add(new DataPersistence.SubmissionRecord(
+                    BenchmarkData.submission(i, assignment, student)));
+        }
+        assignmentJson = JsonCodec.assignments().toBytes(assignmentData);
+        credentialsJson = JsonCodec.credentials().toBytes(credentials);
+    }
+
+    @Benchmark
+    public byte[] serializeAssignments() throws IOException {
+        if (path.equals("codec")) {
+            return JsonCodec.assignments().toBytes(assignmentData);
+        }
+        return mapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(assignmentData);
+    }
+
+    @Benchmark
+    public DataPersistence.AssignmentData deserializeAssignments() throws IOException {
+        if (path.equals("codec")) {
+            return JsonCodec.assignments().read(assignmentJson);
+        }
+        return mapper.readValue(assignmentJson, DataPersistence.AssignmentData.class);
+    }
+
+    @Benchmark
+    public byte[] serializeCredentials() throws IOException {
+        if (path.equals("codec")) {
+            return JsonCodec.credentials().toBytes(credentials);
+        }
+        return mapper.writeValueAsBytes(credentials);
+    }
+
+    @Benchmark
+    public Map<String, SimpleDataPersistence.SimpleUserData> deserializeCredentials() throws IOException {
+        if (path.equals("codec")) {
+            return JsonCodec.credentials().read(credentialsJson);
+        }
+        return mapper.readValue(credentialsJson, CREDENTIALS_TYPE);
+    }
+}
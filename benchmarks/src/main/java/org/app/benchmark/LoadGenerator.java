@@ -0,0 +1,509 @@
+package org.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.app.model.*;
+import org.app.server.ApiServer;
+import org.app.service.AssignmentService;
+import org.app.service.CourseService;
+import org.app.service.UserService;
+import org.app.util.DataPersistence;
+import org.app.util.DatasetGenerator;
+import org.app.util.Log;
+import org.app.util.SimpleDataPersistence;
+import org.app.util.TokenBucketLimiter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop load test of deadline night: the last hour before big assignments are due, with
+ * students logging in, reloading their dashboards and submitting while teachers browse and grade.
+ * Each virtual user runs on its own virtual thread, picks an operation from the mix, waits for it
+ * to finish, thinks for an exponentially distributed time and goes again. Latencies are recorded
+ * in HdrHistograms per operation.
+ *
+ * The dataset comes from DatasetGenerator (or an existing data directory), plus one assignment due
+ * in an hour in each of the most popular courses. Mode "service" calls the services directly,
+ * behind the same read/write lock the API server uses; mode "server" drives an in-process
+ * ApiServer over HTTP. Every submit and grade saves through the persistence layer as usual.
+ *
+ * Give several user counts to step the load up and find where throughput stops growing and
+ * latency takes off. Arguments are key=value, all optional:
+ *   mode=service|server  users=50,100,200  duration=30  warmup=10 (seconds per step)
+ *   mix=login:5,dashboard:60,submit:30,grade:5  think=200 (mean ms, 0 for none)
+ *   submissions=100000 (dataset size)  deadlines=20  seed=42
+ *   data=dir password=... (load a copy of existing data instead; the run saves into it)
+ */
+public class LoadGenerator {
+    enum Operation { LOGIN, DASHBOARD, SUBMIT, GRADE }
+
+    /**
+     * What the virtual users drive: the services directly or the API server
+     */
+    interface Target {
+        void login(User user);
+
+        void studentDashboard(Student student);
+
+        void teacherDashboard(Teacher teacher);
+
+        /**
+         * Submit and return the new submission's ID
+         */
+        String submit(Student student, Assignment assignment, String content);
+
+        void grade(Teacher teacher, String submissionId, int marks, String feedback);
+
+        default void close() {
+        }
+    }
+
+    /**
+     * A submission waiting for its course's instructor to grade it
+     */
+    record Ungraded(String submissionId, Teacher teacher, int maxMarks) {
+    }
+
+    private final Map<String, String> options;
+    private final PrintStream out = System.out;
+    private UserService userService;
+    private CourseService courseService;
+    private AssignmentService assignmentService;
+    private File dataDirectory;
+    private boolean generated;
+
+    private final List<Student> students = new ArrayList<>();
+    private final List<Teacher> teachers = new ArrayList<>();
+    private final List<Assignment> deadlines = new ArrayList<>();
+    private final List<List<Student>> deadlineRosters = new ArrayList<>();
+    private final Queue<Ungraded> ungraded = new ConcurrentLinkedQueue<>();
+    private String password;
+
+    private final EnumMap<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, AtomicLong> rejected = new EnumMap<>(Operation.class);
+    private final Set<String> reportedErrors = ConcurrentHashMap.newKeySet();
+
+    LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new AtomicLong());
+            rejected.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 1) {
+                System.err.println("Arguments are key=value, e.g. users=50,100,200 duration=30 mode=server");
+                System.exit(1);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        new LoadGenerator(options).run();
+    }
+
+    void run() throws Exception {
+        String mode = options.getOrDefault("mode", "service");
+        int[] userSteps = Arrays.stream(options.getOrDefault("users", "50,100,200").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+        int duration = intOption("duration", 30);
+        int warmup = intOption("warmup", 10);
+        double think = intOption("think", 200);
+        double[] mix = parseMix(options.getOrDefault("mix", "login:5,dashboard:60,submit:30,grade:5"));
+
+        // Every submission and grade logs a status line; only warnings belong in the report
+        Log.setLevel(Log.Level.WARN);
+        load();
+        Target target = switch (mode) {
+            case "service" -> new ServiceTarget();
+            case "server" -> new HttpTarget();
+            default -> throw new IllegalArgumentException("mode must be service or server");
+        };
+
+        out.println("=== Deadline-Night Load Test (" + mode + ") ===");
+        out.println(String.format("%,d students, %,d teachers, %,d submissions already in, %d deadlines",
+                students.size(), teachers.size(), assignmentService.getAllSubmissions().size(), deadlines.size()));
+        out.println("Mix " + options.getOrDefault("mix", "login:5,dashboard:60,submit:30,grade:5")
+                + ", think time " + (int) think + " ms, " + warmup + " s warmup + " + duration + " s per step");
+
+        List<String> summary = new ArrayList<>();
+        try {
+            for (int users : userSteps) {
+                runStep(target, users, warmup, mix, think);
+                resetRecorders();
+                long start = System.nanoTime();
+                runStep(target, users, duration, mix, think);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                summary.add(report(users, seconds));
+            }
+        } finally {
+            target.close();
+            if (generated) {
+                BenchmarkData.deleteRecursively(dataDirectory);
+            }
+        }
+
+        out.println();
+        out.println("=== Saturation Summary ===");
+        out.println(String.format("%8s %12s %10s %10s %10s", "users", "ops/s", "p50 ms", "p99 ms", "errors"));
+        summary.forEach(out::println);
+    }
+
+    /**
+     * Generate or load the dataset and add an assignment due in an hour to the busiest courses
+     */
+    private void load() {
+        if (options.containsKey("data")) {
+            dataDirectory = new File(options.get("data"));
+            password = options.getOrDefault("password", new DatasetGenerator.Config().password);
+        } else {
+            DatasetGenerator.Config config = DatasetGenerator.Config.forSubmissions(
+                    Long.parseLong(options.getOrDefault("submissions", "100000")));
+            config.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+            config.referenceTime = LocalDateTime.now();
+            password = config.password;
+            dataDirectory = BenchmarkData.createTempDirectory("load-test");
+            generated = true;
+            out.println("Generating dataset: " + new DatasetGenerator(config).generate(dataDirectory));
+        }
+
+        DataPersistence dataPersistence = new DataPersistence(dataDirectory);
+        userService = new UserService(new SimpleDataPersistence(dataDirectory));
+        courseService = new CourseService(dataPersistence, userService);
+        assignmentService = new AssignmentService(dataPersistence, courseService, userService);
+        students.addAll(userService.getAllStudents());
+        teachers.addAll(userService.getAllTeachers());
+        if (students.isEmpty() || teachers.isEmpty()) {
+            throw new IllegalStateException("The dataset has no students or teachers");
+        }
+
+        List<Course> busiest = new ArrayList<>(courseService.getAllCourses());
+        busiest.sort(Comparator.comparingInt(Course::getEnrolledStudentCount).reversed());
+        LocalDateTime dueDate = LocalDateTime.now().plusHours(1);
+        for (Course course : busiest.subList(0, Math.min(intOption("deadlines", 20), busiest.size()))) {
+            if (course.getEnrolledStudentCount() == 0) {
+                break;
+            }
+            deadlines.add(assignmentService.createAssignment("Final Project: " + course.getCourseName(),
+                    "Due tonight", course, course.getInstructor(), AssignmentType.PROJECT, 100, dueDate));
+            deadlineRosters.add(course.getEnrolledStudents());
+            for (Submission submission : assignmentService.getSubmissionsForCourse(course)) {
+                if (submission.getStatus() == SubmissionStatus.SUBMITTED) {
+                    ungraded.add(new Ungraded(submission.getSubmissionId(), course.getInstructor(),
+                            submission.getAssignment().getMaxMarks()));
+                }
+            }
+        }
+        if (deadlines.isEmpty()) {
+            throw new IllegalStateException("The dataset has no course with enrolled students");
+        }
+    }
+
+    /**
+     * Run the given number of closed-loop virtual users for a number of seconds
+     */
+    private void runStep(Target target, int users, int seconds, double[] mix, double think) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                long seed = u;
+                executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + System.nanoTime());
+                    while (running.get()) {
+                        execute(target, pick(mix, random), random);
+                        if (think > 0) {
+                            sleep((long) (-Math.log(1 - random.nextDouble()) * think));
+                        }
+                    }
+                });
+            }
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+        }
+    }
+
+    private void execute(Target target, Operation operation, SplittableRandom random) {
+        long start = System.nanoTime();
+        try {
+            switch (operation) {
+                case LOGIN -> target.login(random.nextInt(10) == 0
+                        ? teachers.get(random.nextInt(teachers.size())) : students.get(random.nextInt(students.size())));
+                case DASHBOARD -> {
+                    if (random.nextInt(10) == 0) {
+                        target.teacherDashboard(deadlines.get(random.nextInt(deadlines.size())).getCreator());
+                    } else {
+                        target.studentDashboard(students.get(random.nextInt(students.size())));
+                    }
+                }
+                case SUBMIT -> {
+                    int index = random.nextInt(deadlines.size());
+                    List<Student> roster = deadlineRosters.get(index);
+                    Assignment assignment = deadlines.get(index);
+                    String submissionId = target.submit(roster.get(random.nextInt(roster.size())), assignment,
+                            "Final project report for " + assignment.getTitle() + ", revision " + random.nextInt(1000));
+                    ungraded.add(new Ungraded(submissionId, assignment.getCreator(), assignment.getMaxMarks()));
+                }
+                case GRADE -> {
+                    Ungraded next = ungraded.poll();
+                    if (next == null) {
+                        return; // Nothing left to grade; not timed
+                    }
+                    target.grade(next.teacher(), next.submissionId(), random.nextInt(next.maxMarks() + 1), "Graded");
+                }
+            }
+            recorders.get(operation).recordValue((System.nanoTime() - start) / 1000);
+        } catch (TokenBucketLimiter.LimitExceededException | RejectedExecutionException e) {
+            rejected.get(operation).incrementAndGet();
+        } catch (RuntimeException e) {
+            errors.get(operation).incrementAndGet();
+            if (reportedErrors.add(operation + ": " + e.getMessage())) {
+                System.err.println("Error in " + operation + ": " + e);
+            }
+        }
+    }
+
+    private String report(int users, double seconds) {
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        out.println();
+        out.println("--- " + users + " virtual users ---");
+        out.println(String.format("%-10s %9s %9s %9s %9s %9s %9s %9s %9s", "operation", "count", "ops/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "rejected"));
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            total.add(histogram);
+            long failed = errors.get(operation).getAndSet(0);
+            totalErrors += failed;
+            out.println(String.format("%-10s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d%s", operation,
+                    histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0, rejected.get(operation).getAndSet(0),
+                    failed > 0 ? "  (" + failed + " errors)" : ""));
+        }
+        return String.format("%8d %12.1f %10.2f %10.2f %10d", users, total.getTotalCount() / seconds,
+                millis(total, 50), millis(total, 99), totalErrors);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private void resetRecorders() {
+        for (Operation operation : Operation.values()) {
+            recorders.get(operation).reset();
+            errors.get(operation).set(0);
+            rejected.get(operation).set(0);
+        }
+    }
+
+    private static Operation pick(double[] cumulative, SplittableRandom random) {
+        double value = random.nextDouble() * cumulative[cumulative.length - 1];
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return Operation.values()[i];
+            }
+        }
+        return Operation.DASHBOARD;
+    }
+
+    /**
+     * "login:5,dashboard:60,..." to cumulative weights in Operation order
+     */
+    private static double[] parseMix(String mix) {
+        double[] weights = new double[Operation.values().length];
+        for (String part : mix.split(",")) {
+            String[] entry = part.split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like submit:30, got " + part);
+            }
+            weights[Operation.valueOf(entry[0].trim().toUpperCase()).ordinal()] = Double.parseDouble(entry[1]);
+        }
+        for (int i = 1; i < weights.length; i++) {
+            weights[i] += weights[i - 1];
+        }
+        if (weights[weights.length - 1] <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return weights;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Calls the services in-process, locking them the way ApiServer does: reads share the lock,
+     * writes take it exclusively, and logins (hashing is slow and UserService is safe) skip it.
+     */
+    private class ServiceTarget implements Target {
+        private final ReadWriteLock serviceLock = new ReentrantReadWriteLock();
+
+        private <T> T read(Supplier<T> action) {
+            serviceLock.readLock().lock();
+            try {
+                return action.get();
+            } finally {
+                serviceLock.readLock().unlock();
+            }
+        }
+
+        private <T> T write(Supplier<T> action) {
+            serviceLock.writeLock().lock();
+            try {
+                return action.get();
+            } finally {
+                serviceLock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public void login(User user) {
+            String token = userService.login(user.getEmail(), password);
+            if (token == null) {
+                throw new IllegalStateException("Login failed for " + user.getEmail());
+            }
+            userService.logout(token);
+        }
+
+        @Override
+        public void studentDashboard(Student student) {
+            read(() -> courseService.getCoursesForStudent(student));
+            read(() -> assignmentService.getSubmissionsByStudent(student.getUserId(), null, 20));
+        }
+
+        @Override
+        public void teacherDashboard(Teacher teacher) {
+            read(() -> courseService.getCoursesByTeacher(teacher));
+            read(() -> assignmentService.getAssignmentsByTeacher(teacher));
+        }
+
+        @Override
+        public String submit(Student student, Assignment assignment, String content) {
+            return write(() -> assignmentService.submitAssignment(assignment, student, content).getSubmissionId());
+        }
+
+        @Override
+        public void grade(Teacher teacher, String submissionId, int marks, String feedback) {
+            write(() -> {
+                assignmentService.gradeSubmission(submissionId, marks, feedback, teacher);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Drives an in-process ApiServer over HTTP. Dashboard, submit and grade requests use sessions
+     * opened up front; the login operation goes through POST /api/login like a real client.
+     */
+    private class HttpTarget implements Target {
+        private final ApiServer server;
+        private final String base;
+        private final HttpClient client;
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+        HttpTarget() throws IOException {
+            server = new ApiServer(userService, courseService, assignmentService,
+                    new File(dataDirectory, "search_index.bin"));
+            server.start(0);
+            base = "http://localhost:" + server.getPort();
+            client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        }
+
+        private String token(User user) {
+            return tokens.computeIfAbsent(user.getUserId(),
+                    id -> userService.getSessionManager().createSession(user));
+        }
+
+        private String send(User user, String method, String path, Map<String, Object> body) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path));
+            if (user != null) {
+                request.header("Authorization", "Bearer " + token(user));
+            }
+            try {
+                request.method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+                HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 429 || response.statusCode() == 503) {
+                    throw new RejectedExecutionException("HTTP " + response.statusCode());
+                }
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("HTTP " + response.statusCode() + " from " + method + " " + path);
+                }
+                return response.body();
+            } catch (IOException e) {
+                throw new IllegalStateException(method + " " + path + " failed: " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+        }
+
+        @Override
+        public void login(User user) {
+            send(null, "POST", "/api/login", Map.of("email", user.getEmail(), "password", password));
+        }
+
+        @Override
+        public void studentDashboard(Student student) {
+            send(student, "GET", "/api/courses?studentId=" + student.getUserId(), null);
+            send(student, "GET", "/api/submissions?limit=20&studentId=" + student.getUserId(), null);
+        }
+
+        @Override
+        public void teacherDashboard(Teacher teacher) {
+            send(teacher, "GET", "/api/courses?teacherId=" + teacher.getUserId(), null);
+            send(teacher, "GET", "/api/assignments?teacherId=" + teacher.getUserId(), null);
+        }
+
+        @Override
+        public String submit(Student student, Assignment assignment, String content) {
+            String body = send(student, "POST", "/api/submissions",
+                    Map.of("assignmentId", assignment.getAssignmentId(), "content", content));
+            try {
+                return objectMapper.readTree(body).get("submissionId").asText();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unreadable submission response", e);
+            }
+        }
+
+        @Override
+        public void grade(Teacher teacher, String submissionId, int marks, String feedback) {
+            send(teacher, "POST", "/api/submissions/" + submissionId + "/grade",
+                    Map.of("marks", marks, "feedback", feedback));
+        }
+
+        @Override
+        public void close() {
+            server.stop();
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.app.benchmark;
+
+import org.app.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The model's add and contains paths at a given collection size. The build* benchmarks fill a
+ * fresh object from empty, so list-backed duplicate checks show up as quadratic growth; the
+ * re-add and contains benchmarks probe the last element of an already full collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private Teacher teacher;
+    private Student[] students;
+    private Course[] courses;
+    private Assignment[] assignments;
+    private Submission[] submissions;
+
+    private Course fullCourse;
+    private Teacher fullTeacher;
+    private Student fullStudent;
+    private Assignment fullAssignment;
+
+    @Setup
+    public void setUp() {
+        teacher = BenchmarkData.teacher(0);
+        Course course = BenchmarkData.course(0, teacher);
+        Assignment assignment = BenchmarkData.assignment(0, course, teacher);
+        students = new Student[size];
+        courses = new Course[size];
+        assignments = new Assignment[size];
+        submissions = new Submission[size];
+        for (int i = 0; i < size; i++) {
+            students[i] = BenchmarkData.student(i);
+            courses[i] = BenchmarkData.course(i, teacher);
+            assignments[i] = BenchmarkData.assignment(i, course, teacher);
+            submissions[i] = BenchmarkData.submission(i, assignment, students[i]);
+        }
+
+        fullCourse = buildCourseRoster();
+        fullTeacher = buildTeacherCourses();
+        fullStudent = buildStudentEnrollments();
+        fullAssignment = buildAssignmentSubmissions();
+        for (Assignment item : assignments) {
+            fullCourse.addAssignment(item);
+        }
+    }
+
+    @Benchmark
+    public Course buildCourseRoster() {
+        Course course = BenchmarkData.course(size, teacher);
+        for (Student student : students) {
+            course.enrollStudent(student);
+        }
+        return course;
+    }
+
+    @Benchmark
+    public Course buildCourseAssignments() {
+        Course course = BenchmarkData.course(size, teacher);
+        for (Assignment assignment : assignments) {
+            course.addAssignment(assignment);
+        }
+        return course;
+    }
+
+    @Benchmark
+    public Teacher buildTeacherCourses() {
+        Teacher owner = BenchmarkData.teacher(1);
+        for (Course course : courses) {
+            owner.addCourse(course);
+        }
+        return owner;
+    }
+
+    @Benchmark
+    public Student buildStudentEnrollments() {
+        Student student = BenchmarkData.student(size);
+        for (Course course : courses) {
+            student.enrollInCourse(course);
+        }
+        return student;
+    }
+
+    @Benchmark
+    public Assignment buildAssignmentSubmissions() {
+        Assignment assignment = BenchmarkData.assignment(size, courses[0], teacher);
+        for (Submission submission : submissions) {
+            assignment.addSubmission(submission);
+        }
+        return assignment;
+    }
+
+    @Benchmark
+    public boolean isStudentEnrolled() {
+        return fullCourse.isStudentEnrolled(students[size - 1]);
+    }
+
+    @Benchmark
+    public Course reEnrollStudent() {
+        fullCourse.enrollStudent(students[size - 1]);
+        return fullCourse;
+    }
+
+    @Benchmark
+    public Course reAddAssignment() {
+        fullCourse.addAssignment(assignments[size - 1]);
+        return fullCourse;
+    }
+
+    @Benchmark
+    public Teacher reAddTeacherCourse() {
+        fullTeacher.addCourse(courses[size - 1]);
+        return fullTeacher;
+    }
+
+    @Benchmark
+    public Student reEnrollInCourse() {
+        fullStudent.enrollInCourse(courses[size - 1]);
+        return fullStudent;
+    }
+
+    @Benchmark
+    public Assignment reAddSubmission() {
+        fullAssignment.addSubmission(submissions[size - 1]);
+        return fullAssignment;
+    }
+}
@@ -0,0 +1,107 @@
+package org.app.benchmark;
+
+import org.app.model.*;
+import org.app.util.DataPersistence;
+import org.app.util.Log;
+import org.app.util.SimpleDataPersistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON save and load through DataPersistence (users and courses) and SimpleDataPersistence (the
+ * credential file UserService actually uses) for a given number of users, one teacher per 50,
+ * and one course per teacher. Files go to a scratch directory that is removed afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int users;
+
+    private File dataDirectory;
+    private DataPersistence dataPersistence;
+    private SimpleDataPersistence simpleDataPersistence;
+    private Map<String, User> allUsers;
+    private Map<String, Teacher> teachers;
+    private Map<String, Student> students;
+    private Map<String, Course> courses;
+    private Map<String, SimpleDataPersistence.SimpleUserData> credentials;
+
+    @Setup
+    public void setUp() {
+        allUsers = new HashMap<>();
+        teachers = new HashMap<>();
+        students = new HashMap<>();
+        courses = new HashMap<>();
+        credentials = new HashMap<>();
+        for (int i = 0; i < users; i++) {
+            User user;
+            if (i % 50 == 0) {
+                Teacher teacher = BenchmarkData.teacher(i);
+                teachers.put(teacher.getUserId(), teacher);
+                Course course = BenchmarkData.course(i / 50, teacher);
+                courses.put(course.getCourseId(), course);
+                user = teacher;
+            } else {
+                Student student = BenchmarkData.student(i);
+                students.put(student.getUserId(), student);
+                user = student;
+            }
+            allUsers.put(user.getUserId(), user);
+            credentials.put(user.getUserId(), new SimpleDataPersistence.SimpleUserData(user));
+        }
+
+        dataDirectory = BenchmarkData.createTempDirectory("persistence-benchmark");
+        dataPersistence = new DataPersistence(dataDirectory);
+        simpleDataPersistence = new SimpleDataPersistence(dataDirectory);
+        dataPersistence.saveUsers(allUsers, teachers, students, users + 1);
+        dataPersistence.saveCourses(courses, courses.size() + 1);
+        simpleDataPersistence.saveUserCredentials(credentials);
+
+        // Saves and loads log a status line each time; keep that out of the benchmark output
+        Log.setLevel(Log.Level.WARN);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.deleteRecursively(dataDirectory);
+    }
+
+    @Benchmark
+    public void saveUsers() {
+        dataPersistence.saveUsers(allUsers, teachers, students, users + 1);
+    }
+
+    @Benchmark
+    public DataPersistence.UserData loadUsers() {
+        return dataPersistence.loadUsers();
+    }
+
+    @Benchmark
+    public void saveCourses() {
+        dataPersistence.saveCourses(courses, courses.size() + 1);
+    }
+
+    @Benchmark
+    public DataPersistence.CourseData loadCourses() {
+        return dataPersistence.loadCourses();
+    }
+
+    @Benchmark
+    public void saveUserCredentials() {
+        simpleDataPersistence.saveUserCredentials(credentials);
+    }
+
+    @Benchmark
+    public Map<String, SimpleDataPersistence.SimpleUserData> loadUserCredentials() {
+        return simpleDataPersistence.loadUserCredentials();
+    }
+}
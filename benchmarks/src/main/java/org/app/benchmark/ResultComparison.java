@@ -0,0 +1,82 @@
+package org.app.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares two JMH JSON result files (e.g. the last release and the current build) benchmark by
+ * benchmark and exits with status 1 if any got slower by more than the threshold.
+ * Usage: ResultComparison baseline.json current.json [thresholdPercent, default 10]
+ */
+public class ResultComparison {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ResultComparison baseline.json current.json [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.println(String.format("%-80s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode metric = entry.getValue().get("primaryMetric");
+            String unit = metric.get("scoreUnit").asText();
+            double score = metric.get("score").asDouble();
+            if (before == null) {
+                System.out.println(String.format("%-80s %14s %14.3f %9s  %s", entry.getKey(), "-", score, "new", unit));
+                continue;
+            }
+            double previous = before.get("primaryMetric").get("score").asDouble();
+            // Throughput modes report ops per time unit, where higher is better; the rest report time per op
+            boolean higherIsBetter = entry.getValue().get("mode").asText().equals("thrpt");
+            double change = (score - previous) / previous * 100;
+            double worse = higherIsBetter ? -change : change;
+            boolean regression = worse > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.println(String.format("%-80s %14.3f %14.3f %+8.1f%%  %s%s", entry.getKey(), previous, score,
+                    change, unit, regression ? "  REGRESSION" : ""));
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println(String.format("%-80s %14s", key, "removed"));
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.println("✗ " + regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+        System.out.println("✓ No regressions above " + threshold + "%");
+    }
+
+    /**
+     * Results keyed by benchmark name, mode and parameters
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText()
+                    .replaceFirst("^org\\.app\\.benchmark\\.", ""));
+            key.append(" [").append(result.get("mode").asText()).append(']');
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,141 @@
+package org.app.benchmark;
+
+import org.app.util.DatasetGenerator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold launch time of the application jar with and without the AOT cache (or AppCDS archive)
+ * built by the cds profile. Every launch is a fresh JVM; launches alternate between the two
+ * variants so both see the same page cache and machine load. A launch is timed from process
+ * start until the application logs that it is ready, then the process is stopped:
+ *   mode=server  until "API server listening" (headless: every store loaded, server bound)
+ *   mode=gui     until "Startup complete" (needs a display; login opens before this)
+ * Arguments are key=value, all optional:
+ *   jar=target/Assignment_Tracker_Final-1.0-SNAPSHOT.jar  cache=target/assignment-tracker.aot
+ *   runs=10  mode=server  submissions=20000 (dataset in a scratch working directory)
+ *   java=path/to/bin/java (defaults to the JVM running this)
+ * A cache whose name ends in .jsa is passed as -XX:SharedArchiveFile, anything else as -XX:AOTCache.
+ */
+public class StartupBenchmark {
+    private final Map<String, String> options;
+
+    StartupBenchmark(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 1) {
+                System.err.println("Arguments are key=value, e.g. cache=target/assignment-tracker.aot runs=10");
+                System.exit(1);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        new StartupBenchmark(options).run();
+    }
+
+    void run() throws Exception {
+        File jar = new File(options.getOrDefault("jar", "target/Assignment_Tracker_Final-1.0-SNAPSHOT.jar"));
+        File cache = new File(options.getOrDefault("cache", "target/assignment-tracker.aot"));
+        if (!jar.isFile()) {
+            throw new IllegalArgumentException("Application jar not found: " + jar + " (build with mvn -Pcds package)");
+        }
+        if (!cache.isFile()) {
+            throw new IllegalArgumentException("Cache not found: " + cache + " (build with mvn -Pcds package)");
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        String mode = options.getOrDefault("mode", "server");
+        String java = options.getOrDefault("java",
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+
+        File workingDirectory = BenchmarkData.createTempDirectory("startup-benchmark");
+        try {
+            DatasetGenerator.Config config = DatasetGenerator.Config.forSubmissions(
+                    Long.parseLong(options.getOrDefault("submissions", "20000")));
+            System.out.println("Dataset: " + new DatasetGenerator(config).generate(new File(workingDirectory, "data")));
+
+            String cacheFlag = cache.getName().endsWith(".jsa")
+                    ? "-XX:SharedArchiveFile=" + cache.getAbsolutePath()
+                    : "-XX:AOTCache=" + cache.getAbsolutePath();
+            List<Long> plain = new ArrayList<>();
+            List<Long> cached = new ArrayList<>();
+            // One launch of each to warm the page cache before anything is measured
+            launch(java, null, jar, mode, workingDirectory);
+            launch(java, cacheFlag, jar, mode, workingDirectory);
+            System.out.println(String.format("%6s %14s %14s", "run", "plain ms", "cached ms"));
+            for (int run = 1; run <= runs; run++) {
+                plain.add(launch(java, null, jar, mode, workingDirectory));
+                cached.add(launch(java, cacheFlag, jar, mode, workingDirectory));
+                System.out.println(String.format("%6d %14d %14d", run, plain.get(run - 1), cached.get(run - 1)));
+            }
+
+            System.out.println();
+            System.out.println("=== Cold Launch (" + mode + ", " + runs + " runs) ===");
+            System.out.println(String.format("%-10s %10s %10s %10s", "", "min ms", "median ms", "mean ms"));
+            System.out.println(summary("plain", plain));
+            System.out.println(summary("cached", cached));
+            System.out.println(String.format("Median speedup with %s: %.1f%%", cache.getName(),
+                    100.0 * (median(plain) - median(cached)) / median(plain)));
+        } finally {
+            BenchmarkData.deleteRecursively(workingDirectory);
+        }
+    }
+
+    /**
+     * Start the jar, wait for its ready line and return the milliseconds it took
+     */
+    private long launch(String java, String cacheFlag, File jar, String mode, File workingDirectory)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(java));
+        if (cacheFlag != null) {
+            command.add(cacheFlag);
+        }
+        command.addAll(List.of("-jar", jar.getAbsolutePath()));
+        if (mode.equals("server")) {
+            command.addAll(List.of("--server", "0"));
+        }
+        String readyLine = mode.equals("server") ? "API server listening" : "Startup complete";
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(workingDirectory).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains(readyLine)) {
+                    return (System.nanoTime() - start) / 1_000_000;
+                }
+                if (line.contains("[warning][cds]") || line.contains("[warning][aot]") || line.contains("Error")) {
+                    // Usually a cache built by another JDK or for another classpath; it is then ignored
+                    System.err.println("  " + line);
+                }
+            }
+            throw new IllegalStateException("Application exited before it was ready: " + command);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static String summary(String name, List<Long> millis) {
+        return String.format("%-10s %10d %10d %10.0f", name, Collections.min(millis), median(millis),
+                millis.stream().mapToLong(Long::longValue).average().orElse(0));
+    }
+
+    private static long median(List<Long> millis) {
+        List<Long> sorted = new ArrayList<>(millis);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
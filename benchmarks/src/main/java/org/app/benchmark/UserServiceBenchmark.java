@@ -0,0 +1,74 @@
+package org.app.benchmark;
+
+import org.app.model.Student;
+import org.app.model.User;
+import org.app.service.UserService;
+import org.app.util.Log;
+import org.app.util.PasswordHasher;
+import org.app.util.SimpleDataPersistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.authenticateUser for a correct and a wrong password, at the minimum and the default
+ * PBKDF2 cost. Logins rotate over 10,000 stored students so the per-email limiter never engages,
+ * and the global limiter is raised for the forked JVM; the stored hashes are at or above the
+ * configured cost, so no login triggers a rehash and save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dapp.password.iterations=10000",
+        "-Dapp.login.burst=1000", "-Dapp.login.rate=1000000"})
+public class UserServiceBenchmark {
+    private static final int USERS = 10_000;
+
+    @Param({"10000", "210000"})
+    public int passwordCost;
+
+    private File dataDirectory;
+    private UserService userService;
+    private String[] emails;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // One hash shared by every user keeps setup fast; verification cost is the same
+        String hash = PasswordHasher.hash(BenchmarkData.PASSWORD, passwordCost);
+        Map<String, SimpleDataPersistence.SimpleUserData> credentials = new HashMap<>();
+        emails = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            Student student = BenchmarkData.student(i);
+            student.setPassword(hash);
+            credentials.put(student.getUserId(), new SimpleDataPersistence.SimpleUserData(student));
+            emails[i] = student.getEmail();
+        }
+        dataDirectory = BenchmarkData.createTempDirectory("user-benchmark");
+        SimpleDataPersistence persistence = new SimpleDataPersistence(dataDirectory);
+        persistence.saveUserCredentials(credentials);
+        // Logins and registrations log status lines; keep them out of the benchmark output
+        Log.setLevel(Log.Level.WARN);
+        userService = new UserService(persistence);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.deleteRecursively(dataDirectory);
+    }
+
+    @Benchmark
+    public User authenticateUser() {
+        return userService.authenticateUser(emails[next++ % USERS], BenchmarkData.PASSWORD);
+    }
+
+    @Benchmark
+    public User authenticateUserWrongPassword() {
+        return userService.authenticateUser(emails[next++ % USERS], "wrong-password");
+    }
+}